@@ -0,0 +1,13 @@
+-- Run on every customer shard (see customer.sharding.shard-urls). IDs are local to the shard: the service
+-- exposes localId * shardCount + shard, so the shard list must keep its order once customers are stored.
+CREATE DATABASE customerms;
+
+USE customerms;
+
+CREATE TABLE customer (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    dni VARCHAR(20) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL
+);
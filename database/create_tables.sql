@@ -1,3 +1,5 @@
+-- The tables of the customer service are created and indexed by the migrations in src/main/resources/db/migration
+-- ("mvn flyway:migrate"); a database set up with this script already has the tables of V1 and is baselined there.
 CREATE DATABASE customerms;
 
 USE customerms;
@@ -18,3 +20,21 @@ CREATE TABLE bankAccount (
     customer_id INT NOT NULL, -- Foreign key to Customer
     FOREIGN KEY (customer_id) REFERENCES customer(id) ON DELETE CASCADE
 );
+
+
+-- Transactional outbox of customer change events, drained by the outbox relay
+CREATE TABLE customer_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+-- Customer change log used by the delta sync endpoint; seq is the monotonic change sequence
+CREATE TABLE customer_change (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,86 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of writing the customer list response, collected then serialized versus streamed.
+ * <p>
+ * {@code collectedList} is the {@code GET /customers} path: the customers are collected into a list, which the
+ * message converter serializes with the {@link ObjectMapper}. {@code streamingWriter} is the
+ * {@code GET /customers?stream=true} path, writing each customer with the {@link CustomerJsonWriter} as the
+ * repository stream yields it. Both write to a stream that discards the bytes and, like the servlet output
+ * stream, outlives the mapper closing it, so the figures are the serialization alone. Run with
+ * {@code -prof gc} for the allocation per operation, and with
+ * {@code -jvmArgsAppend -Xlog:gc*:file=target/gc-list-%p.log} for a GC log per fork.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerListSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CustomerJsonWriter customerJsonWriter = new CustomerJsonWriter(objectMapper);
+    private final OutputStream discard = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private List<Customer> customers;
+
+    @Setup
+    public void createCustomers() {
+        customers = IntStream.rangeClosed(1, size)
+                .mapToObj(id -> Customer.builder()
+                        .customerId(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .dni(String.format("%08d", id))
+                        .email("customer" + id + "@mail.com")
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<Customer> collectedList() throws IOException {
+        List<Customer> collected = new ArrayList<>();
+        customers.iterator().forEachRemaining(collected::add);
+        objectMapper.writeValue(discard, collected);
+        return collected;
+    }
+
+    @Benchmark
+    public int streamingWriter() throws IOException {
+        return customerJsonWriter.writeArray(customers.iterator(), discard);
+    }
+}
@@ -0,0 +1,139 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.CustomerMsApplication;
+import com.bankingSystem.customer_ms.configuration.GrpcServerLifecycle;
+import com.bankingSystem.customer_ms.grpc.CustomerIdRequest;
+import com.bankingSystem.customer_ms.grpc.CustomerLookupGrpc;
+import com.bankingSystem.customer_ms.grpc.CustomerMessage;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency and CPU of the internal customer lookups over REST (JSON over HTTP/1.1 with a kept-alive
+ * connection) and over gRPC (protobuf over HTTP/2), against the application in the test profile.
+ * <p>
+ * Client and server run in the same JVM, so each call pays both sides, as a caller on the same host would.
+ * The lookups pick a random stored customer; the per-session statistics log is off so that it does not hide the
+ * cost of the protocols. The long warm-up lets the JIT compile the request paths, whose compilation otherwise
+ * dominates the CPU of the first thousands of calls. The CPU time of the process is printed after every
+ * iteration as {@code cpu/call}; run with {@code -bm sample} for latency percentiles.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerLookupProtocolBenchmark {
+
+    @Param("10000")
+    private int customers;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ManagedChannel channel;
+    private CustomerLookupGrpc.CustomerLookupBlockingStub stub;
+    private String baseUrl;
+    private int firstId;
+    private long calls;
+    private long cpuAtStart;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(CustomerMsApplication.class).profiles("test")
+                .properties("customer.warmup.enabled=false", "server.port=0", "customer.grpc.port=0",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn").run();
+        CustomerService customerService = context.getBean(CustomerService.class);
+        firstId = IntStream.range(0, customers).mapToObj(i -> customerService.create(Customer.builder().firstName("Name" + i)
+                .lastName("Last" + i).dni(String.format("%08d", 30_000_000 + i)).email("user" + i + "@mail.com").build()))
+                .mapToInt(Customer::getCustomerId).min().orElseThrow();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/customers/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = ManagedChannelBuilder.forAddress("localhost", context.getBean(GrpcServerLifecycle.class).getPort())
+                .usePlaintext().build();
+        stub = CustomerLookupGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        channel.shutdownNow();
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuClock() {
+        calls = 0;
+        cpuAtStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCpuPerCall() {
+        System.out.printf("cpu/call: %.1f us%n", (os.getProcessCpuTime() - cpuAtStart) / 1000.0 / Math.max(calls, 1));
+    }
+
+    @Benchmark
+    public Customer restGet() throws IOException, InterruptedException {
+        calls++;
+        HttpResponse<byte[]> response = httpClient.send(request(randomId() + ""), HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), Customer.class);
+    }
+
+    @Benchmark
+    public CustomerMessage grpcGet() {
+        calls++;
+        return stub.get(CustomerIdRequest.newBuilder().setCustomerId(randomId()).build());
+    }
+
+    @Benchmark
+    public Boolean restExists() throws IOException, InterruptedException {
+        calls++;
+        HttpResponse<byte[]> response = httpClient.send(request(randomId() + "/exists"), HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), Boolean.class);
+    }
+
+    @Benchmark
+    public boolean grpcExists() {
+        calls++;
+        return stub.exists(CustomerIdRequest.newBuilder().setCustomerId(randomId()).build()).getExists();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private int randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(customers);
+    }
+}
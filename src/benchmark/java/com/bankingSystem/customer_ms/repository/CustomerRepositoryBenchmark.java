@@ -0,0 +1,102 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.CustomerMsApplication;
+import com.bankingSystem.customer_ms.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Customer repository operations on the JPA implementation (H2 in MySQL mode, second-level cache enabled, as
+ * in the test profile) and on the embedded {@link LogStructuredCustomerRepository} (without forcing writes to
+ * disk, like the H2 in-memory database).
+ * <p>
+ * Both are loaded with the same customers; lookups pick a random one, updates change its email.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerRepositoryBenchmark {
+
+    @Param({"jpa", "log-structured"})
+    private String engine;
+
+    @Param("10000")
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private Path directory;
+    private CustomerRepository repository;
+    private List<Customer> stored;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        if ("jpa".equals(engine)) {
+            context = new SpringApplicationBuilder(CustomerMsApplication.class).profiles("test")
+                    .properties("customer.warmup.enabled=false", "server.port=0").run();
+            repository = context.getBean(CustomerRepository.class);
+        } else {
+            directory = Files.createTempDirectory("customer-log");
+            repository = new LogStructuredCustomerRepository(directory, false, 60_000, 10_000);
+        }
+        stored = IntStream.range(0, customers).mapToObj(i -> repository.save(Customer.builder().firstName("Name" + i)
+                .lastName("Last" + i).dni(String.format("%08d", 20_000_000 + i)).email("user" + i + "@mail.com").build()))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        if (context != null) {
+            context.close();
+        } else {
+            ((LogStructuredCustomerRepository) repository).close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public Customer findById() {
+        return repository.findById(randomCustomer().getCustomerId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Customer findByDni() {
+        return repository.findByDni(randomCustomer().getDni()).orElseThrow();
+    }
+
+    @Benchmark
+    public Customer update() {
+        Customer customer = randomCustomer();
+        return repository.save(customer.toBuilder().email("u" + ThreadLocalRandom.current().nextInt() + "@mail.com").build());
+    }
+
+    private Customer randomCustomer() {
+        return stored.get(ThreadLocalRandom.current().nextInt(stored.size()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Load time of a customer snapshot with millions of rows.
+ * <p>
+ * {@code openAndLookUp} is what a starting pod pays before serving lookups from the snapshot: mapping the file
+ * and finding a customer. {@code openAndScan} decodes every record, which is the cost of rebuilding another
+ * in-process structure (for example a DNI index) from the snapshot instead of querying the whole table.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CustomerSnapshotBenchmark {
+
+    @Param({"1000000", "3000000"})
+    private int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        file = Files.createTempFile("customers", ".snap");
+        CustomerSnapshotWriter.write(file, rows, customers(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Customer openAndLookUp() throws IOException {
+        return CustomerSnapshot.open(file).findById(rows / 2).orElseThrow();
+    }
+
+    @Benchmark
+    public void openAndScan(Blackhole blackhole) throws IOException {
+        CustomerSnapshot.open(file).forEach(blackhole::consume);
+    }
+
+    private static Iterator<Customer> customers(int rows) {
+        return IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> Customer.builder()
+                        .customerId(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .dni(String.format("%08d", id))
+                        .email("customer" + id + "@mail.com")
+                        .build())
+                .iterator();
+    }
+}
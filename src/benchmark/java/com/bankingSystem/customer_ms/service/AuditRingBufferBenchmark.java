@@ -0,0 +1,76 @@
+package com.bankingSystem.customer_ms.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost for a writing thread of queuing an audit record, with four writers and the single audit writer draining
+ * in batches.
+ * <p>
+ * {@code ring} is the {@link AuditRingBuffer} of the audit trail; {@code blockingQueue} is an
+ * {@link ArrayBlockingQueue} of the same capacity, whose single lock is taken by every writer and by the drain.
+ * The {@code offer} scores are the time a customer write spends queuing its record; a failed offer (full queue)
+ * returns at once in both cases.
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditRingBufferBenchmark {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 500;
+    private static final Object RECORD = new Object();
+
+    private final AuditRingBuffer<Object> ring = new AuditRingBuffer<>(CAPACITY);
+    private final ArrayBlockingQueue<Object> blockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    private final List<Object> ringBatch = new ArrayList<>(BATCH);
+    private final List<Object> queueBatch = new ArrayList<>(BATCH);
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(4)
+    public long ringOffer() {
+        return ring.offer(RECORD);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public int ringDrain() {
+        ringBatch.clear();
+        return ring.drainTo(ringBatch, BATCH);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(4)
+    public boolean blockingQueueOffer() {
+        return blockingQueue.offer(RECORD);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(1)
+    public int blockingQueueDrain() {
+        queueBatch.clear();
+        return blockingQueue.drainTo(queueBatch, BATCH);
+    }
+}
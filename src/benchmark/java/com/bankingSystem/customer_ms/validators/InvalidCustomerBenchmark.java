@@ -0,0 +1,75 @@
+package com.bankingSystem.customer_ms.validators;
+
+import com.bankingSystem.customer_ms.controller.ApiExceptionHandler;
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of rejecting an invalid customer, before and after business exceptions stopped capturing stack traces.
+ * <p>
+ * Both benchmarks run the format rules of the {@link CustomerValidator} on a customer with an invalid DNI,
+ * throw and catch the rejection {@code depth} frames deep, as it happens under the filters, the dispatcher
+ * servlet and the proxies of a real request. {@code withStackTrace} throws a plain {@link RuntimeException},
+ * which is what {@link BusinessException} used to be; {@code stackless} goes through
+ * {@link CustomerValidator#validateCustomerData(Customer)} and builds the problem response of the
+ * {@link ApiExceptionHandler}, so it also pays for the work added by the error mapping.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvalidCustomerBenchmark {
+
+    @Param({"20", "150"})
+    private int depth;
+
+    private final CustomerValidator customerValidator = new CustomerValidator(null);
+    private final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
+    private final Customer invalid = Customer.builder()
+            .firstName("Ana").lastName("Soto").dni("1234").email("ana.soto@mail.com").build();
+
+    @Benchmark
+    public Object withStackTrace() {
+        return atDepth(depth, () -> {
+            try {
+                List<String> violations = customerValidator.findFormatViolations(invalid);
+                throw new RuntimeException(violations.get(0));
+            } catch (RuntimeException e) {
+                return e.getMessage();
+            }
+        });
+    }
+
+    @Benchmark
+    public Object stackless() {
+        return atDepth(depth, () -> {
+            try {
+                customerValidator.validateCustomerData(invalid);
+                return null;
+            } catch (BusinessException e) {
+                return apiExceptionHandler.handleBusinessException(e);
+            }
+        });
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> action) {
+        return depth == 0 ? action.get() : atDepth(depth - 1, action);
+    }
+}
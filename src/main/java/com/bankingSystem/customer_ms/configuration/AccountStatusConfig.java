@@ -0,0 +1,36 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.service.AccountEventSource;
+import com.bankingSystem.customer_ms.service.FileAccountEventSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the local projection of the customers' active bank accounts.
+ * <p>
+ * It provides a file-based {@link AccountEventSource} unless another source bean has been defined.
+ * </p>
+ */
+@Configuration
+public class AccountStatusConfig {
+
+    /**
+     * Creates the default {@link AccountEventSource}, reading events from a local file.
+     *
+     * @param file the path of the file the events are read from.
+     * @param objectMapper the mapper parsing the events.
+     * @return a new {@link FileAccountEventSource}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(AccountEventSource.class)
+    public AccountEventSource accountEventSource(
+            @Value("${customer.account-status.source.file:account-events/account-events.jsonl}") String file,
+            ObjectMapper objectMapper) {
+        return new FileAccountEventSource(Path.of(file), objectMapper);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.model.AuditDurability;
+import com.bankingSystem.customer_ms.service.AuditSink;
+import com.bankingSystem.customer_ms.service.FileAuditSink;
+import com.bankingSystem.customer_ms.service.JdbcAuditSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the sink of the customer audit trail.
+ * <p>
+ * {@code customer.audit.sink} selects where the audit records are written: {@code jdbc}, the default, inserts
+ * them into the {@code customer_audit} table, and {@code file} appends them to a rotating local file. Either is
+ * skipped if another {@link AuditSink} bean has been defined.
+ * </p>
+ */
+@Configuration
+public class AuditConfig {
+
+    /**
+     * Creates the {@link AuditSink} inserting the records into the database.
+     *
+     * @param jdbcTemplate the template running the inserts.
+     * @param transactionTemplate the template used to run each batch in its own transaction.
+     * @param objectMapper the mapper serializing the images of the customer.
+     * @return a new {@link JdbcAuditSink}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(AuditSink.class)
+    @ConditionalOnProperty(name = "customer.audit.sink", havingValue = "jdbc", matchIfMissing = true)
+    public AuditSink jdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper) {
+        return new JdbcAuditSink(jdbcTemplate, transactionTemplate, objectMapper);
+    }
+
+    /**
+     * Creates the {@link AuditSink} appending the records to a rotating local file.
+     * <p>
+     * Batches are forced to disk with {@link AuditDurability#SYNC}.
+     * </p>
+     *
+     * @param file the path of the file the records are appended to.
+     * @param maxBytes the size past which the file is rotated.
+     * @param maxFiles the number of rotated files kept.
+     * @param durability the durability mode of the audit trail.
+     * @param objectMapper the mapper serializing the records.
+     * @return a new {@link FileAuditSink}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(AuditSink.class)
+    @ConditionalOnProperty(name = "customer.audit.sink", havingValue = "file")
+    public AuditSink fileAuditSink(@Value("${customer.audit.file:audit/customer-audit.jsonl}") String file,
+                                   @Value("${customer.audit.file-max-bytes:104857600}") long maxBytes,
+                                   @Value("${customer.audit.file-max-files:10}") int maxFiles,
+                                   @Value("${customer.audit.durability:ASYNC}") AuditDurability durability,
+                                   ObjectMapper objectMapper) {
+        return new FileAuditSink(Path.of(file), maxBytes, maxFiles, durability == AuditDurability.SYNC, objectMapper);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servlet filter that tracks the latency of the first requests served after startup.
+ * <p>
+ * The first {@code customer.warmup.tracked-requests} requests are recorded in the
+ * {@code customer.requests.early} timer (with p50 and p99), and a summary is logged once they have all
+ * been served. Comparing it with the steady-state latency shows how much the warm-up stage removed from
+ * the post-deploy latency spike.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EarlyRequestLatencyFilter extends OncePerRequestFilter {
+
+    private final Timer earlyRequests;
+    private final long trackedRequests;
+    private final AtomicLong served = new AtomicLong();
+
+    /**
+     * Constructs a new instance of {@link EarlyRequestLatencyFilter}.
+     *
+     * @param meterRegistry the registry where the early request timer is published.
+     * @param trackedRequests the number of requests after startup to track.
+     */
+    public EarlyRequestLatencyFilter(MeterRegistry meterRegistry,
+                                     @Value("${customer.warmup.tracked-requests:1000}") long trackedRequests) {
+        this.earlyRequests = Timer.builder("customer.requests.early")
+                .description("Latency of the first requests served after startup")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.trackedRequests = trackedRequests;
+    }
+
+    /**
+     * Records the latency of the request while fewer than the tracked number of requests have been served.
+     *
+     * @param request the current request.
+     * @param response the current response.
+     * @param chain the remaining filter chain.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (served.get() >= trackedRequests) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            earlyRequests.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (served.incrementAndGet() == trackedRequests) {
+                logSummary();
+            }
+        }
+    }
+
+    /**
+     * Logs the latency summary of the tracked requests.
+     */
+    private void logSummary() {
+        log.info("First {} requests served: mean {} ms, max {} ms", trackedRequests,
+                Math.round(earlyRequests.mean(TimeUnit.MILLISECONDS)), Math.round(earlyRequests.max(TimeUnit.MILLISECONDS)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the gRPC server of the internal API inside the application, on {@code customer.grpc.port}.
+ * <p>
+ * The server serves every {@link BindableService} bean over HTTP/2 on its own port, separate from the port of
+ * the REST API, and uses the same beans and database connections. It starts with the application context and,
+ * on shutdown, stops accepting calls and gives the running ones {@code customer.grpc.shutdown-grace-ms} to
+ * finish before cancelling them. Setting the port to {@code 0} picks a free port, see {@link #getPort()}.
+ * </p>
+ * <p>
+ * The calls run on a fixed pool of {@code customer.grpc.executor-threads} threads instead of the unbounded
+ * default executor of gRPC, so a burst of calls queues up instead of starting a thread per call. Handlers
+ * must not block these threads on slow clients; see the flow control of
+ * {@link com.bankingSystem.customer_ms.controller.CustomerGrpcService}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final List<BindableService> services;
+    private final int port;
+    private final long shutdownGraceMillis;
+    private final int executorThreads;
+    private volatile Server server;
+    private ExecutorService executor;
+
+    /**
+     * Constructs a new instance of {@link GrpcServerLifecycle}.
+     *
+     * @param services the gRPC services to serve.
+     * @param port the port of the gRPC server, or {@code 0} for a free port.
+     * @param shutdownGraceMillis how long running calls may take to finish when the application stops.
+     * @param executorThreads the number of threads running the calls.
+     */
+    public GrpcServerLifecycle(List<BindableService> services,
+                               @Value("${customer.grpc.port:9090}") int port,
+                               @Value("${customer.grpc.shutdown-grace-ms:5000}") long shutdownGraceMillis,
+                               @Value("${customer.grpc.executor-threads:16}") int executorThreads) {
+        this.services = services;
+        this.port = port;
+        this.shutdownGraceMillis = shutdownGraceMillis;
+        this.executorThreads = executorThreads;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(executorThreads,
+                runnable -> new Thread(runnable, "grpc-executor-" + threadCount.incrementAndGet()));
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .executor(executor);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new IllegalStateException("Cannot start the gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {} with {} service(s)", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        shutdownGracefully(running);
+        executor.shutdown();
+        server = null;
+    }
+
+    /**
+     * Stops accepting calls, and cancels the running ones still going after the shutdown grace.
+     *
+     * @param running the running server.
+     */
+    private void shutdownGracefully(Server running) {
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGraceMillis, TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port, or {@code -1} if the server is not running.
+     */
+    public int getPort() {
+        Server running = server;
+        return running == null ? -1 : running.getPort();
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.diagnostics.RepositoryQueryInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the {@link RepositoryQueryInterceptor} to every Spring Data repository.
+ * <p>
+ * The interceptor is registered on the repository factories before they create their proxies, and sits next
+ * to the repository implementation, so the recorded duration covers the query itself.
+ * </p>
+ */
+@Component
+public class JfrRepositoryInstrumentation implements BeanPostProcessor {
+
+    /**
+     * Registers the interceptor on the repository factory beans.
+     *
+     * @param bean the bean being initialized.
+     * @param beanName the name of the bean.
+     * @return the same bean.
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new RepositoryQueryInterceptor(information.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.diagnostics.CustomerRequestEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter recording a {@link CustomerRequestEvent} for every request.
+ * <p>
+ * When no recording includes the event, the request goes straight through the chain.
+ * </p>
+ */
+@Component
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    /**
+     * Serves the request and records the event.
+     *
+     * @param request the current request.
+     * @param response the current response.
+     * @param chain the remaining filter chain.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CustomerRequestEvent event = new CustomerRequestEvent();
+        if (event.isEnabled()) {
+            doFilterRecorded(event, request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Serves the request inside the given event.
+     *
+     * @param event the event to record.
+     * @param request the current request.
+     * @param response the current response.
+     * @param chain the remaining filter chain.
+     */
+    private void doFilterRecorded(CustomerRequestEvent event, HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain chain) throws ServletException, IOException {
+        event.begin();
+        String outcome = "success";
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.complete(request.getMethod(), route(request), response.getStatus(), outcome);
+        }
+    }
+
+    /**
+     * Returns the route of the request, so requests for different customers are grouped together.
+     *
+     * @param request the current request.
+     * @return the matched route pattern, or the request URI when no route matched.
+     */
+    private String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
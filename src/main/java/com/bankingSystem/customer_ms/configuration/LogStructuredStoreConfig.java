@@ -0,0 +1,64 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
+import com.bankingSystem.customer_ms.repository.CustomerStatsRepository;
+import com.bankingSystem.customer_ms.repository.LogStructuredCustomerRepository;
+import com.bankingSystem.customer_ms.repository.LogStructuredCustomerStatsRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class storing customers in the embedded, log-structured store instead of MySQL.
+ * <p>
+ * It is active when {@code customer.log-store.directory} is set, for edge nodes and fast integration tests.
+ * The {@link LogStructuredCustomerRepository} replaces the JPA customer repository in the services. It also
+ * replaces the JPA {@link CustomerSnapshotRepository}, so the streamed customer list, the gRPC list and the
+ * customer snapshot read the store, and the {@link LogStructuredCustomerStatsRepository} counts the customers of
+ * the store for the statistics. The outbox and the change log still use the configured datasource.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("customer.log-store.directory")
+public class LogStructuredStoreConfig {
+
+    /**
+     * Opens the log-structured customer store, replaying its log.
+     *
+     * @param directory the directory of the write-ahead log.
+     * @param syncWrites whether every write is forced to disk before it returns.
+     * @param compactionIntervalMillis the interval between compaction checks.
+     * @param compactionMinRecords the number of log records below which the log is never compacted.
+     * @return the {@link LogStructuredCustomerRepository}.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public LogStructuredCustomerRepository logStructuredCustomerRepository(
+            @Value("${customer.log-store.directory}") String directory,
+            @Value("${customer.log-store.sync-writes:true}") boolean syncWrites,
+            @Value("${customer.log-store.compaction-interval-ms:60000}") long compactionIntervalMillis,
+            @Value("${customer.log-store.compaction-min-records:10000}") long compactionMinRecords) {
+        return new LogStructuredCustomerRepository(Path.of(directory), syncWrites, compactionIntervalMillis,
+                compactionMinRecords);
+    }
+
+    /**
+     * Creates the statistics repository counting the customers of the log-structured store.
+     *
+     * @param logStructuredCustomerRepository the log-structured customer store.
+     * @param changeLog the JPA statistics repository, reading the change log of the configured datasource.
+     * @return the {@link LogStructuredCustomerStatsRepository}.
+     */
+    @Bean
+    @Primary
+    public CustomerStatsRepository logStructuredCustomerStatsRepository(
+            LogStructuredCustomerRepository logStructuredCustomerRepository,
+            @Qualifier("customerStatsRepository") CustomerStatsRepository changeLog) {
+        return new LogStructuredCustomerStatsRepository(logStructuredCustomerRepository, changeLog);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.service.FileOutboxSink;
+import com.bankingSystem.customer_ms.service.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the transactional outbox of customer change events.
+ * <p>
+ * It enables the scheduling used by the outbox relay and provides a file-based {@link OutboxSink} unless
+ * another sink bean has been defined.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    /**
+     * Creates the default {@link OutboxSink}, appending events to a local file.
+     *
+     * @param file the path of the file the events are appended to.
+     * @return a new {@link FileOutboxSink}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(@Value("${customer.outbox.sink.file:outbox/customer-events.jsonl}") String file) {
+        return new FileOutboxSink(Path.of(file));
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration class routing read-only transactions to read replicas.
+ * <p>
+ * It is active when {@code customer.datasource.replica-urls} lists at least one replica. The replicas use
+ * the credentials of the primary database. Read-only transactions, such as the ones of the read operations
+ * of {@code CustomerService}, get their connection from the {@link ReplicaLoadBalancer}; every other
+ * connection comes from the primary database. The replica pools start without connecting and wait at most
+ * {@code customer.datasource.replica-connection-timeout-ms} for a connection, so an unreachable replica fails over
+ * to the next one quickly instead of after Hikari's default of 30 seconds.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("customer.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @return the primary connection pool.
+     */
+    @Bean(autowireCandidate = false)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the connection pools of the read replicas and the load balancer in front of them.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @param replicaUrls the JDBC URLs of the read replicas.
+     * @param retryAfterMillis how long a failed replica is skipped before being tried again.
+     * @param connectionTimeoutMillis how long a read waits for a connection of a replica.
+     * @return the {@link ReplicaLoadBalancer}.
+     */
+    @Bean(autowireCandidate = false)
+    public ReplicaLoadBalancer replicaLoadBalancer(DataSourceProperties properties,
+                                                   @Value("${customer.datasource.replica-urls}") List<String> replicaUrls,
+                                                   @Value("${customer.datasource.replica-retry-ms:5000}") long retryAfterMillis,
+                                                   @Value("${customer.datasource.replica-connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        List<DataSource> replicas = replicaUrls.stream()
+                .map(url -> (DataSource) replicaPool(properties, url, connectionTimeoutMillis))
+                .collect(Collectors.toList());
+        return new ReplicaLoadBalancer(primaryDataSource(properties), replicas, retryAfterMillis);
+    }
+
+    /**
+     * Creates the application {@link DataSource}, routing read-only transactions to the replicas.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @param replicaUrls the JDBC URLs of the read replicas.
+     * @param retryAfterMillis how long a failed replica is skipped before being tried again.
+     * @param connectionTimeoutMillis how long a read waits for a connection of a replica.
+     * @return the routing {@link DataSource}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${customer.datasource.replica-urls}") List<String> replicaUrls,
+                                 @Value("${customer.datasource.replica-retry-ms:5000}") long retryAfterMillis,
+                                 @Value("${customer.datasource.replica-connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        return routingDataSource(primaryDataSource(properties),
+                replicaLoadBalancer(properties, replicaUrls, retryAfterMillis, connectionTimeoutMillis));
+    }
+
+    /**
+     * Creates the connection pool of a read replica.
+     * <p>
+     * The pool does not connect when it starts, so an unreachable replica neither fails the startup nor throws on
+     * its first use, and a connection request fails after the given timeout.
+     * </p>
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @param url the JDBC URL of the replica.
+     * @param connectionTimeoutMillis how long a read waits for a connection.
+     * @return the replica connection pool.
+     */
+    private static HikariDataSource replicaPool(DataSourceProperties properties, String url, long connectionTimeoutMillis) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        pool.setConnectionTimeout(connectionTimeoutMillis);
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+
+    /**
+     * Builds a {@link DataSource} sending read-only transactions to the given balancer and the rest to the primary.
+     * <p>
+     * Connections are fetched lazily, on the first statement, once the read-only flag of the transaction is known.
+     * </p>
+     *
+     * @param primary the primary database.
+     * @param replicas the balancer in front of the read replicas.
+     * @return the routing {@link DataSource}.
+     */
+    public static DataSource routingDataSource(DataSource primary, ReplicaLoadBalancer replicas) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary));
+        routing.setReadOnlyDataSource(replicas);
+        return routing;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankingSystem.customer_ms.configuration;
+
+/**
+ * Holder of the read-your-writes state of the current thread.
+ * <p>
+ * Once the current request has written to the primary database, its later read-only transactions are
+ * pinned to the primary as well, so they never see a replica that lags behind the request's own writes.
+ * The state is cleared at the end of every request by the {@link ReadYourWritesFilter}.
+ * </p>
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> WRITTEN = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Records that the current thread has written to the primary database.
+     */
+    public static void markWritten() {
+        WRITTEN.set(Boolean.TRUE);
+    }
+
+    /**
+     * Checks whether the current thread has written to the primary database.
+     *
+     * @return {@code true} if reads must go to the primary database.
+     */
+    public static boolean hasWritten() {
+        return WRITTEN.get();
+    }
+
+    /**
+     * Clears the state of the current thread.
+     */
+    public static void clear() {
+        WRITTEN.remove();
+    }
+}
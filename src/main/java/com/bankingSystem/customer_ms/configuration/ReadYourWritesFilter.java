@@ -0,0 +1,37 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter scoping the {@link ReadYourWritesContext} to a single request.
+ */
+@Component
+@ConditionalOnProperty("customer.datasource.replica-urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Clears the read-your-writes state before and after the request, since servlet threads are reused.
+     *
+     * @param request the current request.
+     * @param response the current response.
+     * @param chain the remaining filter chain.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWritesContext.clear();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link DataSource} balancing read-only connections across the read replicas.
+ * <p>
+ * Replicas are picked in round-robin order. A replica that fails to hand out a connection, with an
+ * {@link SQLException} or with a runtime exception of its pool (such as Hikari's pool initialization failure when
+ * the replica is unreachable at its first use), is skipped for a retry interval and the next one is tried; when
+ * no replica is available, or when the current request has already written (see {@link ReadYourWritesContext}),
+ * the connection comes from the primary database.
+ * </p>
+ */
+@Slf4j
+public class ReplicaLoadBalancer extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long retryAfterMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray unavailableUntil;
+
+    /**
+     * Constructs a new instance of {@link ReplicaLoadBalancer}.
+     *
+     * @param primary the primary database, used as fallback.
+     * @param replicas the read replicas.
+     * @param retryAfterMillis how long a failed replica is skipped before being tried again.
+     */
+    public ReplicaLoadBalancer(DataSource primary, List<DataSource> replicas, long retryAfterMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.retryAfterMillis = retryAfterMillis;
+        this.unavailableUntil = new AtomicLongArray(replicas.size());
+    }
+
+    /**
+     * Obtains a read-only connection from the next available replica, or from the primary database.
+     *
+     * @return a database connection.
+     * @throws SQLException if no connection can be obtained from the primary database either.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWritesContext.hasWritten()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Connection connection = tryReplica(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Obtains a connection with the given credentials; credentials are not supported per replica.
+     *
+     * @param username the database user.
+     * @param password the user's password.
+     * @return a database connection.
+     * @throws SQLException if no connection can be obtained.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Closes the replica connection pools.
+     *
+     * @throws IOException if a pool cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Obtains a connection from the given replica, marking it unavailable if it fails.
+     *
+     * @param index the index of the replica.
+     * @return a connection, or {@code null} if the replica is unavailable.
+     */
+    private Connection tryReplica(int index) {
+        long now = System.currentTimeMillis();
+        if (unavailableUntil.get(index) > now) {
+            return null;
+        }
+        try {
+            return replicas.get(index).getConnection();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Read replica {} unavailable, retrying in {} ms: {}", index, retryAfterMillis, e.getMessage());
+            unavailableUntil.set(index, now + retryAfterMillis);
+            return null;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.bankingSystem.customer_ms.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -17,11 +19,21 @@ public class RestTemplateConfig {
 
     /**
      * Creates and provides a {@link RestTemplate} bean to the Spring application context.
+     * <p>
+     * Requests are bounded by connect and read timeouts, so an instance that hangs fails its calls and gets
+     * ejected by the {@link com.bankingSystem.customer_ms.service.AccountEndpointBalancer}.
+     * </p>
      *
+     * @param connectTimeoutMillis the maximum time to establish a connection.
+     * @param readTimeoutMillis the maximum time to wait for the response.
      * @return a new instance of {@link RestTemplate} to be used for making HTTP requests.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${bankaccount.ms.connect-timeout-ms:500}") int connectTimeoutMillis,
+                                     @Value("${bankaccount.ms.read-timeout-ms:2000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        return new RestTemplate(requestFactory);
     }
 }
@@ -0,0 +1,40 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.controller.FlightRecordingEndpoint;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Configuration class for the authentication of the diagnostics endpoints.
+ * <p>
+ * The {@link FlightRecordingEndpoint} requires HTTP Basic authentication of a user with the {@code DIAGNOSTICS}
+ * role, defined by the {@code spring.security.user.*} properties. The filter chain only matches that endpoint:
+ * the customer API and the other actuator endpoints are not handled by Spring Security and behave as before.
+ * </p>
+ */
+@Configuration
+public class SecurityConfig {
+
+    /**
+     * Creates the filter chain of the diagnostics endpoints.
+     *
+     * @param http the builder of the filter chain.
+     * @return the {@link SecurityFilterChain} requiring the {@code DIAGNOSTICS} role.
+     * @throws Exception if the filter chain cannot be built.
+     */
+    @Bean
+    public SecurityFilterChain diagnosticsSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http.securityMatcher(EndpointRequest.to(FlightRecordingEndpoint.class))
+                .authorizeHttpRequests(requests -> requests.anyRequest().hasRole("DIAGNOSTICS"))
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+}
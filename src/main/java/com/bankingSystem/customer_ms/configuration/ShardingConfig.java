@@ -0,0 +1,64 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
+import com.bankingSystem.customer_ms.repository.CustomerStatsRepository;
+import com.bankingSystem.customer_ms.repository.ShardedCustomerRepository;
+import com.bankingSystem.customer_ms.repository.ShardedCustomerStatsRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration class storing customers on several shard databases.
+ * <p>
+ * It is active when {@code customer.sharding.shard-urls} lists the shards. The shards use the credentials of
+ * the primary database, and the {@link ShardedCustomerRepository} replaces the JPA customer repository in the
+ * services. It also replaces the JPA {@link CustomerSnapshotRepository}, so the streamed customer list, the gRPC
+ * list and the customer snapshot read the shards, and the {@link ShardedCustomerStatsRepository} counts the
+ * customers of the shards for the statistics. The primary database keeps the outbox and the change log.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("customer.sharding.shard-urls")
+public class ShardingConfig {
+
+    /**
+     * Creates the connection pools of the shards and the repository spreading customers across them.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @param shardUrls the JDBC URLs of the shards; their order must never change once customers are stored.
+     * @return the {@link ShardedCustomerRepository}.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedCustomerRepository shardedCustomerRepository(DataSourceProperties properties,
+                                                               @Value("${customer.sharding.shard-urls}") List<String> shardUrls) {
+        List<DataSource> shards = shardUrls.stream()
+                .map(url -> (DataSource) properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build())
+                .collect(Collectors.toList());
+        return new ShardedCustomerRepository(shards);
+    }
+
+    /**
+     * Creates the statistics repository counting the customers of the shards.
+     *
+     * @param shardedCustomerRepository the repository of the sharded customers.
+     * @param changeLog the JPA statistics repository, reading the change log of the primary database.
+     * @return the {@link ShardedCustomerStatsRepository}.
+     */
+    @Bean
+    @Primary
+    public CustomerStatsRepository shardedCustomerStatsRepository(ShardedCustomerRepository shardedCustomerRepository,
+                                                                  @Qualifier("customerStatsRepository") CustomerStatsRepository changeLog) {
+        return new ShardedCustomerStatsRepository(shardedCustomerRepository, changeLog);
+    }
+}
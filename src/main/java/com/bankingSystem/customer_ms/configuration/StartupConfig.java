@@ -0,0 +1,36 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.controller.CustomerController;
+import com.bankingSystem.customer_ms.controller.CustomerGrpcService;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for application startup behaviour.
+ * <p>
+ * When lazy initialization is enabled (see the {@code fast} profile), every bean is created on first use.
+ * The beans on the request path of the customer endpoints are excluded here so that they are still created
+ * during startup and the first request does not pay for them.
+ * </p>
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the beans serving customer requests eagerly initialized.
+     *
+     * @return a {@link LazyInitializationExcludeFilter} matching the critical bean types.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CustomerController.class, CustomerGrpcService.class,
+                CustomerService.class, CustomerValidator.class, CustomerRepository.class, EntityManagerFactory.class, DataSource.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link DataSource} wrapping the primary database and recording read-write transactions in the
+ * {@link ReadYourWritesContext}.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    /**
+     * Constructs a new instance of {@link WriteTrackingDataSource}.
+     *
+     * @param primary the primary database.
+     */
+    public WriteTrackingDataSource(DataSource primary) {
+        super(primary);
+    }
+
+    /**
+     * Obtains a connection to the primary database, recording it if it is used by a read-write transaction.
+     *
+     * @return a connection to the primary database.
+     * @throws SQLException if the connection cannot be obtained.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWritten();
+        }
+        return super.getConnection();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Maps the exceptions thrown by the controllers to RFC 9457 problem responses.
+ * <p>
+ * A {@link BusinessException} is answered with the status, type and title of its {@link ErrorCode}, its message
+ * as the detail, and the code itself in the {@code code} property, so clients can tell apart errors with the
+ * same status. Expected errors are only logged at debug level. The message of an unexpected business error, such
+ * as an {@link ErrorCode#INTERNAL_ERROR} wrapping a database failure, may contain SQL or connection details: it
+ * is only logged, and the response carries a generic detail. Constraint violations of the database are
+ * reported as conflicts and any other exception as a 500 without internal details. The exceptions of Spring MVC
+ * itself (unreadable bodies, unsupported methods...) keep the problem responses of
+ * {@link ResponseEntityExceptionHandler}.
+ * </p>
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final String UNEXPECTED_DETAIL = "An unexpected error occurred.";
+
+    /**
+     * Handles business errors.
+     *
+     * @param exception the business error.
+     * @return the problem response of its error code, with the message of the exception as detail only if the
+     *         error is expected.
+     */
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ProblemDetail> handleBusinessException(BusinessException exception) {
+        ErrorCode code = exception.getCode();
+        if (code.isExpected()) {
+            logExpected(code, exception);
+            return problem(code, exception.getMessage());
+        }
+        log.error("Request failed with {}: {}", code, exception.getMessage(), exception);
+        return problem(code, UNEXPECTED_DETAIL);
+    }
+
+    /**
+     * Logs an expected business error; the cause, when there is one, is a failure of a dependency that the
+     * client-facing message deliberately leaves out, so it is logged as a warning.
+     *
+     * @param code the error code.
+     * @param exception the business error.
+     */
+    private static void logExpected(ErrorCode code, BusinessException exception) {
+        if (exception.getCause() != null) {
+            log.warn("Request failed with {}: {}", code, exception.getMessage(), exception.getCause());
+        } else {
+            log.debug("Request rejected with {}: {}", code, exception.getMessage());
+        }
+    }
+
+    /**
+     * Handles constraint violations of the database, such as two concurrent creations with the same DNI.
+     *
+     * @param exception the constraint violation.
+     * @return a CONFLICT problem response.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
+        log.debug("Request rejected by a database constraint: {}", exception.getMessage());
+        return problem(ErrorCode.CONFLICT, "The request conflicts with the stored customers.");
+    }
+
+    /**
+     * Handles any other exception.
+     *
+     * @param exception the unexpected exception.
+     * @return an INTERNAL_SERVER_ERROR problem response, without the details of the exception.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ProblemDetail> handleUnexpectedException(Exception exception) {
+        log.error("Unexpected error while handling the request", exception);
+        return problem(ErrorCode.INTERNAL_ERROR, UNEXPECTED_DETAIL);
+    }
+
+    /**
+     * Builds the problem response of an error code.
+     *
+     * @param code the error code.
+     * @param detail the explanation of this occurrence of the error.
+     * @return the problem response.
+     */
+    private ResponseEntity<ProblemDetail> problem(ErrorCode code, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(code.getStatus(), detail);
+        problem.setType(code.getType());
+        problem.setTitle(code.getTitle());
+        problem.setProperty("code", code.name());
+        return ResponseEntity.status(code.getStatus()).body(problem);
+    }
+}
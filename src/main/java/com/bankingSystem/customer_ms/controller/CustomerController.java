@@ -1,14 +1,33 @@
 package com.bankingSystem.customer_ms.controller;
 
 import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerBatchValidationReport;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.model.DeleteJob;
+import com.bankingSystem.customer_ms.service.CustomerBatchValidationService;
+import com.bankingSystem.customer_ms.service.CustomerChangeStreamService;
+import com.bankingSystem.customer_ms.service.CustomerDeleteJobService;
 import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerSnapshotService;
+import com.bankingSystem.customer_ms.service.CustomerStatsService;
+import com.bankingSystem.customer_ms.service.CustomerSyncService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for handling HTTP requests related to customer operations.
@@ -23,6 +42,13 @@ import java.util.Optional;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerSyncService customerSyncService;
+    private final CustomerDeleteJobService customerDeleteJobService;
+    private final CustomerStatsService customerStatsService;
+    private final ObjectProvider<CustomerSnapshotService> customerSnapshotService;
+    private final CustomerBatchValidationService customerBatchValidationService;
+    private final CustomerJsonWriter customerJsonWriter;
+    private final CustomerChangeStreamService customerChangeStreamService;
 
     /**
      * Handles GET requests to fetch all customers.
@@ -34,6 +60,31 @@ public class CustomerController {
         return new ResponseEntity<>(customerService.getAll(), HttpStatus.OK);
     }
 
+    /**
+     * Handles GET requests to fetch all customers with {@code stream=true}.
+     * <p>
+     * The customers are written to the response by the {@link CustomerJsonWriter} while they are read from the
+     * database, in ID order, instead of being collected and serialized by the message converter. The body is
+     * the same JSON array as {@link #getAllCustomers()}. An error after the first bytes have been sent cannot
+     * change the status any more and aborts the response.
+     * </p>
+     *
+     * @param response the response the customers are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(params = "stream=true")
+    public void streamAllCustomers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        customerService.streamAll(customers -> {
+            try {
+                return customerJsonWriter.writeArray(customers, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Handles POST requests to create a new customer.
      *
@@ -77,7 +128,8 @@ public class CustomerController {
      * Handles DELETE requests to remove a customer by ID.
      *
      * @param id the ID of the customer to be deleted.
-     * @return a {@link ResponseEntity} with an HTTP status of OK if the customer was deleted, or NOT_FOUND if no customer exists with the provided ID.
+     * @return a {@link ResponseEntity} with an HTTP status of OK if the customer was deleted, or NOT_FOUND if no
+     *         customer exists with the provided ID.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Customer> deleteCustomer(@PathVariable Integer id) {
@@ -89,16 +141,108 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Handles DELETE requests with {@code async=true}, queueing the delete instead of waiting for it.
+     *
+     * @param id the ID of the customer to be deleted.
+     * @return a {@link ResponseEntity} containing the delete job, with its status URL in the Location header and an HTTP status of ACCEPTED.
+     */
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<DeleteJob> deleteCustomerAsync(@PathVariable Integer id) {
+        DeleteJob job = customerDeleteJobService.submit(id);
+        return ResponseEntity.accepted().location(URI.create("/customers/delete-jobs/" + job.jobId())).body(job);
+    }
+
+    /**
+     * Handles GET requests to fetch the status of an asynchronous delete job.
+     *
+     * @param jobId the ID of the delete job.
+     * @return a {@link ResponseEntity} containing the job, or a NOT_FOUND status if the job is unknown or expired.
+     */
+    @GetMapping("/delete-jobs/{jobId}")
+    public ResponseEntity<DeleteJob> getDeleteJob(@PathVariable String jobId) {
+        return customerDeleteJobService.getJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     /**
      * Checks if a customer exists by their ID.
+     * <p>
+     * When the customer snapshot is enabled and loaded, the check is answered from the in-process copy without
+     * querying the database, and may lag recent writes by one sequencer interval plus one catch-up interval.
+     * </p>
      *
      * @param id the ID of the customer to check for existence.
      * @return a {@link ResponseEntity} containing a boolean value indicating whether the customer exists and an HTTP status of OK.
      */
     @GetMapping("/{id}/exists")
     public ResponseEntity<Boolean> customerExists(@PathVariable Integer id) {
-        boolean exists = customerService.getById(id).isPresent();
+        CustomerSnapshotService snapshot = customerSnapshotService.getIfAvailable();
+        boolean exists = snapshot != null && snapshot.isReady()
+                ? snapshot.findById(id).isPresent()
+                : customerService.getById(id).isPresent();
         return new ResponseEntity<>(exists, HttpStatus.OK);
     }
 
+    /**
+     * Handles GET requests for the customer changes written after a watermark.
+     *
+     * @param since the sequence of the last change already applied by the client, or 0 for a full sync.
+     * @param limit the maximum number of changes to return.
+     * @return a {@link ResponseEntity} containing the page of changes and the next watermark, with an HTTP status of OK.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<CustomerChangePage> getCustomerChanges(@RequestParam(defaultValue = "0") long since,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(customerSyncService.getChangesSince(since, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Handles GET requests for the stream of customer changes, as Server-Sent Events.
+     * <p>
+     * Every event carries a change entry like those of {@link #getCustomerChanges(long, int)}, with the change
+     * sequence as its id. A client reconnecting with the {@code Last-Event-ID} header resumes after that change;
+     * {@code since} does the same for the first connection. Without either, only the changes written from now on
+     * are sent. The response is written with non-blocking I/O, see {@link ServletChangeStreamConnection}.
+     * </p>
+     *
+     * @param ids the IDs of the customers whose changes are sent; all customers if absent.
+     * @param since the sequence of the last change already applied by the client, for the first connection.
+     * @param lastEventId the id of the last event received by the client, sent by the browser on reconnection.
+     * @param request the request, put in asynchronous mode for the stream.
+     * @param response the response the events are written to.
+     * @throws IOException if the stream cannot be opened.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamCustomerChanges(@RequestParam(required = false) Set<Integer> ids,
+                                      @RequestParam(required = false) Long since,
+                                      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        customerChangeStreamService.subscribe(new ServletChangeStreamConnection(request, response),
+                ids == null ? Set.of() : ids, lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Handles POST requests to validate a batch of customers without creating them (dry run).
+     *
+     * @param customers the customers of the batch.
+     * @return a {@link ResponseEntity} containing the violations of every invalid row and an HTTP status of OK.
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<CustomerBatchValidationReport> validateCustomers(@RequestBody List<Customer> customers) {
+        return new ResponseEntity<>(customerBatchValidationService.validate(customers), HttpStatus.OK);
+    }
+
+    /**
+     * Handles GET requests for the aggregate customer statistics.
+     *
+     * @return a {@link ResponseEntity} containing the total count, the counts per email domain and the creations per day, with an HTTP status of OK.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CustomerStats> getCustomerStats() {
+        return new ResponseEntity<>(customerStatsService.getStats(), HttpStatus.OK);
+    }
+
 }
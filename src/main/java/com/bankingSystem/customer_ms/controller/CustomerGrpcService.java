@@ -0,0 +1,323 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.grpc.CustomerIdRequest;
+import com.bankingSystem.customer_ms.grpc.CustomerIdsRequest;
+import com.bankingSystem.customer_ms.grpc.CustomerLookupGrpc;
+import com.bankingSystem.customer_ms.grpc.CustomerMessage;
+import com.bankingSystem.customer_ms.grpc.CustomersReply;
+import com.bankingSystem.customer_ms.grpc.ExistsReply;
+import com.bankingSystem.customer_ms.grpc.ListCustomersRequest;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerSnapshotService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * gRPC endpoint for the customer lookups of internal callers.
+ * <p>
+ * It offers the reads of {@link CustomerController} on the {@code CustomerLookup} service of
+ * {@code customer_lookup.proto}, served by the {@link com.bankingSystem.customer_ms.configuration.GrpcServerLifecycle}
+ * on its own port, and shares the {@link CustomerService} with the REST API: lookups by ID are coalesced and
+ * existence checks are answered from the customer snapshot when it is loaded, exactly as over HTTP.
+ * </p>
+ * <p>
+ * Business errors are returned with the gRPC status matching the HTTP status of their {@link ErrorCode}.
+ * {@code List} streams the customers while they are read, page by page, and only sends while the transport of
+ * the client is ready: once it is full the call gives its thread back, and gRPC runs the on-ready handler when
+ * the client has read. A slow client thus neither makes the server buffer the table nor holds a thread or a
+ * connection. A client that reads nothing for {@code customer.grpc.list-max-stall-ms} fails with
+ * {@code DEADLINE_EXCEEDED}, so stalled calls do not stay open forever.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CustomerGrpcService extends CustomerLookupGrpc.CustomerLookupImplBase {
+
+    private final CustomerService customerService;
+    private final ObjectProvider<CustomerSnapshotService> customerSnapshotService;
+    private final int maxBatchSize;
+    private final long listMaxStallMillis;
+    private final ScheduledExecutorService stallTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grpc-list-stall-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new instance of {@link CustomerGrpcService}.
+     *
+     * @param customerService the service shared with the REST API.
+     * @param customerSnapshotService the customer snapshot, used for existence checks when it is enabled.
+     * @param maxBatchSize the maximum number of IDs of a {@code GetMany} call.
+     * @param listMaxStallMillis how long a {@code List} call may go without the client reading a customer.
+     */
+    public CustomerGrpcService(CustomerService customerService,
+                               ObjectProvider<CustomerSnapshotService> customerSnapshotService,
+                               @Value("${customer.grpc.max-batch-size:1000}") int maxBatchSize,
+                               @Value("${customer.grpc.list-max-stall-ms:30000}") long listMaxStallMillis) {
+        this.customerService = customerService;
+        this.customerSnapshotService = customerSnapshotService;
+        this.maxBatchSize = maxBatchSize;
+        this.listMaxStallMillis = listMaxStallMillis;
+    }
+
+    /**
+     * Finds a customer by ID, failing with {@code NOT_FOUND} if there is none.
+     *
+     * @param request the ID of the customer.
+     * @param responseObserver the observer receiving the customer.
+     */
+    @Override
+    public void get(CustomerIdRequest request, StreamObserver<CustomerMessage> responseObserver) {
+        respond(responseObserver, () -> customerService.getById(request.getCustomerId())
+                .map(CustomerGrpcService::toMessage)
+                .orElseThrow(() -> new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND,
+                        "Customer not found with id: " + request.getCustomerId())));
+    }
+
+    /**
+     * Tells whether a customer exists, from the customer snapshot when it is loaded.
+     *
+     * @param request the ID of the customer.
+     * @param responseObserver the observer receiving the answer.
+     */
+    @Override
+    public void exists(CustomerIdRequest request, StreamObserver<ExistsReply> responseObserver) {
+        respond(responseObserver, () -> {
+            CustomerSnapshotService snapshot = customerSnapshotService.getIfAvailable();
+            boolean exists = snapshot != null && snapshot.isReady()
+                    ? snapshot.findById(request.getCustomerId()).isPresent()
+                    : customerService.getById(request.getCustomerId()).isPresent();
+            return ExistsReply.newBuilder().setExists(exists).build();
+        });
+    }
+
+    /**
+     * Finds several customers by ID in one query, leaving out the unknown IDs.
+     *
+     * @param request the IDs of the customers, at most {@code customer.grpc.max-batch-size}.
+     * @param responseObserver the observer receiving the customers.
+     */
+    @Override
+    public void getMany(CustomerIdsRequest request, StreamObserver<CustomersReply> responseObserver) {
+        respond(responseObserver, () -> {
+            if (request.getCustomerIdsCount() > maxBatchSize) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST,
+                        "At most " + maxBatchSize + " customer IDs can be requested at once.");
+            }
+            CustomersReply.Builder reply = CustomersReply.newBuilder();
+            customerService.getAllById(request.getCustomerIdsList()).forEach(customer -> reply.addCustomers(toMessage(customer)));
+            return reply.build();
+        });
+    }
+
+    /**
+     * Streams every customer in ID order, while they are read from the database.
+     *
+     * @param request the empty request.
+     * @param responseObserver the observer receiving the customers.
+     */
+    @Override
+    public void list(ListCustomersRequest request, StreamObserver<CustomerMessage> responseObserver) {
+        ServerCallStreamObserver<CustomerMessage> call = (ServerCallStreamObserver<CustomerMessage>) responseObserver;
+        ListCall listCall;
+        try {
+            listCall = new ListCall(call, customerService.iterateAll());
+        } catch (RuntimeException e) {
+            call.onError(toStatus(e));
+            return;
+        }
+        call.setOnCancelHandler(listCall::cancel);
+        call.setOnReadyHandler(listCall::send);
+        listCall.start();
+    }
+
+    /**
+     * Stops the timer of the stalled {@code List} calls.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stallTimer.shutdownNow();
+    }
+
+    /**
+     * Completes a unary call with the reply, or with the status of the exception thrown while computing it.
+     *
+     * @param responseObserver the observer of the call.
+     * @param reply the computation of the reply.
+     * @param <T> the type of the reply.
+     */
+    private static <T> void respond(StreamObserver<T> responseObserver, Supplier<T> reply) {
+        T value;
+        try {
+            value = reply.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(value);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Maps an exception to the gRPC status returned to the client.
+     *
+     * @param e the exception.
+     * @return the status, with the message of expected business errors as description and the title of the
+     *         error code otherwise, since unexpected messages may contain SQL or connection details.
+     */
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof BusinessException businessException) {
+            ErrorCode code = businessException.getCode();
+            if (code.isExpected()) {
+                logExpected(code, businessException);
+                return toStatus(code).withDescription(e.getMessage()).asRuntimeException();
+            }
+            log.error("gRPC call failed with {}: {}", code, e.getMessage(), e);
+            return toStatus(code).withDescription(code.getTitle()).asRuntimeException();
+        }
+        log.error("Unexpected error while handling the gRPC call", e);
+        return Status.INTERNAL.withDescription(ErrorCode.INTERNAL_ERROR.getTitle()).asRuntimeException();
+    }
+
+    /**
+     * Logs an expected business error; the cause, when there is one, is a failure of a dependency that the
+     * status description leaves out, so it is logged as a warning.
+     *
+     * @param code the error code.
+     * @param e the business error.
+     */
+    private static void logExpected(ErrorCode code, BusinessException e) {
+        if (e.getCause() != null) {
+            log.warn("gRPC call failed with {}: {}", code, e.getMessage(), e.getCause());
+        } else {
+            log.debug("gRPC call rejected with {}: {}", code, e.getMessage());
+        }
+    }
+
+    private static Status toStatus(ErrorCode errorCode) {
+        return switch (errorCode.getStatus()) {
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.FAILED_PRECONDITION;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL;
+        };
+    }
+
+    /**
+     * A running {@code List} call, sending the customers whenever the transport of the client is ready.
+     * <p>
+     * Its methods run under its monitor: the on-ready and cancel handlers on the gRPC executor, the progress
+     * check on the stall timer, so the call is never written to by two threads at once.
+     * </p>
+     */
+    private final class ListCall {
+
+        private final ServerCallStreamObserver<CustomerMessage> call;
+        private final Iterator<Customer> customers;
+        private ScheduledFuture<?> progressCheck;
+        private long sent;
+        private long sentAtLastCheck;
+        private boolean done;
+
+        private ListCall(ServerCallStreamObserver<CustomerMessage> call, Iterator<Customer> customers) {
+            this.call = call;
+            this.customers = customers;
+        }
+
+        /**
+         * Starts checking the progress of the call, and sends what the transport accepts.
+         */
+        synchronized void start() {
+            progressCheck = stallTimer.scheduleWithFixedDelay(this::checkProgress, listMaxStallMillis,
+                    listMaxStallMillis, TimeUnit.MILLISECONDS);
+            send();
+        }
+
+        /**
+         * Sends customers until the transport is full, completing the call after the last one.
+         */
+        synchronized void send() {
+            if (done) {
+                return;
+            }
+            try {
+                sendWhileReady();
+                if (!customers.hasNext()) {
+                    finish();
+                    call.onCompleted();
+                }
+            } catch (RuntimeException e) {
+                fail(toStatus(e));
+            }
+        }
+
+        /**
+         * Sends the next customers as long as the transport accepts them.
+         */
+        private void sendWhileReady() {
+            while (call.isReady() && customers.hasNext()) {
+                call.onNext(toMessage(customers.next()));
+                sent++;
+            }
+        }
+
+        /**
+         * Stops sending once the client has cancelled the call.
+         */
+        synchronized void cancel() {
+            log.debug("Customer list stream cancelled by the client after {} customers", sent);
+            finish();
+        }
+
+        /**
+         * Fails the call if the client has not read any customer since the previous check.
+         */
+        private synchronized void checkProgress() {
+            if (!done && sent == sentAtLastCheck) {
+                log.warn("Customer list stream stalled for {} ms after {} customers, failing it", listMaxStallMillis, sent);
+                fail(Status.DEADLINE_EXCEEDED.withDescription("The client did not read the customer list for "
+                        + listMaxStallMillis + " ms.").asRuntimeException());
+            }
+            sentAtLastCheck = sent;
+        }
+
+        private void fail(StatusRuntimeException status) {
+            finish();
+            call.onError(status);
+        }
+
+        private void finish() {
+            done = true;
+            progressCheck.cancel(false);
+        }
+    }
+
+    private static CustomerMessage toMessage(Customer customer) {
+        return CustomerMessage.newBuilder()
+                .setCustomerId(customer.getCustomerId())
+                .setFirstName(customer.getFirstName())
+                .setLastName(customer.getLastName())
+                .setDni(customer.getDni())
+                .setEmail(customer.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes customers as a JSON array straight to an output stream.
+ * <p>
+ * Customers are written one by one with a streaming {@link JsonGenerator} while they are read, without
+ * collecting them first and without the reflective bean serializer of {@link ObjectMapper}. Field names are
+ * {@link SerializedString}s, whose quoted UTF-8 bytes are computed once and copied as is. The generator
+ * encodes into an output buffer taken from Jackson's per-thread buffer recycler and flushes it to the
+ * stream whenever it is full, so a response costs the same few buffers whatever the number of customers.
+ * </p>
+ * <p>
+ * The output is the same as serializing a {@code List<Customer>} with the application's {@link ObjectMapper}.
+ * </p>
+ */
+@Component
+public class CustomerJsonWriter {
+
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString DNI = new SerializedString("dni");
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs a new instance of {@link CustomerJsonWriter}.
+     *
+     * @param objectMapper the application's mapper, whose generator settings are reused.
+     */
+    public CustomerJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Writes the customers as a JSON array.
+     * <p>
+     * The output stream is flushed but not closed.
+     * </p>
+     *
+     * @param customers the customers to write, consumed once.
+     * @param out the stream to write to.
+     * @return the number of customers written.
+     * @throws IOException if the stream cannot be written.
+     */
+    public int writeArray(Iterator<Customer> customers, OutputStream out) throws IOException {
+        int written = 0;
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            while (customers.hasNext()) {
+                write(customers.next(), generator);
+                written++;
+            }
+            generator.writeEndArray();
+        }
+        return written;
+    }
+
+    /**
+     * Writes one customer as a JSON object.
+     *
+     * @param customer the customer.
+     * @param generator the generator to write with.
+     * @throws IOException if the stream cannot be written.
+     */
+    private static void write(Customer customer, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CUSTOMER_ID);
+        if (customer.getCustomerId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(customer.getCustomerId());
+        }
+        writeString(generator, FIRST_NAME, customer.getFirstName());
+        writeString(generator, LAST_NAME, customer.getLastName());
+        writeString(generator, DNI, customer.getDni());
+        writeString(generator, EMAIL, customer.getEmail());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
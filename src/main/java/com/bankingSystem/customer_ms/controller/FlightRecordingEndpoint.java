@@ -0,0 +1,84 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.model.RecordingStatus;
+import com.bankingSystem.customer_ms.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Actuator endpoint for on-demand Java Flight Recorder recordings, under {@code /actuator/jfr}.
+ * <p>
+ * It only exists when {@code customer.diagnostics.jfr.enabled} is {@code true}, and is served by the management
+ * server, where it requires the {@code DIAGNOSTICS} role (see {@code SecurityConfig}). The recordings include the
+ * customer-ms events (requests, validations, repository queries and remote calls), and the dump can be opened
+ * with JDK Mission Control or the {@code jfr} tool.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@WebEndpoint(id = "jfr")
+@ConditionalOnProperty(name = "customer.diagnostics.jfr.enabled", havingValue = "true")
+public class FlightRecordingEndpoint {
+
+    private static final String DUMP = "dump";
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Handles GET requests for the state of the current recording.
+     *
+     * @return the state of the recording, or {@code null} (NOT_FOUND) if none was started.
+     */
+    @ReadOperation
+    public RecordingStatus getRecording() {
+        return flightRecordingService.getStatus().orElse(null);
+    }
+
+    /**
+     * Handles POST requests to {@code start} a recording or {@code stop} the current one.
+     *
+     * @param action {@code start} or {@code stop}.
+     * @return a {@link WebEndpointResponse} containing the state of the recording and an HTTP status of CREATED
+     *         when started or OK when stopped, or a NOT_FOUND status for any other action.
+     */
+    @WriteOperation
+    public WebEndpointResponse<RecordingStatus> controlRecording(@Selector String action) {
+        return switch (action) {
+            case "start" -> new WebEndpointResponse<>(flightRecordingService.start(), HttpStatus.CREATED.value());
+            case "stop" -> new WebEndpointResponse<>(flightRecordingService.stop());
+            default -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        };
+    }
+
+    /**
+     * Handles GET requests to {@code dump} the data of the current recording.
+     *
+     * @param resource {@code dump}.
+     * @return a {@link WebEndpointResponse} streaming the {@code .jfr} file, which is deleted once it has been
+     *         sent, or a NOT_FOUND status for any other resource.
+     * @throws IOException if the recording cannot be dumped.
+     */
+    @ReadOperation(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public WebEndpointResponse<Resource> dumpRecording(@Selector String resource) throws IOException {
+        if (!DUMP.equals(resource)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = flightRecordingService.dump();
+        return new WebEndpointResponse<>(new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.service.ChangeStreamConnection;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ChangeStreamConnection} writing a {@code text/event-stream} response with Servlet non-blocking I/O.
+ * <p>
+ * The request is put in asynchronous mode and a {@link WriteListener} is registered on the response, so writes
+ * are accepted only while the container can send them without blocking, and the container calls back once the
+ * client has read what was pending.
+ * </p>
+ */
+public class ServletChangeStreamConnection implements ChangeStreamConnection {
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private AsyncContext asyncContext;
+    private ServletOutputStream output;
+
+    /**
+     * Constructs a new instance of {@link ServletChangeStreamConnection}.
+     *
+     * @param request the request of the subscription.
+     * @param response the response the events are written to.
+     */
+    public ServletChangeStreamConnection(HttpServletRequest request, HttpServletResponse response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    @Override
+    public void open(long timeoutMillis, Runnable onWritable, Runnable onClosed) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+        asyncContext.addListener(new ClosingListener(onClosed));
+        output = response.getOutputStream();
+        output.setWriteListener(new WritableListener(onWritable, onClosed));
+    }
+
+    @Override
+    public boolean isReady() {
+        return output.isReady();
+    }
+
+    @Override
+    public void write(String chunk) throws IOException {
+        output.write(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+
+    /**
+     * Listener reporting that the response accepts data again, and closing the stream when a write fails.
+     */
+    private final class WritableListener implements WriteListener {
+
+        private final Runnable onWritable;
+        private final Runnable onClosed;
+
+        private WritableListener(Runnable onWritable, Runnable onClosed) {
+            this.onWritable = onWritable;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public void onWritePossible() {
+            onWritable.run();
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            onClosed.run();
+            close();
+        }
+    }
+
+    /**
+     * Listener reporting the end of the asynchronous request, and completing it when it times out.
+     */
+    private final class ClosingListener implements AsyncListener {
+
+        private final Runnable onClosed;
+
+        private ClosingListener(Runnable onClosed) {
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            onClosed.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            onClosed.run();
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            onClosed.run();
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the request is only put in asynchronous mode once
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bankingSystem.customer_ms.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every HTTP request served by the customer controllers.
+ */
+@Name("com.bankingSystem.customer_ms.Request")
+@Label("Customer Request")
+@Category({"Customer MS", "HTTP"})
+@Description("An HTTP request served by customer-ms")
+@StackTrace(false)
+public class CustomerRequestEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Route")
+    @Description("The matched route pattern, or the request URI when no route matched")
+    private String route;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Ends the event and commits it, if it is enabled and above the threshold.
+     *
+     * @param requestMethod the HTTP method of the request.
+     * @param requestRoute the route of the request.
+     * @param responseStatus the HTTP status of the response.
+     * @param requestOutcome {@code success}, or the simple name of the exception that escaped the request.
+     */
+    public void complete(String requestMethod, String requestRoute, int responseStatus, String requestOutcome) {
+        end();
+        if (shouldCommit()) {
+            method = requestMethod;
+            route = requestRoute;
+            status = responseStatus;
+            outcome = requestOutcome;
+            commit();
+        }
+    }
+}
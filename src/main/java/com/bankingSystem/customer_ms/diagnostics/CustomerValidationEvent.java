@@ -0,0 +1,47 @@
+package com.bankingSystem.customer_ms.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every validation of customer data.
+ */
+@Name("com.bankingSystem.customer_ms.Validation")
+@Label("Customer Validation")
+@Category({"Customer MS", "Validation"})
+@Description("A validation of customer data, including the DNI uniqueness query")
+@StackTrace(false)
+public class CustomerValidationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Outcome")
+    @Description("valid, invalid or the simple name of the unexpected exception")
+    private String outcome;
+
+    @Label("Message")
+    @Description("The reason the data was rejected")
+    private String message;
+
+    /**
+     * Ends the event and commits it, if it is enabled and above the threshold.
+     *
+     * @param validationOperation the validation performed.
+     * @param validationOutcome the outcome of the validation.
+     * @param rejectionMessage the reason the data was rejected, or {@code null}.
+     */
+    public void complete(String validationOperation, String validationOutcome, String rejectionMessage) {
+        end();
+        if (shouldCommit()) {
+            operation = validationOperation;
+            outcome = validationOutcome;
+            message = rejectionMessage;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.bankingSystem.customer_ms.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every call to another microservice.
+ */
+@Name("com.bankingSystem.customer_ms.RemoteCall")
+@Label("Remote Call")
+@Category({"Customer MS", "Remote"})
+@Description("A call to another microservice, such as the bank account service")
+@StackTrace(false)
+public class RemoteCallEvent extends Event {
+
+    @Label("Service")
+    private String service;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Customer ID")
+    private int customerId;
+
+    @Label("Status")
+    @Description("The HTTP status of the response, or 0 when no response was received")
+    private int status;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Ends the event and commits it, if it is enabled and above the threshold.
+     *
+     * @param remoteService the name of the called service.
+     * @param remoteOperation the operation called.
+     * @param customer the ID of the customer concerned by the call.
+     * @param responseStatus the HTTP status of the response, or 0.
+     * @param callOutcome {@code success}, or the simple name of the exception thrown.
+     */
+    public void complete(String remoteService, String remoteOperation, int customer, int responseStatus, String callOutcome) {
+        end();
+        if (shouldCommit()) {
+            service = remoteService;
+            operation = remoteOperation;
+            customerId = customer;
+            status = responseStatus;
+            outcome = callOutcome;
+            commit();
+        }
+    }
+}
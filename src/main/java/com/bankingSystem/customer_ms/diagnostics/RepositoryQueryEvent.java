@@ -0,0 +1,51 @@
+package com.bankingSystem.customer_ms.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every call to a Spring Data repository.
+ */
+@Name("com.bankingSystem.customer_ms.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Customer MS", "Database"})
+@Description("A call to a Spring Data repository, such as CustomerRepository")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Row Count")
+    @Description("The number of entities returned, or -1 when the result is not a set of entities")
+    private long rowCount;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Ends the event and commits it, if it is enabled and above the threshold.
+     *
+     * @param repositoryName the simple name of the repository interface.
+     * @param queryOperation the repository method called.
+     * @param rows the number of entities returned, or -1.
+     * @param queryOutcome {@code success}, or the simple name of the exception thrown.
+     */
+    public void complete(String repositoryName, String queryOperation, long rows, String queryOutcome) {
+        end();
+        if (shouldCommit()) {
+            repository = repositoryName;
+            operation = queryOperation;
+            rowCount = rows;
+            outcome = queryOutcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bankingSystem.customer_ms.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Interceptor recording a {@link RepositoryQueryEvent} around every call to a repository.
+ * <p>
+ * When no recording includes the event, the call goes straight to the repository.
+ * </p>
+ */
+public class RepositoryQueryInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+
+    /**
+     * Constructs a new instance of {@link RepositoryQueryInterceptor}.
+     *
+     * @param repositoryInterface the repository interface of the intercepted proxy.
+     */
+    public RepositoryQueryInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    /**
+     * Calls the repository and records the event.
+     *
+     * @param invocation the repository call.
+     * @return the result of the repository call.
+     * @throws Throwable the exception thrown by the repository.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        String operation = invocation.getMethod().getName();
+        try {
+            Object result = invocation.proceed();
+            event.complete(repositoryName, operation, rowCount(result), "success");
+            return result;
+        } catch (Throwable e) {
+            event.complete(repositoryName, operation, -1, e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the entities in the result of a repository call.
+     *
+     * @param result the result of the call.
+     * @return the number of entities, or -1 when the result is not a set of entities (counts, flags).
+     */
+    static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result == null) {
+            return 0;
+        }
+        return result instanceof Number || result instanceof Boolean ? -1 : 1;
+    }
+}
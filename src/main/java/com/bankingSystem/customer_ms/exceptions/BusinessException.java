@@ -7,16 +7,55 @@ package com.bankingSystem.customer_ms.exceptions;
  * during the runtime of the application. It is used to represent errors that occur due to
  * business logic violations, such as invalid data or operational constraints.
  * </p>
+ * <p>
+ * Every exception carries an {@link ErrorCode}, which the API error handler maps to the HTTP status of the
+ * response. Exceptions of expected codes do not fill in their stack trace: under a flood of bad input, walking
+ * the stack of every rejected request would dominate the cost of rejecting it. The cause, when there is one,
+ * keeps its own stack trace.
+ * </p>
  */
-public class BusinessException extends RuntimeException{
+public class BusinessException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    /**
+     * Constructs a new {@link BusinessException} with the specified error code and detail message.
+     *
+     * @param code the error code, which defines the HTTP status of the response.
+     * @param message the detail message which will be saved for later retrieval by the {@link Throwable#getMessage()} method.
+     */
+    public BusinessException(ErrorCode code, String message) {
+        this(code, message, null);
+    }
 
     /**
-     * Constructs a new {@link BusinessException} with the specified detail message.
+     * Constructs a new {@link BusinessException} with the specified error code, detail message and cause.
+     *
+     * @param code the error code, which defines the HTTP status of the response.
+     * @param message the detail message which will be saved for later retrieval by the {@link Throwable#getMessage()} method.
+     * @param cause the failure that caused this exception, or {@code null}.
+     */
+    public BusinessException(ErrorCode code, String message, Throwable cause) {
+        super(message, cause, true, !code.isExpected());
+        this.code = code;
+    }
+
+    /**
+     * Constructs a new {@link BusinessException} with the specified detail message and the
+     * {@link ErrorCode#INVALID_REQUEST} code.
      *
      * @param message the detail message which will be saved for later retrieval by the {@link Throwable#getMessage()} method.
      */
     public BusinessException(String message) {
-        super(message);
+        this(ErrorCode.INVALID_REQUEST, message);
     }
 
+    /**
+     * Returns the error code of the exception.
+     *
+     * @return the {@link ErrorCode}.
+     */
+    public ErrorCode getCode() {
+        return code;
+    }
 }
@@ -0,0 +1,73 @@
+package com.bankingSystem.customer_ms.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * Descriptors of the errors returned by the API.
+ * <p>
+ * Each code fixes the HTTP status, the problem type URI and the title of the
+ * {@link org.springframework.http.ProblemDetail} returned to clients, so they are built once instead of on
+ * every failed request. Only {@link #INTERNAL_ERROR} is unexpected: its exceptions capture a stack trace,
+ * while the other codes describe expected outcomes of bad input or load and skip it.
+ * </p>
+ */
+public enum ErrorCode {
+
+    INVALID_CUSTOMER_DATA(HttpStatus.BAD_REQUEST, "Invalid customer data"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "Invalid request"),
+    CUSTOMER_NOT_FOUND(HttpStatus.NOT_FOUND, "Customer not found"),
+    DUPLICATE_DNI(HttpStatus.CONFLICT, "Duplicate DNI"),
+    CUSTOMER_HAS_ACTIVE_ACCOUNTS(HttpStatus.CONFLICT, "Customer has active accounts"),
+    CONFLICT(HttpStatus.CONFLICT, "Conflicting state"),
+    ACCOUNT_SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Bank account service unavailable"),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending requests"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error");
+
+    private final HttpStatus status;
+    private final String title;
+    private final URI type;
+
+    ErrorCode(HttpStatus status, String title) {
+        this.status = status;
+        this.title = title;
+        this.type = URI.create("urn:customer-ms:error:" + name().toLowerCase().replace('_', '-'));
+    }
+
+    /**
+     * Returns the HTTP status of the error.
+     *
+     * @return the HTTP status.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the short, human-readable summary of the error.
+     *
+     * @return the title of the problem.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the URI identifying the type of the problem.
+     *
+     * @return the problem type.
+     */
+    public URI getType() {
+        return type;
+    }
+
+    /**
+     * Tells whether the error is an expected outcome, whose exceptions skip the stack trace.
+     *
+     * @return {@code false} only for {@link #INTERNAL_ERROR}.
+     */
+    public boolean isExpected() {
+        return this != INTERNAL_ERROR;
+    }
+}
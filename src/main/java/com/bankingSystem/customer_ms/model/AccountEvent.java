@@ -0,0 +1,11 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Event published by the bank account service when an account of a customer is opened or closed.
+ *
+ * @param id the ID of the event, increasing in publication order.
+ * @param customerId the ID of the customer owning the account.
+ * @param type whether the account was opened or closed.
+ */
+public record AccountEvent(long id, Integer customerId, AccountEventType type) {
+}
@@ -0,0 +1,9 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Types of bank account events that change the active accounts of a customer.
+ */
+public enum AccountEventType {
+    OPENED,
+    CLOSED
+}
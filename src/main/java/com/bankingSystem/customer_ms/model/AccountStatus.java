@@ -0,0 +1,63 @@
+package com.bankingSystem.customer_ms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the local projection of the active bank accounts of a customer.
+ * <p>
+ * Rows are maintained from the {@link AccountEvent}s of the bank account service. The ID of the last event
+ * applied makes redelivered events harmless, rows that missed part of the history of their customer are flagged
+ * as incomplete, and the version keeps two consumers from overwriting each
+ * other's updates.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "account_status")
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatus {
+
+    /**
+     * The ID of the customer.
+     */
+    @Id
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    /**
+     * The number of accounts of the customer that are currently open.
+     */
+    @Column(name = "active_accounts", nullable = false)
+    private int activeAccounts;
+
+    /**
+     * Whether the row has applied every event of the customer since its first account was opened; only then
+     * does the number of active accounts describe the customer.
+     */
+    @Column(name = "history_complete", nullable = false)
+    private boolean historyComplete;
+
+    /**
+     * The ID of the last {@link AccountEvent} applied to the row.
+     */
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    /**
+     * The time the last event was applied.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * The version of the row, for optimistic locking.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * How far the audit record of a customer write has to get before the write returns.
+ */
+public enum AuditDurability {
+
+    /**
+     * The write returns as soon as its record is queued; records still queued when the process dies are lost.
+     */
+    ASYNC,
+
+    /**
+     * The write waits until the batch holding its record has been written, and forced to disk by the file sink.
+     * Concurrent writes share a batch, so they wait for one write between them.
+     */
+    SYNC
+}
@@ -0,0 +1,12 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.time.LocalDate;
+
+/**
+ * Number of customers created on a day.
+ *
+ * @param day the day.
+ * @param created the number of customers created on that day.
+ */
+public record CreationBucket(LocalDate day, long created) {
+}
@@ -2,6 +2,11 @@ package com.bankingSystem.customer_ms.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SoftDelete;
 
 import javax.validation.constraints.NotNull;
 
@@ -12,13 +17,27 @@ import javax.validation.constraints.NotNull;
  * to be mapped to the "customer" table in the database. It includes fields for
  * customer details such as name, DNI (unique identification), and email.
  * </p>
+ * <p>
+ * Customers are kept in the Hibernate second-level cache, and the DNI is mapped as a natural ID with its own
+ * cache, so lookups by ID and by DNI are served from memory once loaded. The cache regions and their limits
+ * are configured in {@code ehcache.xml}.
+ * </p>
+ * <p>
+ * Deleting a customer only sets the {@code deleted} column of its row, with one update by primary key; the
+ * rows of its bank accounts are left alone. Hibernate leaves soft-deleted customers out of every read, by ID,
+ * by DNI and in queries, and evicts them from the caches. The {@code CustomerPurger} removes the rows later.
+ * </p>
  */
 @Data
 @Entity
 @Table(name = "customer")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+@NaturalIdCache(region = "customer-dni")
+@SoftDelete
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Customer {
@@ -62,10 +81,12 @@ public class Customer {
      * The DNI (identification number) of the customer.
      * <p>
      * This field is unique and marked with {@link NotNull} to ensure that every customer
-     * has a unique identification number.
+     * has a unique identification number. It is the natural ID of the customer; it is mutable because
+     * customers can correct their DNI.
      * </p>
      */
     @NotNull
+    @NaturalId(mutable = true)
     @Column(unique = true, name="dni")
     private String dni;
 
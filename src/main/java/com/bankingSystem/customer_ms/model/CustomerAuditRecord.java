@@ -0,0 +1,41 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit record of a committed customer write, with the images of the customer before and after it.
+ * <p>
+ * {@code before} is {@code null} for creations and {@code after} is {@code null} for deletions. The images are
+ * copies, so the record does not change if the entities of the write are modified later.
+ * </p>
+ *
+ * @param type the type of the change.
+ * @param customerId the ID of the changed customer.
+ * @param before the customer as it was before the change, or {@code null}.
+ * @param after the customer as it is after the change, or {@code null}.
+ * @param recordedAt when the change was recorded.
+ */
+public record CustomerAuditRecord(CustomerChangeType type, Integer customerId, Customer before, Customer after,
+                                  LocalDateTime recordedAt) {
+
+    /**
+     * Creates the audit record of a customer change.
+     *
+     * @param event the customer change.
+     * @return a new {@link CustomerAuditRecord}.
+     */
+    public static CustomerAuditRecord of(CustomerChangedEvent event) {
+        return new CustomerAuditRecord(event.type(), event.customerId(), copy(event.before()), copy(event.after()),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Copies an image of the customer.
+     *
+     * @param customer the image, or {@code null}.
+     * @return a copy of the image, or {@code null}.
+     */
+    private static Customer copy(Customer customer) {
+        return customer == null ? null : customer.toBuilder().build();
+    }
+}
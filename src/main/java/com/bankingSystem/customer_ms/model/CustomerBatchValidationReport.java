@@ -0,0 +1,13 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.util.List;
+
+/**
+ * Result of a dry-run validation of a customer batch, returned by the batch validation endpoint.
+ *
+ * @param totalRows the number of rows in the batch.
+ * @param validRows the number of rows without violations.
+ * @param violations the rows with violations, in batch order; rows without violations are not listed.
+ */
+public record CustomerBatchValidationReport(int totalRows, int validRows, List<CustomerRowViolation> violations) {
+}
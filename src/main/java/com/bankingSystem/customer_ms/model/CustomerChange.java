@@ -0,0 +1,62 @@
+package com.bankingSystem.customer_ms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing one entry of the customer change log.
+ * <p>
+ * An entry is written for every customer write, including a tombstone for every deletion. The sequence is
+ * not the auto-incremented key: keys are handed out at insert time, so a transaction holding a lower key can
+ * commit after a higher one has been read. The sequence is assigned after commit by the
+ * {@link com.bankingSystem.customer_ms.service.CustomerChangeSequencer}, in commit order, and is unique and
+ * indexed, so reading the changes after a given sequence is an index range scan whose cost depends only on the
+ * number of changes returned.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "customer_change")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChange {
+
+    /**
+     * The insertion id of the entry.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * The change sequence, increasing in commit order; {@code null} until the sequencer has numbered the entry.
+     */
+    @Column(name = "seq", insertable = false, updatable = false)
+    private Long seq;
+
+    /**
+     * The ID of the changed customer.
+     */
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    /**
+     * The type of change; {@link CustomerChangeType#DELETED} entries are tombstones.
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private CustomerChangeType changeType;
+
+    /**
+     * The time the change was written.
+     */
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
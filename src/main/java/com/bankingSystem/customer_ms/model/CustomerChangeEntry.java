@@ -0,0 +1,12 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * A customer change returned by the delta sync endpoint.
+ *
+ * @param seq the change sequence of the entry.
+ * @param customerId the ID of the changed customer.
+ * @param type the type of change; {@link CustomerChangeType#DELETED} entries are tombstones.
+ * @param customer the current state of the customer, or {@code null} for tombstones.
+ */
+public record CustomerChangeEntry(long seq, Integer customerId, CustomerChangeType type, Customer customer) {
+}
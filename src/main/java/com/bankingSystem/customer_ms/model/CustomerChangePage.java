@@ -0,0 +1,13 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.util.List;
+
+/**
+ * A page of customer changes returned by the delta sync endpoint.
+ *
+ * @param changes the changes after the requested watermark, in sequence order.
+ * @param watermark the watermark to send with the next request.
+ * @param hasMore {@code true} if more changes are available after {@code watermark}.
+ */
+public record CustomerChangePage(List<CustomerChangeEntry> changes, long watermark, boolean hasMore) {
+}
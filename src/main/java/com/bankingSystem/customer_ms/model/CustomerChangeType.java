@@ -0,0 +1,10 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Types of changes that can be applied to a {@link Customer}.
+ */
+public enum CustomerChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,57 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Application event published by the customer service for every customer write.
+ * <p>
+ * The event carries the images of the customer before and after the change: {@code before} is
+ * {@code null} for creations and {@code after} is {@code null} for deletions. It is published inside the
+ * transaction of the write, so synchronous listeners take part in that transaction.
+ * </p>
+ *
+ * @param type the type of the change.
+ * @param customerId the ID of the changed customer.
+ * @param before the customer as it was before the change, or {@code null}.
+ * @param after the customer as it is after the change, or {@code null}.
+ */
+public record CustomerChangedEvent(CustomerChangeType type, Integer customerId, Customer before, Customer after) {
+
+    /**
+     * Creates the event for a created customer.
+     *
+     * @param created the created customer.
+     * @return a new {@link CustomerChangedEvent}.
+     */
+    public static CustomerChangedEvent created(Customer created) {
+        return new CustomerChangedEvent(CustomerChangeType.CREATED, created.getCustomerId(), null, created);
+    }
+
+    /**
+     * Creates the event for an updated customer.
+     *
+     * @param before the customer before the update.
+     * @param after the customer after the update.
+     * @return a new {@link CustomerChangedEvent}.
+     */
+    public static CustomerChangedEvent updated(Customer before, Customer after) {
+        return new CustomerChangedEvent(CustomerChangeType.UPDATED, after.getCustomerId(), before, after);
+    }
+
+    /**
+     * Creates the event for a deleted customer.
+     *
+     * @param deleted the deleted customer.
+     * @return a new {@link CustomerChangedEvent}.
+     */
+    public static CustomerChangedEvent deleted(Customer deleted) {
+        return new CustomerChangedEvent(CustomerChangeType.DELETED, deleted.getCustomerId(), deleted, null);
+    }
+
+    /**
+     * Returns the latest known image of the customer.
+     *
+     * @return the customer after the change, or before it for deletions.
+     */
+    public Customer current() {
+        return after != null ? after : before;
+    }
+}
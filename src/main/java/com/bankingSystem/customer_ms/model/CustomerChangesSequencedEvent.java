@@ -0,0 +1,10 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Application event published by the change sequencer once a batch of change log entries has been numbered and
+ * committed, so readers of the change log can pick the new changes up without waiting for their next poll.
+ *
+ * @param count the number of entries numbered by the batch.
+ */
+public record CustomerChangesSequencedEvent(int count) {
+}
@@ -0,0 +1,13 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.util.List;
+
+/**
+ * Violations found in one row of a customer batch.
+ *
+ * @param row the position of the row in the batch, starting at 0.
+ * @param dni the DNI of the row, to help locate it in the partner file.
+ * @param messages the messages of the violated rules.
+ */
+public record CustomerRowViolation(int row, String dni, List<String> messages) {
+}
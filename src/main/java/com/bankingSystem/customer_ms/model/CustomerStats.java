@@ -0,0 +1,16 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Aggregate statistics of the customers, returned by the stats endpoint.
+ *
+ * @param totalCustomers the number of customers.
+ * @param emailDomains the number of customers per email domain, most used domains first.
+ * @param creationsPerDay the number of customers created per day over the reported window, oldest day first.
+ * @param generatedAt when the statistics were computed.
+ */
+public record CustomerStats(long totalCustomers, List<EmailDomainCount> emailDomains,
+                            List<CreationBucket> creationsPerDay, LocalDateTime generatedAt) {
+}
@@ -0,0 +1,40 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of an asynchronous customer delete job, as returned by the job status endpoint.
+ *
+ * @param jobId the ID of the job.
+ * @param customerId the ID of the customer to delete.
+ * @param status the progress of the job.
+ * @param message the reason of the failure, or {@code null} while the job has not failed.
+ * @param createdAt when the job was queued.
+ * @param updatedAt when the status of the job last changed.
+ */
+public record DeleteJob(String jobId, Integer customerId, DeleteJobStatus status, String message,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    /**
+     * Creates a new queued job.
+     *
+     * @param jobId the ID of the job.
+     * @param customerId the ID of the customer to delete.
+     * @return the queued job.
+     */
+    public static DeleteJob queued(String jobId, Integer customerId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DeleteJob(jobId, customerId, DeleteJobStatus.QUEUED, null, now, now);
+    }
+
+    /**
+     * Returns a copy of this job with a new status.
+     *
+     * @param newStatus the new status.
+     * @param newMessage the reason of the failure, or {@code null}.
+     * @return the updated job.
+     */
+    public DeleteJob withStatus(DeleteJobStatus newStatus, String newMessage) {
+        return new DeleteJob(jobId, customerId, newStatus, newMessage, createdAt, LocalDateTime.now());
+    }
+}
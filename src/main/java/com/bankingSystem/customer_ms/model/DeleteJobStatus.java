@@ -0,0 +1,28 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Progress of an asynchronous customer delete job.
+ */
+public enum DeleteJobStatus {
+
+    /** The job is waiting for a free worker. */
+    QUEUED,
+
+    /** A worker is checking the accounts of the customer and deleting it. */
+    RUNNING,
+
+    /** The customer was deleted. */
+    SUCCEEDED,
+
+    /** The customer could not be deleted; the job message tells why. */
+    FAILED;
+
+    /**
+     * Tells whether the job has finished.
+     *
+     * @return {@code true} for {@link #SUCCEEDED} and {@link #FAILED}.
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
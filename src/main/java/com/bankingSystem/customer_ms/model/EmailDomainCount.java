@@ -0,0 +1,10 @@
+package com.bankingSystem.customer_ms.model;
+
+/**
+ * Number of customers whose email belongs to a domain.
+ *
+ * @param domain the email domain, in lower case.
+ * @param customers the number of customers with an email in the domain.
+ */
+public record EmailDomainCount(String domain, long customers) {
+}
@@ -0,0 +1,58 @@
+package com.bankingSystem.customer_ms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a customer change event waiting in the transactional outbox.
+ * <p>
+ * Rows are written in the same transaction as the customer change they describe and removed by the
+ * outbox relay once they have been delivered. The auto-incremented ID gives the delivery order.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "customer_outbox")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * The unique identifier of the event, increasing in write order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * The ID of the customer the event refers to.
+     */
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    /**
+     * The type of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private CustomerChangeType eventType;
+
+    /**
+     * The JSON image of the customer after the change, or before it for deletions.
+     */
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    /**
+     * The time the change was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.bankingSystem.customer_ms.model;
+
+import java.time.Instant;
+
+/**
+ * State of the on-demand flight recording, as returned by the diagnostics endpoint.
+ *
+ * @param id the ID of the recording in the JVM.
+ * @param state the JFR state of the recording: RUNNING, STOPPED or CLOSED.
+ * @param settings the JFR settings the recording was started with.
+ * @param startTime when the recording started.
+ * @param stopTime when the recording stopped, or {@code null} while it is running.
+ * @param sizeBytes the size of the recorded data kept on disk.
+ */
+public record RecordingStatus(long id, String state, String settings, Instant startTime, Instant stopTime,
+                              long sizeBytes) {
+}
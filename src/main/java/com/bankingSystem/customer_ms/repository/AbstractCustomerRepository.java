@@ -0,0 +1,218 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base class for {@link CustomerRepository} implementations that do not store customers through JPA.
+ * <p>
+ * Subclasses provide the core operations (find by ID, find all, find by DNI, save and delete) and this class
+ * derives the rest of the {@link org.springframework.data.jpa.repository.JpaRepository} contract from them, so
+ * the services can run unchanged on top of another storage engine. Subclasses override the derived operations
+ * when their engine can do better. Query by example is not supported.
+ * </p>
+ */
+public abstract class AbstractCustomerRepository implements CustomerRepository {
+
+    @Override
+    public <S extends Customer> List<S> saveAll(Iterable<S> customers) {
+        return stream(customers).map(this::save).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findExistingDnis(Collection<String> dnis) {
+        return dnis.stream().filter(dni -> findByDni(dni).isPresent()).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Customer> findAllById(Iterable<Integer> ids) {
+        return stream(ids).map(this::findById).flatMap(Optional::stream).collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return findAll().size();
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Integer> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Customer> customers) {
+        customers.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    @Override
+    public List<Customer> findAll(Sort sort) {
+        List<Customer> customers = new ArrayList<>(findAll());
+        if (sort.isSorted()) {
+            customers.sort(comparator(sort));
+        }
+        return customers;
+    }
+
+    @Override
+    public Page<Customer> findAll(Pageable pageable) {
+        List<Customer> customers = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(customers);
+        }
+        int from = (int) Math.min(pageable.getOffset(), customers.size());
+        int to = Math.min(from + pageable.getPageSize(), customers.size());
+        return new PageImpl<>(customers.subList(from, to), pageable, customers.size());
+    }
+
+    @Override
+    public void flush() {
+        // Writes are applied immediately, there is nothing to flush.
+    }
+
+    @Override
+    public <S extends Customer> S saveAndFlush(S customer) {
+        return save(customer);
+    }
+
+    @Override
+    public <S extends Customer> List<S> saveAllAndFlush(Iterable<S> customers) {
+        return saveAll(customers);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Customer> customers) {
+        deleteAll(customers);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Integer> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Customer getOne(Integer id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Customer getById(Integer id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Customer getReferenceById(Integer id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
+    }
+
+    @Override
+    public <S extends Customer> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer> List<S> findAll(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer> long count(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer> boolean exists(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+
+    @Override
+    public <S extends Customer, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleNotSupported();
+    }
+
+    /**
+     * Builds a comparator of customers following the given sort, by reading the sorted properties.
+     *
+     * @param sort the sort to apply.
+     * @return the comparator.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<Customer> comparator(Sort sort) {
+        Comparator<Customer> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Customer> byProperty = Comparator.comparing(
+                    customer -> (Comparable) new BeanWrapperImpl(customer).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    /**
+     * Turns an {@link Iterable} into a sequential {@link Stream}.
+     *
+     * @param iterable the iterable.
+     * @param <T> the type of the elements.
+     * @return a stream over the elements.
+     */
+    private static <T> Stream<T> stream(Iterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
+
+    /**
+     * Creates the exception thrown by the query by example operations.
+     *
+     * @return an {@link UnsupportedOperationException}.
+     */
+    private static UnsupportedOperationException queryByExampleNotSupported() {
+        return new UnsupportedOperationException("Query by example is not supported by this customer storage engine.");
+    }
+}
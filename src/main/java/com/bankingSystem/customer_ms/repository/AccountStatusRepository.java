@@ -0,0 +1,19 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.AccountStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Repository interface for accessing the {@link AccountStatus} projection.
+ */
+public interface AccountStatusRepository extends JpaRepository<AccountStatus, Integer> {
+
+    /**
+     * Finds the ID of the latest account event applied to the projection.
+     *
+     * @return the highest applied event ID, or 0 if no event has been applied.
+     */
+    @Query("select coalesce(max(s.lastEventId), 0) from AccountStatus s")
+    long findMaxEventId();
+}
@@ -0,0 +1,31 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.CustomerChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing the {@link CustomerChange} log.
+ */
+public interface CustomerChangeRepository extends JpaRepository<CustomerChange, Long> {
+
+    /**
+     * Finds the changes written after the given sequence.
+     *
+     * @param seq the exclusive lower bound of the sequence.
+     * @param pageable the maximum number of changes to return.
+     * @return the changes after {@code seq}, in sequence order.
+     */
+    List<CustomerChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    /**
+     * Finds the sequence of the latest change.
+     *
+     * @return the highest change sequence, or 0 if the change log is empty.
+     */
+    @Query("select coalesce(max(c.seq), 0) from CustomerChange c")
+    long findMaxSeq();
+}
@@ -0,0 +1,23 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment looking up customers by their natural ID, the DNI.
+ * <p>
+ * Unlike a derived query, the lookup goes through the Hibernate natural ID API, so it is resolved from the
+ * natural ID cache and the second-level cache when the customer has already been loaded.
+ * </p>
+ */
+public interface CustomerNaturalIdRepository {
+
+    /**
+     * Finds a customer by their DNI (unique identification number).
+     *
+     * @param dni the DNI of the customer.
+     * @return an {@link Optional} containing the found customer, or an empty {@link Optional} if no customer with the given DNI exists.
+     */
+    Optional<Customer> findByDni(String dni);
+}
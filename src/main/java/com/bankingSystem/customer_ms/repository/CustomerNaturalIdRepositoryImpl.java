@@ -0,0 +1,33 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementation of {@link CustomerNaturalIdRepository} on top of the Hibernate natural ID API.
+ */
+@RequiredArgsConstructor
+public class CustomerNaturalIdRepositoryImpl implements CustomerNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Finds a customer by their DNI, through the natural ID cache.
+     *
+     * @param dni the DNI of the customer.
+     * @return an {@link Optional} containing the found customer, or an empty {@link Optional} if no customer with the given DNI exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findByDni(String dni) {
+        if (dni == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Customer.class).loadOptional(dni);
+    }
+}
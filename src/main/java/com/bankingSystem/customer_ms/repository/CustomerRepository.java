@@ -2,27 +2,30 @@ package com.bankingSystem.customer_ms.repository;
 
 import com.bankingSystem.customer_ms.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for accessing and managing {@link Customer} entities in the database.
  * <p>
  * This interface extends {@link JpaRepository} to provide CRUD operations and more on the
  * {@link Customer} entity, without the need for explicit implementation. The repository
- * allows searching for customers by their DNI.
+ * allows searching for customers by their DNI, through the {@link CustomerNaturalIdRepository} fragment.
  * </p>
  */
-public interface CustomerRepository extends JpaRepository<Customer, Integer> {
+public interface CustomerRepository extends JpaRepository<Customer, Integer>, CustomerNaturalIdRepository {
 
     /**
-     * Finds a customer by their DNI (unique identification number).
+     * Finds which of the given DNIs already belong to a customer, with a single query.
      *
-     * @param dni the DNI of the customer.
-     * @return an {@link Optional} containing the found customer, or an empty {@link Optional} if no customer with the given DNI exists.
+     * @param dnis the DNIs to look for; must not be empty.
+     * @return the DNIs that belong to a customer.
      */
-    Optional<Customer> findByDni(String dni);
-
+    @Query("select c.dni from Customer c where c.dni in :dnis")
+    List<String> findExistingDnis(@Param("dnis") Collection<String> dnis);
 }
 
 
@@ -0,0 +1,180 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-only, memory-mapped view of a customer snapshot file.
+ * <p>
+ * The file is written by {@link CustomerSnapshotWriter} and has three sections:
+ * </p>
+ * <ul>
+ *     <li>a header: magic number, format version, change log watermark, creation time, record count and the
+ *     offset of the index;</li>
+ *     <li>the records, in ID order: a fixed-width {@code int} ID followed by the first name, last name, DNI and
+ *     email, each as an unsigned {@code short} byte length and its UTF-8 bytes ({@code 0xFFFF} for {@code null});</li>
+ *     <li>the index: one {@code (int id, int offset)} pair per record, sorted by ID.</li>
+ * </ul>
+ * <p>
+ * Opening a snapshot only maps the file and checks its header; pages are loaded by the operating system as
+ * they are read, so a lookup costs a binary search over the index and the decoding of one record.
+ * </p>
+ */
+public final class CustomerSnapshot {
+
+    static final int MAGIC = 0x43534E50;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 8;
+    static final int NULL_LENGTH = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final long watermark;
+    private final Instant createdAt;
+    private final int size;
+    private final int indexOffset;
+
+    private CustomerSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a customer snapshot, or unsupported format version.");
+        }
+        this.buffer = buffer;
+        this.watermark = buffer.getLong(8);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(16));
+        this.size = buffer.getInt(24);
+        this.indexOffset = buffer.getInt(28);
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param file the snapshot file.
+     * @return the mapped {@link CustomerSnapshot}.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a customer snapshot.
+     */
+    public static CustomerSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CustomerSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the sequence of the last customer change included in the snapshot.
+     *
+     * @return the change log watermark of the snapshot.
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    /**
+     * Returns when the snapshot was written.
+     *
+     * @return the creation time of the snapshot.
+     */
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the number of customers in the snapshot.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds a customer by ID with a binary search over the index.
+     *
+     * @param id the ID of the customer.
+     * @return an {@link Optional} containing the customer, or an empty {@link Optional} if it is not in the snapshot.
+     */
+    public Optional<Customer> findById(int id) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(readRecord(buffer.getInt(indexOffset + position * INDEX_ENTRY_SIZE + 4)));
+    }
+
+    /**
+     * Decodes every customer of the snapshot, in ID order.
+     *
+     * @param action the action to run for each customer.
+     */
+    public void forEach(Consumer<Customer> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(readRecord(buffer.getInt(indexOffset + i * INDEX_ENTRY_SIZE + 4)));
+        }
+    }
+
+    /**
+     * Finds the position of an ID in the index with a binary search.
+     *
+     * @param id the ID to find.
+     * @return the position of the ID in the index, or -1 if it is not in the snapshot.
+     */
+    private int indexOf(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = buffer.getInt(indexOffset + middle * INDEX_ENTRY_SIZE);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the record at the given offset.
+     *
+     * @param offset the offset of the record in the file.
+     * @return the decoded customer.
+     */
+    private Customer readRecord(int offset) {
+        int[] position = {offset + Integer.BYTES};
+        return Customer.builder()
+                .customerId(buffer.getInt(offset))
+                .firstName(readString(position))
+                .lastName(readString(position))
+                .dni(readString(position))
+                .email(readString(position))
+                .build();
+    }
+
+    /**
+     * Decodes the length-prefixed string at the given position and moves the position past it.
+     *
+     * @param position a one-element array holding the position of the string.
+     * @return the decoded string, or {@code null}.
+     */
+    private String readString(int[] position) {
+        int length = Short.toUnsignedInt(buffer.getShort(position[0]));
+        position[0] += Short.BYTES;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository reading the whole customer table, for the customer snapshot and the streamed customer list.
+ * <p>
+ * The fetch size only takes effect on MySQL when the connection URL sets {@code useCursorFetch=true}; otherwise
+ * Connector/J reads the whole result into memory before returning the first row.
+ * </p>
+ */
+public interface CustomerSnapshotRepository extends Repository<Customer, Integer> {
+
+    /**
+     * Streams every customer in ID order.
+     * <p>
+     * The customers are built by a constructor expression, so they are not managed and the persistence context
+     * does not grow with the table. The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @return a stream of all the customers, in ascending ID order.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.bankingSystem.customer_ms.model.Customer(c.customerId, c.firstName, c.lastName, c.dni, c.email) "
+            + "from Customer c order by c.customerId")
+    Stream<Customer> streamAllOrderedById();
+
+    /**
+     * Finds the next customers in ID order, after the given ID.
+     * <p>
+     * Like {@link #streamAllOrderedById()}, the customers are built by a constructor expression and are not
+     * managed.
+     * </p>
+     *
+     * @param afterId the ID of the last customer of the previous page, or 0 for the first page.
+     * @param limit the maximum number of customers to return.
+     * @return the customers whose ID is greater than {@code afterId}, in ascending ID order.
+     */
+    @Query("select new com.bankingSystem.customer_ms.model.Customer(c.customerId, c.firstName, c.lastName, c.dni, c.email) "
+            + "from Customer c where c.customerId > :afterId order by c.customerId")
+    List<Customer> findPageAfter(@Param("afterId") int afterId, Limit limit);
+}
@@ -0,0 +1,182 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Writer of the customer snapshot files read by {@link CustomerSnapshot}.
+ * <p>
+ * The records are streamed to a temporary file next to the target, the index is appended, the header is
+ * completed and the file is then moved over the target atomically, so readers never see a partial snapshot.
+ * Only the IDs and offsets of the records are kept in memory while writing.
+ * </p>
+ */
+public final class CustomerSnapshotWriter {
+
+    private CustomerSnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot of the given customers.
+     *
+     * @param file the snapshot file to create or replace.
+     * @param watermark the sequence of the last customer change reflected by the customers.
+     * @param customers the customers, in strictly ascending ID order.
+     * @return the number of customers written.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the customers are not in ascending ID order or the file exceeds 2 GB.
+     */
+    public static int write(Path file, long watermark, Iterator<Customer> customers) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Index index = writeRecords(temporary, customers);
+            int indexOffset = appendIndex(temporary, index);
+            writeHeader(temporary, watermark, index.size, indexOffset);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return index.size;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Streams the records after an empty header.
+     *
+     * @param file the file to write.
+     * @param customers the customers, in ascending ID order.
+     * @return the index of the records.
+     * @throws IOException if the file cannot be written.
+     */
+    private static Index writeRecords(Path file, Iterator<Customer> customers) throws IOException {
+        Index index = new Index();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            output.write(new byte[CustomerSnapshot.HEADER_SIZE]);
+            while (customers.hasNext()) {
+                Customer customer = customers.next();
+                index.add(customer.getCustomerId(), output.size());
+                writeRecord(output, customer);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param output the output of the snapshot.
+     * @param customer the customer to write.
+     * @throws IOException if the record cannot be written.
+     */
+    private static void writeRecord(DataOutputStream output, Customer customer) throws IOException {
+        output.writeInt(customer.getCustomerId());
+        writeString(output, customer.getFirstName());
+        writeString(output, customer.getLastName());
+        writeString(output, customer.getDni());
+        writeString(output, customer.getEmail());
+    }
+
+    /**
+     * Writes a string as its unsigned {@code short} byte length followed by its UTF-8 bytes.
+     *
+     * @param output the output of the snapshot.
+     * @param value the string to write, or {@code null}.
+     * @throws IOException if the string cannot be written.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeShort(CustomerSnapshot.NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= CustomerSnapshot.NULL_LENGTH) {
+            throw new IllegalArgumentException("Customer field too long for the snapshot format.");
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Appends the sorted ID index to the file.
+     *
+     * @param file the file to write.
+     * @param index the index of the records.
+     * @return the offset of the index.
+     * @throws IOException if the index cannot be written.
+     */
+    private static int appendIndex(Path file, Index index) throws IOException {
+        long indexOffset = Files.size(file);
+        checkSize(indexOffset + (long) index.size * CustomerSnapshot.INDEX_ENTRY_SIZE);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.APPEND), 1 << 16))) {
+            for (int i = 0; i < index.size; i++) {
+                output.writeInt(index.ids[i]);
+                output.writeInt(index.offsets[i]);
+            }
+        }
+        return (int) indexOffset;
+    }
+
+    /**
+     * Completes the header of the file.
+     *
+     * @param file the file to write.
+     * @param watermark the change log watermark of the snapshot.
+     * @param size the number of records.
+     * @param indexOffset the offset of the index.
+     * @throws IOException if the header cannot be written.
+     */
+    private static void writeHeader(Path file, long watermark, int size, int indexOffset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(CustomerSnapshot.HEADER_SIZE)
+                .putInt(CustomerSnapshot.MAGIC).putInt(CustomerSnapshot.VERSION)
+                .putLong(watermark).putLong(System.currentTimeMillis())
+                .putInt(size).putInt(indexOffset)
+                .flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    private static void checkSize(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Customer snapshot exceeds the 2 GB format limit.");
+        }
+    }
+
+    /**
+     * IDs and offsets of the written records, in ID order.
+     */
+    private static final class Index {
+
+        private int[] ids = new int[1024];
+        private int[] offsets = new int[1024];
+        private int size;
+
+        private void add(int id, long offset) {
+            if (size > 0 && ids[size - 1] >= id) {
+                throw new IllegalArgumentException("Customers must be written in ascending ID order.");
+            }
+            checkSize(offset);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            ids[size] = id;
+            offsets[size++] = (int) offset;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.CreationBucket;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository computing aggregate statistics of the customers in the database.
+ * <p>
+ * Every method runs a single aggregate query and returns only the aggregated values, so no customer entity is
+ * loaded. The creation buckets are read from the customer change log, which records when each customer was
+ * created.
+ * </p>
+ */
+public interface CustomerStatsRepository extends Repository<Customer, Integer> {
+
+    /**
+     * Counts the customers.
+     *
+     * @return the number of customers.
+     */
+    @Query("select count(c) from Customer c")
+    long countCustomers();
+
+    /**
+     * Counts the customers per email domain.
+     *
+     * @return the number of customers per domain, most used domains first.
+     */
+    @Query("select new com.bankingSystem.customer_ms.model.EmailDomainCount("
+            + "lower(substring(c.email, locate('@', c.email) + 1)), count(c)) "
+            + "from Customer c group by lower(substring(c.email, locate('@', c.email) + 1)) "
+            + "order by count(c) desc, lower(substring(c.email, locate('@', c.email) + 1))")
+    List<EmailDomainCount> countByEmailDomain();
+
+    /**
+     * Counts the changes of a type per day, from the customer change log.
+     *
+     * @param type the type of change to count.
+     * @param since the inclusive start of the window.
+     * @return the number of changes per day, oldest day first; days without changes are omitted.
+     */
+    @Query("select new com.bankingSystem.customer_ms.model.CreationBucket(cast(ch.changedAt as LocalDate), count(ch)) "
+            + "from CustomerChange ch where ch.changeType = :type and ch.changedAt >= :since "
+            + "group by cast(ch.changedAt as LocalDate) order by cast(ch.changedAt as LocalDate)")
+    List<CreationBucket> countChangesPerDay(CustomerChangeType type, LocalDateTime since);
+}
@@ -0,0 +1,165 @@
+package com.bankingSystem.customer_ms.repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Hash map from {@code int} keys to objects, with open addressing and linear probing.
+ * <p>
+ * Keys are stored in a plain {@code int[]}, so a lookup neither boxes the key nor follows a pointer to an
+ * entry object, and the map costs about 12 bytes per slot instead of the ~48 bytes per entry of a
+ * {@link java.util.HashMap} with {@link Integer} keys. Removals shift the following entries back instead of
+ * leaving tombstones. {@code null} values are not supported. Not thread-safe.
+ * </p>
+ *
+ * @param <V> the type of the values.
+ */
+final class IntObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Constructs an empty map.
+     *
+     * @param expectedSize the number of entries the map should hold without resizing.
+     */
+    IntObjectMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key.
+     * @return the value, or {@code null} if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates a value with a key.
+     *
+     * @param key the key.
+     * @param value the value, not {@code null}.
+     * @return the previous value of the key, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key.
+     * @return the removed value, or {@code null} if the key was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V removed = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size of the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every value to an action, in no particular order.
+     *
+     * @param action the action.
+     */
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Fills the gap left by a removed entry with the following entries of its probe sequence.
+     *
+     * @param gap the slot of the removed entry.
+     */
+    private void shiftBack(int gap) {
+        for (int slot = (gap + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            int home = slot(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    /**
+     * Doubles the capacity of the map.
+     */
+    private void rehash() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
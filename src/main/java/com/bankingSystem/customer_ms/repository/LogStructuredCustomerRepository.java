@@ -0,0 +1,621 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded {@link CustomerRepository} keeping every customer in memory and persisting them in an append-only log.
+ * <p>
+ * Customers are indexed by ID in an {@link IntObjectMap} and by DNI in a {@link HashMap}. Every write is first
+ * appended to the write-ahead log ({@code customers.wal} in the configured directory) as a checksummed record,
+ * optionally forced to disk, and only then applied to the indexes. At startup the log is replayed; a torn or
+ * corrupt record at its tail (a crash during a write) is logged and cut off. A write that fails while the store
+ * is running is cut off right away, since the replay stops at the first torn record and would drop every record
+ * appended after it; if the log cannot be cut back, the store refuses any further write.
+ * </p>
+ * <p>
+ * Updates and deletes leave stale records in the log. Every compaction interval, once the log holds more than
+ * {@code compactionMinRecords} records and over twice as many records as live customers, it is rewritten with
+ * one record per customer and atomically swapped in. Writes wait during a compaction, reads do not.
+ * </p>
+ * <p>
+ * Like the JPA repository, saving a customer whose DNI belongs to another customer fails with a
+ * {@link DuplicateKeyException}. Writes are applied immediately and are not rolled back with the surrounding
+ * transaction.
+ * </p>
+ * <p>
+ * It also replaces the JPA {@link CustomerSnapshotRepository}, paging through the indexes in ID order, and it
+ * counts the customers per email domain for the {@link LogStructuredCustomerStatsRepository}.
+ * </p>
+ */
+@Slf4j
+public class LogStructuredCustomerRepository extends AbstractCustomerRepository implements CustomerSnapshotRepository, Closeable {
+
+    static final String LOG_FILE = "customers.wal";
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte NEXT_ID = 3;
+    private static final int STREAM_PAGE_SIZE = 1000;
+    private static final Comparator<Customer> BY_ID = Comparator.comparing(Customer::getCustomerId);
+
+    private final Path logFile;
+    private final boolean syncWrites;
+    private final long compactionMinRecords;
+    private final IntObjectMap<Customer> byId = new IntObjectMap<>(1024);
+    private final Map<String, Customer> byDni = new HashMap<>();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final Object writeMonitor = new Object();
+    private final ScheduledExecutorService compactor;
+    private FileChannel channel;
+    private IOException writeFailure;
+    private int nextId = 1;
+    private long logRecords;
+
+    /**
+     * Opens the store, replaying its log, and schedules the compactions.
+     *
+     * @param directory the directory of the log; it is created if needed.
+     * @param syncWrites whether every write is forced to disk before it returns.
+     * @param compactionIntervalMillis the interval between compaction checks.
+     * @param compactionMinRecords the number of log records below which the log is never compacted.
+     * @throws UncheckedIOException if the log cannot be read or opened.
+     */
+    public LogStructuredCustomerRepository(Path directory, boolean syncWrites, long compactionIntervalMillis,
+                                           long compactionMinRecords) {
+        this.logFile = directory.resolve(LOG_FILE);
+        this.syncWrites = syncWrites;
+        this.compactionMinRecords = compactionMinRecords;
+        this.channel = openLog(directory);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded, compactionIntervalMillis, compactionIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Customer> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        indexLock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id)).map(LogStructuredCustomerRepository::copy);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Customer> findByDni(String dni) {
+        indexLock.readLock().lock();
+        try {
+            return Optional.ofNullable(byDni.get(dni)).map(LogStructuredCustomerRepository::copy);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> findExistingDnis(Collection<String> dnis) {
+        indexLock.readLock().lock();
+        try {
+            return dnis.stream().filter(byDni::containsKey).collect(Collectors.toList());
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        List<Customer> customers;
+        indexLock.readLock().lock();
+        try {
+            customers = new ArrayList<>(byId.size());
+            byId.forEachValue(customer -> customers.add(copy(customer)));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        customers.sort(BY_ID);
+        return customers;
+    }
+
+    @Override
+    public long count() {
+        indexLock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the next customers in ID order, after the given ID.
+     * <p>
+     * The index is scanned once, keeping the {@code limit} lowest IDs above {@code afterId} in a bounded heap.
+     * </p>
+     *
+     * @param afterId the ID of the last customer of the previous page, or 0 for the first page.
+     * @param limit the maximum number of customers to return.
+     * @return copies of the customers whose ID is greater than {@code afterId}, in ascending ID order.
+     */
+    @Override
+    public List<Customer> findPageAfter(int afterId, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        PriorityQueue<Customer> page = new PriorityQueue<>(BY_ID.reversed());
+        indexLock.readLock().lock();
+        try {
+            byId.forEachValue(customer -> keepIfInPage(page, customer, afterId, max));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        return page.stream().sorted(BY_ID).map(LogStructuredCustomerRepository::copy).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams every customer in ID order, reading the indexes one page at a time.
+     *
+     * @return a stream of copies of all the customers, in ascending ID order.
+     */
+    @Override
+    public Stream<Customer> streamAllOrderedById() {
+        return Stream.iterate(findPageAfter(0, Limit.of(STREAM_PAGE_SIZE)), page -> !page.isEmpty(),
+                        page -> findPageAfter(page.get(page.size() - 1).getCustomerId(), Limit.of(STREAM_PAGE_SIZE)))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Counts the customers per email domain, the domain being the lower-cased part of the email after the
+     * {@code @}, like in the JPA statistics query.
+     *
+     * @return the number of customers per domain, most used domains first.
+     */
+    public List<EmailDomainCount> countByEmailDomain() {
+        Map<String, Long> customersByDomain = new HashMap<>();
+        indexLock.readLock().lock();
+        try {
+            byId.forEachValue(customer -> customersByDomain.merge(emailDomain(customer.getEmail()), 1L, Long::sum));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        return customersByDomain.entrySet().stream()
+                .map(entry -> new EmailDomainCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(EmailDomainCount::customers).reversed()
+                        .thenComparing(EmailDomainCount::domain, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Appends the customer to the log and stores it; a customer without ID gets the next one.
+     *
+     * @param customer the customer to save.
+     * @param <S> the type of the customer.
+     * @return the same customer, with its ID.
+     * @throws DuplicateKeyException if another customer has the same DNI.
+     */
+    @Override
+    public <S extends Customer> S save(S customer) {
+        synchronized (writeMonitor) {
+            Customer sameDni = byDni.get(customer.getDni());
+            if (sameDni != null && !sameDni.getCustomerId().equals(customer.getCustomerId())) {
+                throw new DuplicateKeyException("A customer with DNI " + customer.getDni() + " already exists.");
+            }
+            Customer stored = customer.toBuilder()
+                    .customerId(customer.getCustomerId() != null ? customer.getCustomerId() : nextId)
+                    .build();
+            append(encode(PUT, stored));
+            apply(stored);
+            customer.setCustomerId(stored.getCustomerId());
+            return customer;
+        }
+    }
+
+    @Override
+    public void delete(Customer customer) {
+        deleteById(customer.getCustomerId());
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        synchronized (writeMonitor) {
+            if (id != null && byId.get(id) != null) {
+                append(encode(DELETE, Customer.builder().customerId(id).build()));
+                applyDelete(id);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the log when it holds more than twice as many records as live customers.
+     */
+    public void compactIfNeeded() {
+        try {
+            synchronized (writeMonitor) {
+                if (logRecords > compactionMinRecords && logRecords > 2L * byId.size()) {
+                    compact();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Customer log compaction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the log with one record per live customer and swaps it in atomically.
+     * <p>
+     * Writes wait on the write monitor meanwhile, so the indexes cannot change and are read without the index
+     * lock: reads keep being served.
+     * </p>
+     */
+    void compact() {
+        synchronized (writeMonitor) {
+            swapInCompactedLog();
+        }
+    }
+
+    /**
+     * Writes the compacted log next to the current one and replaces it.
+     */
+    private void swapInCompactedLog() {
+        long before = logRecords;
+        Path compacted = logFile.resolveSibling(LOG_FILE + ".compacting");
+        try {
+            long records = writeCompacted(compacted);
+            Files.move(compacted, logFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel.close();
+            channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            logRecords = records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact the customer log " + logFile, e);
+        }
+        log.info("Customer log compacted from {} to {} records", before, logRecords);
+    }
+
+    /**
+     * Writes the compacted log: the next ID, then one record per live customer.
+     *
+     * @param compacted the file to write.
+     * @return the number of records written.
+     * @throws IOException if the file cannot be written.
+     */
+    private long writeCompacted(Path compacted) throws IOException {
+        List<byte[]> records = new ArrayList<>(byId.size() + 1);
+        records.add(encode(NEXT_ID, Customer.builder().customerId(nextId).build()));
+        byId.forEachValue(customer -> records.add(encode(PUT, customer)));
+        try (FileChannel output = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (byte[] record : records) {
+                output.write(ByteBuffer.wrap(record));
+            }
+            output.force(true);
+        }
+        return records.size();
+    }
+
+    /**
+     * Stops the compactions and closes the log.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdownNow();
+        synchronized (writeMonitor) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Replays the log into the indexes and opens it for appending after its last valid record.
+     *
+     * @param directory the directory of the log.
+     * @return the channel appending to the log.
+     * @throws UncheckedIOException if the log cannot be read or opened.
+     */
+    private FileChannel openLog(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            long length = Files.exists(logFile) ? Files.size(logFile) : 0;
+            long validLength = length > 0 ? replay() : 0;
+            if (validLength < length) {
+                log.warn("Customer log {} has a torn or corrupt tail after {} bytes; it is discarded", logFile, validLength);
+            }
+            FileChannel opened = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            return opened.truncate(validLength).position(validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the customer log " + logFile, e);
+        }
+    }
+
+    /**
+     * Replays the log into the indexes, up to the end of the log or to its first torn or corrupt record.
+     *
+     * @return the length of the valid part of the log.
+     * @throws IOException if the log cannot be read.
+     */
+    private long replay() throws IOException {
+        long validLength = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile), 1 << 16))) {
+            byte[] payload;
+            while ((payload = readRecord(input)) != null) {
+                replayRecord(payload);
+                validLength += Integer.BYTES * 2 + payload.length;
+                logRecords++;
+            }
+        }
+        return validLength;
+    }
+
+    /**
+     * Reads the next record of the log.
+     *
+     * @param input the log.
+     * @return the payload of the record, or {@code null} at the end of the log or at a torn or corrupt record.
+     * @throws IOException if the log cannot be read.
+     */
+    private static byte[] readRecord(DataInputStream input) throws IOException {
+        try {
+            int length = input.readInt();
+            int checksum = input.readInt();
+            if (length <= 0 || length > 1 << 20) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+            return checksum(payload) == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies one log record to the indexes.
+     *
+     * @param payload the payload of the record.
+     * @throws IOException if the payload cannot be decoded.
+     */
+    private void replayRecord(byte[] payload) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = input.readByte();
+        int id = input.readInt();
+        if (type == PUT) {
+            apply(new Customer(id, readString(input), readString(input), readString(input), readString(input)));
+        } else if (type == DELETE) {
+            applyDelete(id);
+        } else if (type == NEXT_ID) {
+            nextId = Math.max(nextId, id);
+        } else {
+            throw new IOException("Unknown customer log record type " + type);
+        }
+    }
+
+    /**
+     * Stores a customer in the indexes, replacing its previous version.
+     *
+     * @param customer the customer to store.
+     */
+    private void apply(Customer customer) {
+        indexLock.writeLock().lock();
+        try {
+            Customer previous = byId.put(customer.getCustomerId(), customer);
+            if (previous != null) {
+                byDni.remove(previous.getDni());
+            }
+            byDni.put(customer.getDni(), customer);
+            nextId = Math.max(nextId, customer.getCustomerId() + 1);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a customer from the indexes.
+     *
+     * @param id the ID of the customer.
+     */
+    private void applyDelete(int id) {
+        indexLock.writeLock().lock();
+        try {
+            Customer removed = byId.remove(id);
+            if (removed != null) {
+                byDni.remove(removed.getDni());
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a record to the log, forcing it to disk when writes are synchronous.
+     * <p>
+     * If the write fails, the log is cut back to its length before the record.
+     * </p>
+     *
+     * @param record the encoded record.
+     * @throws UncheckedIOException if the record cannot be written, or the log is unusable after a failed write.
+     */
+    private void append(byte[] record) {
+        if (writeFailure != null) {
+            throw new UncheckedIOException("The customer log " + logFile + " could not be repaired after a failed write",
+                    writeFailure);
+        }
+        long length = -1;
+        try {
+            length = channel.size();
+            write(record);
+            logRecords++;
+        } catch (IOException e) {
+            cutBack(length, e);
+            throw new UncheckedIOException("Could not append to the customer log " + logFile, e);
+        }
+    }
+
+    /**
+     * Writes a record at the end of the log, forcing it to disk when writes are synchronous.
+     *
+     * @param record the encoded record.
+     * @throws IOException if the record cannot be written.
+     */
+    private void write(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncWrites) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Truncates the log to its length before a failed append, or makes the store refuse writes if it cannot.
+     *
+     * @param length the length of the log before the append, or -1 if it failed before writing anything.
+     * @param failure the failure of the append.
+     */
+    private void cutBack(long length, IOException failure) {
+        if (length < 0) {
+            return;
+        }
+        try {
+            channel.truncate(length);
+            if (syncWrites) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            writeFailure = failure;
+            log.error("Customer log {} could not be truncated after a failed write; further writes are refused", logFile, e);
+        }
+    }
+
+    /**
+     * Encodes a log record: payload length, CRC32 of the payload, then the payload (type, ID and, for
+     * {@code PUT} records, the four fields of the customer).
+     *
+     * @param type the type of the record.
+     * @param customer the customer of the record.
+     * @return the encoded record.
+     */
+    private static byte[] encode(byte type, Customer customer) {
+        byte[] payload = encodePayload(type, customer);
+        return ByteBuffer.allocate(Integer.BYTES * 2 + payload.length)
+                .putInt(payload.length).putInt(checksum(payload)).put(payload).array();
+    }
+
+    private static byte[] encodePayload(byte type, Customer customer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream payload = new DataOutputStream(bytes);
+            payload.writeByte(type);
+            payload.writeInt(customer.getCustomerId());
+            if (type == PUT) {
+                writeFields(payload, customer);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFields(DataOutputStream output, Customer customer) throws IOException {
+        writeString(output, customer.getFirstName());
+        writeString(output, customer.getLastName());
+        writeString(output, customer.getDni());
+        writeString(output, customer.getEmail());
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Adds a customer to a page being collected if its ID follows the page start, dropping the highest ID once
+     * the page is over its limit.
+     *
+     * @param page the heap of the page, highest ID first.
+     * @param customer the customer.
+     * @param afterId the ID the page starts after.
+     * @param max the maximum size of the page.
+     */
+    private static void keepIfInPage(PriorityQueue<Customer> page, Customer customer, int afterId, int max) {
+        if (customer.getCustomerId() > afterId) {
+            page.add(customer);
+            if (page.size() > max) {
+                page.poll();
+            }
+        }
+    }
+
+    /**
+     * Returns the domain of an email: its lower-cased part after the {@code @}, or the whole email without one.
+     *
+     * @param email the email, possibly {@code null}.
+     * @return the domain, or {@code null} without email.
+     */
+    private static String emailDomain(String email) {
+        return email == null ? null : email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Copies a customer, so callers never modify the stored instances.
+     *
+     * @param customer the customer to copy.
+     * @return the copy.
+     */
+    private static Customer copy(Customer customer) {
+        return customer.toBuilder().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.CreationBucket;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link CustomerStatsRepository} counting the customers held by a {@link LogStructuredCustomerRepository}.
+ * <p>
+ * The customer counts are computed from the in-memory indexes of the store, while the creation buckets are
+ * still read from the change log, which stays on the configured datasource.
+ * </p>
+ */
+public class LogStructuredCustomerStatsRepository implements CustomerStatsRepository {
+
+    private final LogStructuredCustomerRepository customers;
+    private final CustomerStatsRepository changeLog;
+
+    /**
+     * Constructs a new instance of {@link LogStructuredCustomerStatsRepository}.
+     *
+     * @param customers the log-structured customer store.
+     * @param changeLog the repository of the configured datasource, reading the change log.
+     */
+    public LogStructuredCustomerStatsRepository(LogStructuredCustomerRepository customers, CustomerStatsRepository changeLog) {
+        this.customers = customers;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public long countCustomers() {
+        return customers.count();
+    }
+
+    @Override
+    public List<EmailDomainCount> countByEmailDomain() {
+        return customers.countByEmailDomain();
+    }
+
+    @Override
+    public List<CreationBucket> countChangesPerDay(CustomerChangeType type, LocalDateTime since) {
+        return changeLog.countChangesPerDay(type, since);
+    }
+}
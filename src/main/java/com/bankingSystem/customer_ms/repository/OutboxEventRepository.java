@@ -0,0 +1,27 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing the {@link OutboxEvent} entities of the transactional outbox.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the oldest pending events and locks them until the end of the current transaction.
+     * <p>
+     * The lock keeps concurrent relays from delivering the same events, or delivering them out of order.
+     * </p>
+     *
+     * @param pageable the maximum number of events to return.
+     * @return the oldest pending events, in write order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
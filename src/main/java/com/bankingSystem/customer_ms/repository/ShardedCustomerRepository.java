@@ -0,0 +1,468 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * {@link CustomerRepository} spreading customers across several databases (shards) by a hash of their DNI.
+ * <p>
+ * Every shard holds a {@code customer} table with its own auto-incremented IDs. The IDs handed out by this
+ * repository are global: {@code localId * shardCount + shard}, so the shard of a customer is encoded in its
+ * ID and {@link #findById(Integer)} goes straight to one shard. Since the shard is chosen by the DNI,
+ * {@link #findByDni(String)} also reads a single shard, which keeps the DNI uniqueness check of the validator
+ * exact and cheap. Listing operations scatter the query to all shards in parallel and merge the results by ID.
+ * </p>
+ * <p>
+ * The repository also serves the reads of the whole customer table that go around {@link CustomerRepository}:
+ * as a {@link CustomerSnapshotRepository}, it pages through the customers of all shards in global ID order, and
+ * it counts the customers per email domain for the {@link ShardedCustomerStatsRepository}.
+ * </p>
+ * <p>
+ * Customer rows written inside a transaction of the primary database are written on a connection of their shard
+ * enlisted in that transaction: the shard commits right after the primary database commits, and rolls back if
+ * the primary transaction rolls back or its commit fails, so a customer row never outlives the outbox and change
+ * log rows written with it. Only a shard failing to commit after the primary database committed (its statements
+ * having already succeeded) leaves a change without its customer row; it is logged as an error. Outside a
+ * transaction, rows are written with auto-committed statements. Customers are deleted outright rather than
+ * soft-deleted, so there is nothing for the customer purger to remove. The DNI of an existing customer can only be
+ * changed to a DNI of the same shard. A global ID that would not fit in an {@code int} fails the operation instead
+ * of wrapping around.
+ * </p>
+ */
+@Slf4j
+public class ShardedCustomerRepository extends AbstractCustomerRepository implements CustomerSnapshotRepository, Closeable {
+
+    private static final String SELECT = "SELECT id, first_name, last_name, dni, email FROM customer";
+    private static final String EMAIL_DOMAIN = "LOWER(SUBSTRING(email, LOCATE('@', email) + 1))";
+    private static final int STREAM_PAGE_SIZE = 1000;
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final ExecutorService scatterExecutor;
+    private final Object transactionKey = new Object();
+
+    /**
+     * Constructs a new instance of {@link ShardedCustomerRepository}.
+     *
+     * @param dataSources the shard databases; their order defines the shard numbers and must never change.
+     */
+    public ShardedCustomerRepository(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).collect(Collectors.toList());
+        this.scatterExecutor = Executors.newFixedThreadPool(dataSources.size(), runnable -> {
+            Thread thread = new Thread(runnable, "customer-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Computes the shard a DNI belongs to.
+     *
+     * @param dni the DNI of the customer.
+     * @return the shard number.
+     */
+    public int shardOfDni(String dni) {
+        CRC32 crc = new CRC32();
+        crc.update(dni.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shards.size());
+    }
+
+    /**
+     * Extracts the shard encoded in a global customer ID.
+     *
+     * @param id the global ID of the customer.
+     * @return the shard number.
+     */
+    public int shardOfId(Integer id) {
+        return Math.floorMod(id, shards.size());
+    }
+
+    @Override
+    public Optional<Customer> findById(Integer id) {
+        if (id == null || id < 0) {
+            return Optional.empty();
+        }
+        int shard = shardOfId(id);
+        return shards.get(shard).query(SELECT + " WHERE id = ?", rowMapper(shard), localId(id)).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Customer> findByDni(String dni) {
+        if (dni == null) {
+            return Optional.empty();
+        }
+        int shard = shardOfDni(dni);
+        return shards.get(shard).query(SELECT + " WHERE dni = ?", rowMapper(shard), dni).stream().findFirst();
+    }
+
+    @Override
+    public List<String> findExistingDnis(Collection<String> dnis) {
+        Map<Integer, List<String>> dnisByShard = dnis.stream().collect(Collectors.groupingBy(this::shardOfDni));
+        return scatter(shard -> findDnis(shard, dnisByShard.getOrDefault(shard, List.of())))
+                .stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        return merge(scatter(shard -> shards.get(shard).query(SELECT, rowMapper(shard))));
+    }
+
+    @Override
+    public List<Customer> findAllById(Iterable<Integer> ids) {
+        Map<Integer, List<Integer>> localIdsByShard = StreamSupport.stream(ids.spliterator(), false)
+                .filter(id -> id != null && id >= 0)
+                .collect(Collectors.groupingBy(this::shardOfId, Collectors.mapping(this::localId, Collectors.toList())));
+        return merge(scatter(shard -> findByLocalIds(shard, localIdsByShard.getOrDefault(shard, List.of()))));
+    }
+
+    @Override
+    public long count() {
+        return scatter(shard -> shards.get(shard).queryForObject("SELECT COUNT(*) FROM customer", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Finds the next customers in global ID order, after the given ID.
+     * <p>
+     * Every shard returns its first customers after the ID, at most {@code limit} of them, and the merged pages
+     * are cut to the limit.
+     * </p>
+     *
+     * @param afterId the global ID of the last customer of the previous page, or 0 for the first page.
+     * @param limit the maximum number of customers to return.
+     * @return the customers whose global ID is greater than {@code afterId}, in ascending ID order.
+     */
+    @Override
+    public List<Customer> findPageAfter(int afterId, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<Customer> merged = merge(scatter(shard -> shards.get(shard).query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?",
+                rowMapper(shard), Math.floorDiv(afterId - shard, shards.size()), max)));
+        return merged.size() > max ? merged.subList(0, max) : merged;
+    }
+
+    /**
+     * Streams every customer in global ID order, reading the shards one page at a time.
+     *
+     * @return a stream of all the customers, in ascending ID order.
+     */
+    @Override
+    public Stream<Customer> streamAllOrderedById() {
+        return Stream.iterate(findPageAfter(0, Limit.of(STREAM_PAGE_SIZE)), page -> !page.isEmpty(),
+                        page -> findPageAfter(page.get(page.size() - 1).getCustomerId(), Limit.of(STREAM_PAGE_SIZE)))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Counts the customers of all shards per email domain.
+     *
+     * @return the number of customers per domain, most used domains first.
+     */
+    public List<EmailDomainCount> countByEmailDomain() {
+        Map<String, Long> customersByDomain = new HashMap<>();
+        scatter(shard -> shards.get(shard).query("SELECT " + EMAIL_DOMAIN + " AS domain, COUNT(*) AS customers "
+                        + "FROM customer GROUP BY " + EMAIL_DOMAIN,
+                (resultSet, rowNum) -> new EmailDomainCount(resultSet.getString("domain"), resultSet.getLong("customers"))))
+                .forEach(counts -> counts.forEach(count -> customersByDomain.merge(count.domain(), count.customers(), Long::sum)));
+        return customersByDomain.entrySet().stream()
+                .map(entry -> new EmailDomainCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(EmailDomainCount::customers).reversed()
+                        .thenComparing(EmailDomainCount::domain))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public <S extends Customer> S save(S customer) {
+        if (customer.getCustomerId() == null) {
+            return insert(customer);
+        }
+        int shard = shardOfId(customer.getCustomerId());
+        if (customer.getDni() != null && shardOfDni(customer.getDni()) != shard) {
+            throw new BusinessException(ErrorCode.CONFLICT, "The DNI of an existing customer cannot be changed to a DNI stored on another shard.");
+        }
+        writer(shard).update("UPDATE customer SET first_name = ?, last_name = ?, dni = ?, email = ? WHERE id = ?",
+                customer.getFirstName(), customer.getLastName(), customer.getDni(), customer.getEmail(),
+                localId(customer.getCustomerId()));
+        return customer;
+    }
+
+    @Override
+    public void delete(Customer customer) {
+        deleteById(customer.getCustomerId());
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        if (id != null && id >= 0) {
+            writer(shardOfId(id)).update("DELETE FROM customer WHERE id = ?", localId(id));
+        }
+    }
+
+    /**
+     * Stops the scatter threads and closes the shard connection pools.
+     *
+     * @throws IOException if a pool cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        scatterExecutor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Inserts a new customer in the shard of its DNI and assigns its global ID.
+     *
+     * @param customer the customer to insert.
+     * @param <S> the type of the customer.
+     * @return the inserted customer, with its global ID.
+     */
+    private <S extends Customer> S insert(S customer) {
+        int shard = shardOfDni(customer.getDni());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        writer(shard).update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO customer (first_name, last_name, dni, email) VALUES (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, customer.getFirstName());
+            statement.setString(2, customer.getLastName());
+            statement.setString(3, customer.getDni());
+            statement.setString(4, customer.getEmail());
+            return statement;
+        }, keyHolder);
+        customer.setCustomerId(globalId(keyHolder.getKeyAs(Number.class).intValue(), shard));
+        return customer;
+    }
+
+    /**
+     * Returns the template writing to a shard: inside a transaction, one bound to a connection of the shard enlisted
+     * in it; outside, the pooled template of the shard, whose statements commit on their own.
+     *
+     * @param shard the shard number.
+     * @return the template to write with.
+     */
+    private JdbcTemplate writer(int shard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return shards.get(shard);
+        }
+        ShardTransaction transaction = (ShardTransaction) TransactionSynchronizationManager.getResource(transactionKey);
+        if (transaction == null) {
+            transaction = new ShardTransaction();
+            TransactionSynchronizationManager.bindResource(transactionKey, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction.writer(shard);
+    }
+
+    /**
+     * Finds the customers of one shard by their local IDs, with a single query.
+     *
+     * @param shard the shard number.
+     * @param localIds the local IDs of the customers.
+     * @return the customers found.
+     */
+    private List<Customer> findByLocalIds(int shard, Collection<Integer> localIds) {
+        if (localIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = localIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        return shards.get(shard).query(SELECT + " WHERE id IN (" + placeholders + ")", rowMapper(shard), localIds.toArray());
+    }
+
+    /**
+     * Finds which of the given DNIs exist on one shard, with a single query.
+     *
+     * @param shard the shard number.
+     * @param dnis the DNIs of the shard.
+     * @return the DNIs found.
+     */
+    private List<String> findDnis(int shard, Collection<String> dnis) {
+        if (dnis.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = dnis.stream().map(dni -> "?").collect(Collectors.joining(", "));
+        return shards.get(shard).queryForList("SELECT dni FROM customer WHERE dni IN (" + placeholders + ")",
+                String.class, dnis.toArray());
+    }
+
+    /**
+     * Runs a query on every shard in parallel.
+     *
+     * @param query the query to run, given the shard number.
+     * @param <T> the type of the result of each shard.
+     * @return the results, in shard order.
+     */
+    private <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), scatterExecutor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Merges the customers returned by several shards, ordered by global ID.
+     *
+     * @param results the customers of each shard.
+     * @return the merged customers.
+     */
+    private List<Customer> merge(List<List<Customer>> results) {
+        List<Customer> merged = new ArrayList<>();
+        results.forEach(merged::addAll);
+        merged.sort(Comparator.comparing(Customer::getCustomerId));
+        return merged;
+    }
+
+    /**
+     * Creates the row mapper of a shard, translating local IDs into global IDs.
+     *
+     * @param shard the shard number.
+     * @return the row mapper.
+     */
+    private RowMapper<Customer> rowMapper(int shard) {
+        return (resultSet, rowNum) -> Customer.builder()
+                .customerId(globalId(resultSet.getInt("id"), shard))
+                .firstName(resultSet.getString("first_name"))
+                .lastName(resultSet.getString("last_name"))
+                .dni(resultSet.getString("dni"))
+                .email(resultSet.getString("email"))
+                .build();
+    }
+
+    /**
+     * Translates the ID of a customer on its shard into its global ID.
+     *
+     * @param localId the ID of the customer on its shard.
+     * @param shard the shard number.
+     * @return the global ID.
+     * @throws IllegalStateException if the global ID does not fit in an {@code int}.
+     */
+    private int globalId(int localId, int shard) {
+        try {
+            return Math.addExact(Math.multiplyExact(localId, shards.size()), shard);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("Customer " + localId + " of shard " + shard + " has no global ID in the int range", e);
+        }
+    }
+
+    private int localId(int globalId) {
+        return globalId / shards.size();
+    }
+
+    /**
+     * Connections of the shards written by the current transaction of the primary database, committed or rolled
+     * back once it completes.
+     */
+    private final class ShardTransaction implements TransactionSynchronization {
+
+        private final Map<Integer, Connection> connections = new HashMap<>();
+        private final Map<Integer, JdbcTemplate> writers = new HashMap<>();
+
+        /**
+         * Returns the template writing to a shard on the connection enlisted for it, opening that connection on
+         * the first write.
+         *
+         * @param shard the shard number.
+         * @return the template bound to the connection of the shard.
+         */
+        JdbcTemplate writer(int shard) {
+            return writers.computeIfAbsent(shard, this::begin);
+        }
+
+        /**
+         * Opens a connection to a shard with auto-commit disabled.
+         *
+         * @param shard the shard number.
+         * @return a template bound to the connection.
+         * @throws CannotGetJdbcConnectionException if the connection cannot be opened.
+         */
+        private JdbcTemplate begin(int shard) {
+            try {
+                Connection connection = dataSources.get(shard).getConnection();
+                connections.put(shard, connection);
+                connection.setAutoCommit(false);
+                return new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            } catch (SQLException e) {
+                throw new CannotGetJdbcConnectionException("Could not begin a transaction on shard " + shard, e);
+            }
+        }
+
+        /**
+         * Commits the shards if the primary database committed, and rolls them back otherwise, including when the
+         * outcome of its commit is unknown.
+         *
+         * @param status the completion status of the primary transaction.
+         */
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+            connections.forEach((shard, connection) -> complete(shard, connection, status == STATUS_COMMITTED));
+        }
+
+        /**
+         * Commits or rolls back the connection of a shard and returns it to its pool.
+         *
+         * @param shard the shard number.
+         * @param connection the connection of the shard.
+         * @param commit whether to commit.
+         */
+        private void complete(int shard, Connection connection, boolean commit) {
+            try (connection) {
+                if (commit) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.error("Shard {} failed to {} after the primary transaction completed", shard,
+                        commit ? "commit" : "roll back", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.CreationBucket;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link CustomerStatsRepository} counting the customers stored on the shards of a {@link ShardedCustomerRepository}.
+ * <p>
+ * The customer counts are gathered from every shard, while the creation buckets are still read from the change
+ * log, which stays on the primary database.
+ * </p>
+ */
+public class ShardedCustomerStatsRepository implements CustomerStatsRepository {
+
+    private final ShardedCustomerRepository customers;
+    private final CustomerStatsRepository changeLog;
+
+    /**
+     * Constructs a new instance of {@link ShardedCustomerStatsRepository}.
+     *
+     * @param customers the repository of the sharded customers.
+     * @param changeLog the repository of the primary database, reading the change log.
+     */
+    public ShardedCustomerStatsRepository(ShardedCustomerRepository customers, CustomerStatsRepository changeLog) {
+        this.customers = customers;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public long countCustomers() {
+        return customers.count();
+    }
+
+    @Override
+    public List<EmailDomainCount> countByEmailDomain() {
+        return customers.countByEmailDomain();
+    }
+
+    @Override
+    public List<CreationBucket> countChangesPerDay(CustomerChangeType type, LocalDateTime since) {
+        return changeLog.countChangesPerDay(type, since);
+    }
+}
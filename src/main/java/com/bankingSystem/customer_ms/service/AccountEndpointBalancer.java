@@ -0,0 +1,221 @@
+package com.bankingSystem.customer_ms.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-side load balancer over the instances of the bank account service.
+ * <p>
+ * Each call goes to the available instance with the fewest requests in flight, ties being broken in
+ * round-robin order. An instance that fails {@code bankaccount.ms.ejection.consecutive-failures} calls in a row
+ * (connection errors, timeouts or 5xx responses) is ejected for {@code bankaccount.ms.ejection.duration-ms}
+ * and then receives traffic again. When every instance is ejected, the one whose ejection ends first is used,
+ * so calls keep being attempted instead of failing without a request.
+ * </p>
+ * <p>
+ * The balancer also keeps the latency of the recent successful calls, from which
+ * {@link BankAccountService} derives the delay after which it hedges a slow call.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AccountEndpointBalancer {
+
+    private static final int LATENCY_WINDOW = 256;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final double hedgePercentile;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long latencyCount;
+
+    /**
+     * Constructs a new instance of {@link AccountEndpointBalancer}.
+     *
+     * @param baseUrls the base URLs of the bank account service instances.
+     * @param failureThreshold the number of consecutive failures after which an instance is ejected.
+     * @param ejectionMillis how long an ejected instance receives no traffic.
+     * @param hedgePercentile the latency percentile, between 0 and 1, used as the hedging delay.
+     */
+    public AccountEndpointBalancer(@Value("${bankaccount.ms.url}") List<String> baseUrls,
+                                   @Value("${bankaccount.ms.ejection.consecutive-failures:3}") int failureThreshold,
+                                   @Value("${bankaccount.ms.ejection.duration-ms:10000}") long ejectionMillis,
+                                   @Value("${bankaccount.ms.hedge.percentile:0.95}") double hedgePercentile) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one bank account service URL is required.");
+        }
+        this.endpoints = baseUrls.stream().map(String::strip).map(Endpoint::new).toList();
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * Picks the instance for a call and counts the call as in flight on it.
+     *
+     * @param excluded an instance that must not be picked, such as the one a hedged call is already running on,
+     *                 or {@code null}.
+     * @return the instance, or {@code null} if {@code excluded} is the only instance.
+     */
+    public Endpoint acquire(Endpoint excluded) {
+        Endpoint available = leastOutstanding(excluded);
+        Endpoint chosen = available != null ? available : soonestReadmitted(excluded);
+        if (chosen != null) {
+            chosen.outstanding.incrementAndGet();
+        }
+        return chosen;
+    }
+
+    /**
+     * Ends a call acquired with {@link #acquire(Endpoint)}, updating the health of the instance.
+     *
+     * @param endpoint the instance the call ran on.
+     * @param healthy whether the instance answered properly; client errors (4xx) count as healthy.
+     * @param latencyNanos the duration of the call.
+     */
+    public void release(Endpoint endpoint, boolean healthy, long latencyNanos) {
+        endpoint.outstanding.decrementAndGet();
+        if (healthy) {
+            endpoint.consecutiveFailures.set(0);
+            recordLatency(latencyNanos);
+        } else if (endpoint.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            endpoint.consecutiveFailures.set(0);
+            endpoint.ejectedUntil = System.nanoTime() + ejectionNanos;
+            log.warn("Bank account service instance {} ejected for {} ms after {} consecutive failures",
+                    endpoint.getBaseUrl(), TimeUnit.NANOSECONDS.toMillis(ejectionNanos), failureThreshold);
+        }
+    }
+
+    /**
+     * Ends a call acquired with {@link #acquire(Endpoint)} that was never sent, leaving the health of the
+     * instance unchanged.
+     *
+     * @param endpoint the instance the call was meant for.
+     */
+    public void cancel(Endpoint endpoint) {
+        endpoint.outstanding.decrementAndGet();
+    }
+
+    /**
+     * Returns the delay after which a call still running should be hedged on another instance.
+     *
+     * @return the configured percentile of the recent latencies in milliseconds, or {@code -1} while too few
+     *         calls have completed to estimate it.
+     */
+    public long hedgeDelayMillis() {
+        long[] sorted;
+        synchronized (latencies) {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_WINDOW));
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(hedgePercentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    /**
+     * Returns the instances of the bank account service.
+     *
+     * @return the instances, in configuration order.
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_WINDOW)] = latencyNanos;
+        }
+    }
+
+    /**
+     * Picks the available instance with the fewest calls in flight, starting from the next instance in
+     * round-robin order so that ties are spread.
+     *
+     * @param excluded an instance that must not be picked, or {@code null}.
+     * @return the instance, or {@code null} if no other instance is available.
+     */
+    private Endpoint leastOutstanding(Endpoint excluded) {
+        long now = System.nanoTime();
+        int start = Math.floorMod(next.getAndIncrement(), endpoints.size());
+        Endpoint best = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint candidate = endpoints.get((start + i) % endpoints.size());
+            if (candidate != excluded && !candidate.isEjected(now)
+                    && (best == null || candidate.getOutstanding() < best.getOutstanding())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Picks the ejected instance that receives traffic again first, when every instance is ejected.
+     *
+     * @param excluded an instance that must not be picked, or {@code null}.
+     * @return the instance, or {@code null} if {@code excluded} is the only instance.
+     */
+    private Endpoint soonestReadmitted(Endpoint excluded) {
+        Endpoint soonest = null;
+        for (Endpoint candidate : endpoints) {
+            if (candidate != excluded && (soonest == null || candidate.ejectedUntil - soonest.ejectedUntil < 0)) {
+                soonest = candidate;
+            }
+        }
+        return soonest;
+    }
+
+    /**
+     * An instance of the bank account service, with its requests in flight and its health.
+     */
+    public static final class Endpoint {
+
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long ejectedUntil = System.nanoTime();
+
+        private Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+
+        /**
+         * Returns the base URL of the instance, without a trailing slash.
+         *
+         * @return the base URL.
+         */
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        /**
+         * Returns the number of calls in flight on the instance.
+         *
+         * @return the number of outstanding calls.
+         */
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        /**
+         * Tells whether the instance is ejected at the given time.
+         *
+         * @param now the current {@link System#nanoTime()}.
+         * @return {@code true} if the instance receives no traffic.
+         */
+        public boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+    }
+}
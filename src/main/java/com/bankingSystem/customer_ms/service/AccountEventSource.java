@@ -0,0 +1,35 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.AccountEvent;
+
+import java.util.List;
+
+/**
+ * Origin of the account events that feed the {@link AccountStatusProjection}.
+ * <p>
+ * Events must carry IDs that increase in publication order. Delivery may be at-least-once: the projection
+ * ignores the events it has already applied.
+ * </p>
+ */
+public interface AccountEventSource {
+
+    /**
+     * Reads the events published after the given one.
+     *
+     * @param afterEventId the ID of the last event already applied, or 0 to read from the beginning.
+     * @param maxEvents the maximum number of events to return.
+     * @return the events whose ID is greater than {@code afterEventId}, in publication order.
+     */
+    List<AccountEvent> readAfter(long afterEventId, int maxEvents);
+
+    /**
+     * Tells whether reading from the beginning returns every event ever published, so that a customer whose
+     * first event is an opened account had no account before it. Sources with a limited retention return
+     * {@code false}.
+     *
+     * @return {@code true} if the source keeps the whole history.
+     */
+    default boolean retainsFullHistory() {
+        return true;
+    }
+}
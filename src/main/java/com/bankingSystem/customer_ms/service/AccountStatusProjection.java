@@ -0,0 +1,227 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.AccountEvent;
+import com.bankingSystem.customer_ms.model.AccountEventType;
+import com.bankingSystem.customer_ms.model.AccountStatus;
+import com.bankingSystem.customer_ms.repository.AccountStatusRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining a local projection of the active bank accounts of each customer.
+ * <p>
+ * Account opened and closed events are polled from the {@link AccountEventSource} every
+ * {@code customer.account-status.poll-interval-ms} and applied to the {@code account_status} table, a batch per
+ * transaction. Deleting a customer consults the projection instead of calling the bank account service. The
+ * projection answers only while it is fresh, that is while the last successful poll is less than
+ * {@code customer.account-status.max-staleness-ms} old, and only for customers whose whole history it has
+ * applied; otherwise {@link #hasActiveAccounts(Integer)} returns an empty {@link Optional} and the caller falls
+ * back to the remote check.
+ * </p>
+ * <p>
+ * The history of a customer is complete when its row was created by an opened account event of a source that
+ * {@linkplain AccountEventSource#retainsFullHistory() retains every event}. A row first seen closing an account,
+ * or whose count would go negative, has missed events: its count is not clamped but the row is flagged as
+ * incomplete for good, so the deletes of that customer keep asking the bank account service.
+ * </p>
+ * <p>
+ * The {@code customer.account-status.lookups} counter records the lookups with the {@code result} tag
+ * {@code hit}, {@code missing} (no event for the customer), {@code incomplete} or {@code stale}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class AccountStatusProjection {
+
+    private final AccountStatusRepository accountStatusRepository;
+    private final AccountEventSource accountEventSource;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long maxStalenessNanos;
+    private final Counter hits;
+    private final Counter missing;
+    private final Counter incomplete;
+    private final Counter stale;
+    private long watermark = -1;
+    private volatile long syncedAt;
+    private volatile boolean synced;
+
+    /**
+     * Constructs a new instance of {@link AccountStatusProjection}.
+     *
+     * @param accountStatusRepository the repository of the projection.
+     * @param accountEventSource the source of the account events.
+     * @param transactionTemplate the template used to apply each batch in its own transaction.
+     * @param meterRegistry the registry where the lookup counters are published.
+     * @param batchSize the maximum number of events applied per transaction.
+     * @param maxStalenessMillis how long after the last successful poll the projection is still trusted.
+     */
+    public AccountStatusProjection(AccountStatusRepository accountStatusRepository,
+                                   AccountEventSource accountEventSource,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${customer.account-status.batch-size:500}") int batchSize,
+                                   @Value("${customer.account-status.max-staleness-ms:5000}") long maxStalenessMillis) {
+        this.accountStatusRepository = accountStatusRepository;
+        this.accountEventSource = accountEventSource;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.hits = lookups(meterRegistry, "hit");
+        this.missing = lookups(meterRegistry, "missing");
+        this.incomplete = lookups(meterRegistry, "incomplete");
+        this.stale = lookups(meterRegistry, "stale");
+    }
+
+    /**
+     * Tells whether a customer has active accounts, according to the projection.
+     *
+     * @param customerId the ID of the customer.
+     * @return an {@link Optional} with the answer, or an empty {@link Optional} if the projection is stale or
+     *         does not have the whole history of the customer.
+     */
+    public Optional<Boolean> hasActiveAccounts(Integer customerId) {
+        if (!isFresh()) {
+            stale.increment();
+            return Optional.empty();
+        }
+        Optional<AccountStatus> row = accountStatusRepository.findById(customerId);
+        if (row.isEmpty() || !row.get().isHistoryComplete()) {
+            (row.isEmpty() ? missing : incomplete).increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(row.get().getActiveAccounts() > 0);
+    }
+
+    /**
+     * Tells whether the last successful poll is recent enough for the projection to be trusted.
+     *
+     * @return {@code true} if the projection is fresh.
+     */
+    public boolean isFresh() {
+        return synced && System.nanoTime() - syncedAt <= maxStalenessNanos;
+    }
+
+    /**
+     * Applies the events published since the last poll, until the source has no more.
+     *
+     * @return the number of events read.
+     */
+    @Scheduled(fixedDelayString = "${customer.account-status.poll-interval-ms:500}")
+    public synchronized int poll() {
+        try {
+            int read = applyPending();
+            syncedAt = System.nanoTime();
+            synced = true;
+            return read;
+        } catch (RuntimeException e) {
+            log.warn("Account status projection could not apply the account events, will retry: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Applies batches of events until a batch comes back incomplete.
+     *
+     * @return the number of events read.
+     */
+    private int applyPending() {
+        if (watermark < 0) {
+            watermark = accountStatusRepository.findMaxEventId();
+        }
+        int read = 0;
+        int batch;
+        do {
+            batch = applyBatch();
+            read += batch;
+        } while (batch == batchSize);
+        return read;
+    }
+
+    /**
+     * Reads one batch of events and applies it in a single transaction.
+     *
+     * @return the number of events read.
+     */
+    int applyBatch() {
+        List<AccountEvent> events = accountEventSource.readAfter(watermark, batchSize);
+        if (!events.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> apply(events));
+            watermark = events.get(events.size() - 1).id();
+        }
+        return events.size();
+    }
+
+    /**
+     * Applies events to the rows of their customers, skipping those each row has already applied.
+     *
+     * @param events the events, in publication order.
+     */
+    private void apply(List<AccountEvent> events) {
+        Map<Integer, AccountStatus> rows = accountStatusRepository
+                .findAllById(events.stream().map(AccountEvent::customerId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(AccountStatus::getCustomerId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        boolean fullHistory = accountEventSource.retainsFullHistory();
+        for (AccountEvent event : events) {
+            AccountStatus row = rows.computeIfAbsent(event.customerId(), customerId -> newRow(event, fullHistory));
+            if (event.id() > row.getLastEventId()) {
+                applyTo(row, event, now);
+            }
+        }
+        accountStatusRepository.saveAll(rows.values());
+    }
+
+    /**
+     * Creates the row of a customer seen for the first time, complete only if its history starts here.
+     *
+     * @param event the first event of the customer.
+     * @param fullHistory whether the source retains every event.
+     * @return the new row, without any event applied.
+     */
+    private static AccountStatus newRow(AccountEvent event, boolean fullHistory) {
+        return AccountStatus.builder()
+                .customerId(event.customerId())
+                .historyComplete(fullHistory && event.type() == AccountEventType.OPENED)
+                .build();
+    }
+
+    /**
+     * Applies an event to the row of its customer, flagging the row as incomplete if the event closes an account
+     * the row never saw opened.
+     *
+     * @param row the row of the customer.
+     * @param event the event.
+     * @param now the time the event is applied.
+     */
+    private static void applyTo(AccountStatus row, AccountEvent event, LocalDateTime now) {
+        int active = row.getActiveAccounts() + (event.type() == AccountEventType.OPENED ? 1 : -1);
+        if (active < 0) {
+            row.setHistoryComplete(false);
+        }
+        row.setActiveAccounts(active);
+        row.setLastEventId(event.id());
+        row.setUpdatedAt(now);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.account-status.lookups")
+                .description("Active account lookups of customer deletes, by whether the local projection answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bankingSystem.customer_ms.service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer, backed by a ring of slots.
+ * <p>
+ * Every element gets the next sequence number of the queue, and sequence {@code s} goes to slot
+ * {@code s % capacity}. Each slot has its own sequence word telling whose turn it is: producers claim a sequence
+ * with one compare-and-set on the tail and publish the element by advancing the sequence word of its slot, and
+ * the consumer frees a slot by advancing the word by a full lap. Neither side takes a lock or allocates, and a
+ * full queue is reported to the producer instead of blocking it. {@code null} elements are not supported, and
+ * {@link #drainTo(Collection, int)} must only ever be called by one thread at a time.
+ * </p>
+ *
+ * @param <E> the type of the elements.
+ */
+final class AuditRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray turns;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param capacity the minimum number of elements the queue can hold; it is rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Object[size];
+        this.turns = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int slot = 0; slot < size; slot++) {
+            turns.set(slot, slot);
+        }
+    }
+
+    /**
+     * Adds an element, unless the queue is full.
+     *
+     * @param element the element to add.
+     * @return the sequence number of the element, or {@code -1} if the queue is full.
+     */
+    long offer(E element) {
+        long sequence = tail.get();
+        while (true) {
+            int slot = (int) sequence & mask;
+            long turn = turns.getAcquire(slot);
+            if (turn == sequence && tail.compareAndSet(sequence, sequence + 1)) {
+                slots[slot] = element;
+                turns.setRelease(slot, sequence + 1);
+                return sequence;
+            }
+            if (turn < sequence) {
+                return -1;
+            }
+            sequence = tail.get();
+        }
+    }
+
+    /**
+     * Moves the oldest elements, in sequence order, to a collection.
+     * <p>
+     * Stops at the first element whose producer has claimed its slot but not yet published it.
+     * </p>
+     *
+     * @param target the collection receiving the elements.
+     * @param maxElements the maximum number of elements to move.
+     * @return the number of elements moved.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(Collection<? super E> target, int maxElements) {
+        long first = head;
+        long next = first;
+        for (int slot = (int) next & mask; next - first < maxElements && turns.getAcquire(slot) == next + 1;
+             slot = (int) next & mask) {
+            target.add((E) slots[slot]);
+            slots[slot] = null;
+            turns.setRelease(slot, next + slots.length);
+            next++;
+        }
+        head = next;
+        return (int) (next - first);
+    }
+
+    /**
+     * Returns the number of elements in the queue, including those claimed but not yet published.
+     *
+     * @return the number of elements; only a hint while producers or the consumer are running.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Returns the number of elements the queue can hold.
+     *
+     * @return the capacity.
+     */
+    int capacity() {
+        return slots.length;
+    }
+}
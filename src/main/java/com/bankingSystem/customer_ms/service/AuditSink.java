@@ -0,0 +1,22 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+
+import java.util.List;
+
+/**
+ * Destination of the customer audit records written by the {@link CustomerAuditTrail}.
+ * <p>
+ * Implementations receive batches in write order and must store all the records of a batch or throw, in which
+ * case the whole batch is retried later. Delivery is therefore at-least-once.
+ * </p>
+ */
+public interface AuditSink {
+
+    /**
+     * Stores a batch of records.
+     *
+     * @param records the records to store, in write order.
+     */
+    void write(List<CustomerAuditRecord> records);
+}
@@ -1,25 +1,88 @@
 package com.bankingSystem.customer_ms.service;
 
+import com.bankingSystem.customer_ms.diagnostics.RemoteCallEvent;
 import com.bankingSystem.customer_ms.exceptions.BusinessException;
-import lombok.RequiredArgsConstructor;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.service.AccountEndpointBalancer.Endpoint;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service class for handling operations related to bank accounts.
  * <p>
  * This service interacts with the bank account service to check if a customer has any active bank accounts.
+ * Calls are spread over the instances listed in {@code bankaccount.ms.url} by the
+ * {@link AccountEndpointBalancer}.
+ * </p>
+ * <p>
+ * When {@code bankaccount.ms.hedge.enabled} is set and several instances are configured, a call that has not
+ * answered within the {@code bankaccount.ms.hedge.percentile} latency of the recent calls (and at least
+ * {@code bankaccount.ms.hedge.min-delay-ms}) is sent again to another instance, and the first successful answer
+ * wins. At most one hedge is sent per call, so hedging adds roughly the complement of the percentile to the
+ * load of the bank account service.
+ * </p>
+ * <p>
+ * The attempts run on a fixed pool of two threads per slot of the {@link DeleteBulkhead} in front of this
+ * service, one for the first attempt of a check and one for its hedge, with no queue. When the bulkhead gives
+ * up on a check, its attempts are abandoned: no hedge is sent any more and their answers are ignored, but an
+ * attempt already sent holds its thread until it gets an answer or hits the connect or read timeout. The
+ * bulkhead timeout is therefore set to at least the connect plus the read timeout, so the first attempt of an
+ * abandoned check has already ended by then. If the pool is still full, a hedge is skipped and a first attempt
+ * fails with {@link ErrorCode#OVERLOADED}.
  * </p>
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class BankAccountService {
 
+    /**
+     * The message of the failed bank account calls returned to clients; the failure itself is kept as the cause,
+     * since its message may name internal hosts.
+     */
+    static final String UNAVAILABLE_MESSAGE = "The bank account service is unavailable, try again later.";
+
     private final RestTemplate restTemplate;
+    private final AccountEndpointBalancer balancer;
+    private final ThreadPoolExecutor hedgeExecutor;
+    private final long hedgeMinDelayMillis;
+
+    /**
+     * Constructs a new instance of {@link BankAccountService}.
+     *
+     * @param restTemplate the client used to call the bank account service.
+     * @param balancer the balancer picking the instance of each call.
+     * @param hedgingEnabled whether slow calls are hedged on another instance.
+     * @param hedgeMinDelayMillis the minimum time to wait before hedging a call.
+     * @param maxConcurrentChecks the number of checks the {@link DeleteBulkhead} runs at the same time.
+     */
+    public BankAccountService(RestTemplate restTemplate, AccountEndpointBalancer balancer,
+                              @Value("${bankaccount.ms.hedge.enabled:false}") boolean hedgingEnabled,
+                              @Value("${bankaccount.ms.hedge.min-delay-ms:20}") long hedgeMinDelayMillis,
+                              @Value("${customer.delete.bulkhead.max-concurrent:10}") int maxConcurrentChecks) {
+        this.restTemplate = restTemplate;
+        this.balancer = balancer;
+        this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+        this.hedgeExecutor = hedgingEnabled && balancer.getEndpoints().size() > 1
+                ? newHedgeExecutor(2 * maxConcurrentChecks)
+                : null;
+    }
 
     /**
      * Checks if a customer has any active bank accounts.
@@ -29,18 +92,182 @@ public class BankAccountService {
      * @throws BusinessException if there is an error connecting to the bank account service.
      * <p>
      * This method makes a request to the bank account service to determine whether the customer has active accounts.
-     * If the request fails, a {@link BusinessException} is thrown with the error message.
+     * If the request fails, a {@link BusinessException} is thrown with the error message. Each attempt is recorded as
+     * a {@link RemoteCallEvent} when a flight recording includes it.
      * </p>
      */
     public boolean hasActiveAccounts(Integer customerId) {
-        String url = "http://localhost:8081/accounts/customer/" + customerId + "/active";
+        String path = "/customer/" + customerId + "/active";
+        if (hedgeExecutor == null) {
+            return attempt(customerId, path, balancer.acquire(null));
+        }
+        return hedged(customerId, path);
+    }
+
+    /**
+     * Stops the hedging threads when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
 
+    /**
+     * Runs a call on the hedging pool and, if it is still running after the hedging delay, sends it to a second
+     * instance too.
+     *
+     * @param customerId the ID of the customer to check.
+     * @param path the path of the request, relative to the base URL of an instance.
+     * @return the first successful answer.
+     */
+    private boolean hedged(Integer customerId, String path) {
+        Endpoint primary = balancer.acquire(null);
+        CompletableFuture<Boolean> first = submit(customerId, path, primary);
+        if (first == null) {
+            throw new BusinessException(ErrorCode.OVERLOADED, "Too many pending bank account calls, try again later.");
+        }
+        long estimate = balancer.hedgeDelayMillis();
+        if (estimate < 0 || answeredWithin(first, Math.max(estimate, hedgeMinDelayMillis))) {
+            return join(first);
+        }
+        CompletableFuture<Boolean> second = hedge(customerId, path, primary);
+        return join(second == null ? first : firstSuccessful(first, second));
+    }
+
+    /**
+     * Sends a call still running on one instance to another instance too, if there is one and the pool has a
+     * free thread.
+     *
+     * @param customerId the ID of the customer to check.
+     * @param path the path of the request, relative to the base URL of an instance.
+     * @param primary the instance the first attempt runs on.
+     * @return the hedged attempt, or {@code null} if it could not be sent.
+     */
+    private CompletableFuture<Boolean> hedge(Integer customerId, String path, Endpoint primary) {
+        Endpoint secondary = balancer.acquire(primary);
+        if (secondary == null) {
+            return null;
+        }
+        log.debug("Hedging bank account call for customer {} on {}", customerId, secondary.getBaseUrl());
+        return submit(customerId, path, secondary);
+    }
+
+    /**
+     * Starts an attempt on the hedging pool.
+     *
+     * @param customerId the ID of the customer to check.
+     * @param path the path of the request, relative to the base URL of the instance.
+     * @param endpoint the instance, acquired from the balancer and released by the attempt.
+     * @return the attempt, or {@code null} if every thread of the pool is busy.
+     */
+    private CompletableFuture<Boolean> submit(Integer customerId, String path, Endpoint endpoint) {
+        try {
+            return CompletableFuture.supplyAsync(() -> attempt(customerId, path, endpoint), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            balancer.cancel(endpoint);
+            return null;
+        }
+    }
+
+    /**
+     * Calls one instance of the bank account service.
+     *
+     * @param customerId the ID of the customer to check.
+     * @param path the path of the request, relative to the base URL of the instance.
+     * @param endpoint the instance, acquired from the balancer and released here.
+     * @return true if the customer has active accounts, false otherwise.
+     */
+    private boolean attempt(Integer customerId, String path, Endpoint endpoint) {
+        RemoteCallEvent event = new RemoteCallEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
         try {
-            ResponseEntity<Boolean> response = restTemplate.exchange(url, HttpMethod.GET, null, Boolean.class);
+            ResponseEntity<Boolean> response = restTemplate.exchange(endpoint.getBaseUrl() + path, HttpMethod.GET, null, Boolean.class);
+            balancer.release(endpoint, true, System.nanoTime() - startedAt);
+            event.complete("bank-account", "hasActiveAccounts", customerId, response.getStatusCode().value(), "success");
             return Optional.ofNullable(response.getBody()).orElse(false);
         } catch (Exception e) {
-            throw new BusinessException("Error connecting to bank account service: " + e.getMessage());
+            balancer.release(endpoint, e instanceof HttpClientErrorException, System.nanoTime() - startedAt);
+            event.complete("bank-account", "hasActiveAccounts", customerId, 0, e.getClass().getSimpleName());
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, UNAVAILABLE_MESSAGE, e);
         }
     }
-}
 
+    /**
+     * Creates the pool running the attempts of hedged calls, without a queue.
+     *
+     * @param threads the number of threads of the pool.
+     * @return the hedging pool.
+     */
+    private static ThreadPoolExecutor newHedgeExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                runnable -> new Thread(runnable, "account-call-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Waits for a call to complete, successfully or not, for at most the given time.
+     *
+     * @param call the call.
+     * @param timeoutMillis the maximum time to wait.
+     * @return {@code true} if the call completed in time.
+     */
+    private static boolean answeredWithin(CompletableFuture<Boolean> call, long timeoutMillis) {
+        try {
+            call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, "Interrupted while waiting for bank account service.");
+        }
+    }
+
+    /**
+     * Combines two attempts of the same call into the first one to succeed, or the last one to fail.
+     *
+     * @param first the first attempt.
+     * @param second the hedged attempt.
+     * @return the combined call.
+     */
+    private static CompletableFuture<Boolean> firstSuccessful(CompletableFuture<Boolean> first, CompletableFuture<Boolean> second) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Boolean> attempt : List.of(first, second)) {
+            attempt.whenComplete((answer, error) -> {
+                if (error == null) {
+                    result.complete(answer);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Waits for a call running on the hedging pool, rethrowing its exception.
+     *
+     * @param call the call.
+     * @return its answer.
+     */
+    private static boolean join(CompletableFuture<Boolean> call) {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, UNAVAILABLE_MESSAGE, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, "Interrupted while waiting for bank account service.");
+        }
+    }
+}
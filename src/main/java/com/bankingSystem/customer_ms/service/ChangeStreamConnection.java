@@ -0,0 +1,53 @@
+package com.bankingSystem.customer_ms.service;
+
+import java.io.IOException;
+
+/**
+ * Non-blocking connection of a customer change stream subscriber.
+ * <p>
+ * Writes never wait for the client: {@link #isReady()} tells whether the connection accepts more data, and once
+ * it has returned {@code false} the connection calls back when writing is possible again. The
+ * {@link CustomerChangeStreamService} only writes while the connection is ready, so a client that stops reading
+ * never holds a sender thread.
+ * </p>
+ */
+public interface ChangeStreamConnection {
+
+    /**
+     * Opens the stream.
+     *
+     * @param timeoutMillis how long the stream lasts before the client has to reconnect.
+     * @param onWritable called, on any thread, when writing is possible again after {@link #isReady()} returned
+     *                   {@code false}, and once when the stream is ready for its first write.
+     * @param onClosed called, on any thread, once the stream is closed by the client, the timeout or an error.
+     * @throws IOException if the stream cannot be opened.
+     */
+    void open(long timeoutMillis, Runnable onWritable, Runnable onClosed) throws IOException;
+
+    /**
+     * Tells whether data can be written without blocking.
+     *
+     * @return {@code true} if {@link #write(String)} can be called.
+     */
+    boolean isReady();
+
+    /**
+     * Writes a chunk of the stream; only called after {@link #isReady()} returned {@code true}.
+     *
+     * @param chunk the text to write.
+     * @throws IOException if the connection is closed.
+     */
+    void write(String chunk) throws IOException;
+
+    /**
+     * Sends the written chunks to the client; only called after {@link #isReady()} returned {@code true}.
+     *
+     * @throws IOException if the connection is closed.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Ends the stream; the client resumes from its last event when it reconnects.
+     */
+    void close();
+}
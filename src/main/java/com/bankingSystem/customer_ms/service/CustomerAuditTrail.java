@@ -0,0 +1,233 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.AuditDurability;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Service keeping the audit trail of the customer writes, off the write path.
+ * <p>
+ * Once the transaction of a write commits, its {@link CustomerAuditRecord} is put in an {@link AuditRingBuffer},
+ * which costs the writing thread one compare-and-set and no lock. A single background thread,
+ * {@code customer-audit-writer}, drains the buffer in batches of up to {@code customer.audit.batch-size} records
+ * and hands them to the {@link AuditSink}: the records that arrive while a batch is being written make up the
+ * next batch, and the writer sleeps for {@code customer.audit.flush-interval-ms} when there is nothing to write.
+ * A failed batch is kept and retried after the same interval.
+ * </p>
+ * <p>
+ * When the buffer is full, the writing thread waits for up to {@code customer.audit.block-timeout-ms} for a free
+ * slot, and then drops the record; 0 drops it at once. With {@link AuditDurability#SYNC} the writing thread also
+ * waits, for up to {@code customer.audit.sync-timeout-ms}, until the batch holding its record has been written.
+ * The write itself is already committed, so neither wait can fail it. The {@code customer.audit.written},
+ * {@code customer.audit.dropped}, {@code customer.audit.write.failures} and {@code customer.audit.sync.timeouts}
+ * counters and the {@code customer.audit.pending} gauge record what happened to the records.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CustomerAuditTrail {
+
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+
+    private final AuditRingBuffer<CustomerAuditRecord> buffer;
+    private final AuditSink auditSink;
+    private final AuditDurability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final long syncTimeoutNanos;
+    private final Counter writtenRecords;
+    private final Counter droppedRecords;
+    private final Counter failedBatches;
+    private final Counter syncTimeouts;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long writtenBefore;
+
+    /**
+     * Constructs a new instance of {@link CustomerAuditTrail} and starts its writer.
+     *
+     * @param auditSink the sink the records are written to.
+     * @param meterRegistry the registry where the audit meters are published.
+     * @param capacity the number of records the buffer can hold; it is rounded up to a power of two.
+     * @param batchSize the maximum number of records written per batch.
+     * @param flushIntervalMillis how long the writer sleeps when there is nothing to write or a batch failed.
+     * @param blockTimeoutMillis how long a write waits for room in a full buffer before its record is dropped.
+     * @param durability how far a record has to get before the write returns.
+     * @param syncTimeoutMillis how long a write waits for its record to be written, with {@link AuditDurability#SYNC}.
+     */
+    public CustomerAuditTrail(AuditSink auditSink,
+                              MeterRegistry meterRegistry,
+                              @Value("${customer.audit.buffer-capacity:8192}") int capacity,
+                              @Value("${customer.audit.batch-size:500}") int batchSize,
+                              @Value("${customer.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                              @Value("${customer.audit.block-timeout-ms:100}") long blockTimeoutMillis,
+                              @Value("${customer.audit.durability:ASYNC}") AuditDurability durability,
+                              @Value("${customer.audit.sync-timeout-ms:1000}") long syncTimeoutMillis) {
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.auditSink = auditSink;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.syncTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(syncTimeoutMillis);
+        this.writtenRecords = meterRegistry.counter("customer.audit.written");
+        this.droppedRecords = meterRegistry.counter("customer.audit.dropped");
+        this.failedBatches = meterRegistry.counter("customer.audit.write.failures");
+        this.syncTimeouts = meterRegistry.counter("customer.audit.sync.timeouts");
+        Gauge.builder("customer.audit.pending", buffer, AuditRingBuffer::size).register(meterRegistry);
+        this.writer = startWriter();
+    }
+
+    /**
+     * Records a committed customer change in the audit trail.
+     *
+     * @param event the customer change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        record(CustomerAuditRecord.of(event));
+    }
+
+    /**
+     * Queues an audit record, waiting for it to be written with {@link AuditDurability#SYNC}.
+     *
+     * @param auditRecord the record.
+     * @return {@code true} if the record was queued, and with {@link AuditDurability#SYNC} written, in time.
+     */
+    public boolean record(CustomerAuditRecord auditRecord) {
+        long sequence = enqueue(auditRecord);
+        if (sequence < 0) {
+            droppedRecords.increment();
+            return false;
+        }
+        return durability != AuditDurability.SYNC || awaitWritten(sequence);
+    }
+
+    /**
+     * Writes the records still queued and stops the writer when the application context is closed.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writer.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(SHUTDOWN_WAIT_MILLIS);
+    }
+
+    /**
+     * Puts a record in the buffer, waiting for room up to the block timeout, and wakes the writer when a batch is
+     * ready or a writing thread is waiting for it.
+     *
+     * @param auditRecord the record.
+     * @return the sequence number of the record, or {@code -1} if the buffer stayed full.
+     */
+    private long enqueue(CustomerAuditRecord auditRecord) {
+        long sequence = buffer.offer(auditRecord);
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (sequence < 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(WAIT_NANOS);
+            sequence = buffer.offer(auditRecord);
+        }
+        if (sequence >= 0 && (durability == AuditDurability.SYNC || buffer.size() >= batchSize)) {
+            LockSupport.unpark(writer);
+        }
+        return sequence;
+    }
+
+    /**
+     * Waits until the record with the given sequence number has been written, up to the sync timeout.
+     *
+     * @param sequence the sequence number of the record.
+     * @return {@code true} if the record was written in time.
+     */
+    private boolean awaitWritten(long sequence) {
+        long deadline = System.nanoTime() + syncTimeoutNanos;
+        while (writtenBefore <= sequence) {
+            if (System.nanoTime() - deadline >= 0) {
+                syncTimeouts.increment();
+                return false;
+            }
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Starts the writer thread.
+     *
+     * @return the started thread.
+     */
+    private Thread startWriter() {
+        Thread thread = new Thread(this::runWriter, "customer-audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Body of the writer thread: writes batches until shutdown, then writes what is left once.
+     */
+    private void runWriter() {
+        List<CustomerAuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            boolean idle = batch.isEmpty() && buffer.drainTo(batch, batchSize) == 0;
+            if (idle || !flush(batch)) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        flushAtShutdown(batch);
+    }
+
+    /**
+     * Writes the records left at shutdown, giving each batch a single attempt.
+     *
+     * @param batch the batch the writer was holding, possibly empty.
+     */
+    private void flushAtShutdown(List<CustomerAuditRecord> batch) {
+        while (!batch.isEmpty() || buffer.drainTo(batch, batchSize) > 0) {
+            if (!flush(batch)) {
+                int lost = batch.size() + buffer.size();
+                droppedRecords.increment(lost);
+                log.error("Lost {} audit records at shutdown", lost);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch to the sink and clears it, or keeps it for a retry if the sink fails.
+     *
+     * @param batch the records to write, in sequence order.
+     * @return {@code true} if the batch was written.
+     */
+    private boolean flush(List<CustomerAuditRecord> batch) {
+        try {
+            auditSink.write(batch);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Writing {} audit records failed, will retry: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        writtenRecords.increment(batch.size());
+        writtenBefore += batch.size();
+        batch.clear();
+        return true;
+    }
+}
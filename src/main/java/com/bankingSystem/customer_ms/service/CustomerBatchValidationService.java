@@ -0,0 +1,200 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerBatchValidationReport;
+import com.bankingSystem.customer_ms.model.CustomerRowViolation;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Service validating batches of customers without storing them (dry run).
+ * <p>
+ * The format rules of the {@link CustomerValidator} are checked in parallel on a dedicated fork/join pool,
+ * splitting the batch until each task has at most {@value #ROWS_PER_TASK} rows. The DNIs of the well-formed
+ * rows are then checked for uniqueness: within the batch with a hash map, and against the database with one
+ * {@code IN} query per {@value #DNIS_PER_QUERY} distinct DNIs instead of one query per row.
+ * </p>
+ * <p>
+ * Every row is validated as a new customer: a DNI that already belongs to a customer is reported even if the
+ * row carries that customer's ID.
+ * </p>
+ */
+@Service
+public class CustomerBatchValidationService {
+
+    static final int ROWS_PER_TASK = 256;
+    static final int DNIS_PER_QUERY = 1000;
+    static final String DUPLICATE_IN_DB = "A client with this DNI already exists.";
+
+    private final CustomerValidator customerValidator;
+    private final CustomerRepository customerRepository;
+    private final ForkJoinPool validationPool;
+    private final int maxRows;
+
+    /**
+     * Constructs a new instance of {@link CustomerBatchValidationService}.
+     *
+     * @param customerValidator the validator with the format rules.
+     * @param customerRepository the repository used to find the DNIs that already exist.
+     * @param parallelism the number of threads of the validation pool; 0 uses one per core.
+     * @param maxRows the maximum number of rows of a batch.
+     */
+    public CustomerBatchValidationService(CustomerValidator customerValidator, CustomerRepository customerRepository,
+                                          @Value("${customer.validation.batch.parallelism:0}") int parallelism,
+                                          @Value("${customer.validation.batch.max-rows:100000}") int maxRows) {
+        this.customerValidator = customerValidator;
+        this.customerRepository = customerRepository;
+        this.validationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Validates a batch of customers without storing them.
+     *
+     * @param customers the customers of the batch.
+     * @return the report with the violations of every invalid row.
+     * @throws BusinessException if the batch has more rows than allowed.
+     */
+    public CustomerBatchValidationReport validate(List<Customer> customers) {
+        if (customers.size() > maxRows) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "A validation batch can contain at most " + maxRows + " customers.");
+        }
+        List<List<String>> messages = new ArrayList<>(customers.size());
+        customers.forEach(customer -> messages.add(null));
+        validationPool.invoke(new FormatCheck(customers, messages, 0, customers.size()));
+        checkUniqueDnis(customers, messages);
+        return report(customers, messages);
+    }
+
+    /**
+     * Stops the validation pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * Adds a violation to every well-formed row whose DNI repeats an earlier row or already exists.
+     *
+     * @param customers the customers of the batch.
+     * @param messages the violations of each row, updated in place.
+     */
+    private void checkUniqueDnis(List<Customer> customers, List<List<String>> messages) {
+        Map<String, Integer> firstRowByDni = checkRepeatedDnis(customers, messages);
+        Set<String> existing = findExistingDnis(firstRowByDni.keySet());
+        for (Map.Entry<String, Integer> first : firstRowByDni.entrySet()) {
+            if (existing.contains(first.getKey())) {
+                messages.get(first.getValue()).add(DUPLICATE_IN_DB);
+            }
+        }
+    }
+
+    /**
+     * Adds a violation to every well-formed row whose DNI repeats an earlier row.
+     *
+     * @param customers the customers of the batch.
+     * @param messages the violations of each row, updated in place.
+     * @return the first well-formed row of each DNI.
+     */
+    private Map<String, Integer> checkRepeatedDnis(List<Customer> customers, List<List<String>> messages) {
+        Map<String, Integer> firstRowByDni = new HashMap<>();
+        for (int row = 0; row < customers.size(); row++) {
+            if (messages.get(row).isEmpty()) {
+                Integer firstRow = firstRowByDni.putIfAbsent(customers.get(row).getDni(), row);
+                if (firstRow != null) {
+                    messages.get(row).add("The DNI is repeated in row " + firstRow + " of the batch.");
+                }
+            }
+        }
+        return firstRowByDni;
+    }
+
+    /**
+     * Finds which DNIs already exist, {@value #DNIS_PER_QUERY} DNIs per query.
+     *
+     * @param dnis the distinct DNIs of the batch.
+     * @return the DNIs that already belong to a customer.
+     */
+    private Set<String> findExistingDnis(Set<String> dnis) {
+        Set<String> existing = new HashSet<>();
+        List<String> chunk = new ArrayList<>(Math.min(dnis.size(), DNIS_PER_QUERY));
+        for (String dni : dnis) {
+            chunk.add(dni);
+            if (chunk.size() == DNIS_PER_QUERY) {
+                existing.addAll(customerRepository.findExistingDnis(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existing.addAll(customerRepository.findExistingDnis(chunk));
+        }
+        return existing;
+    }
+
+    /**
+     * Builds the report from the violations of each row.
+     *
+     * @param customers the customers of the batch.
+     * @param messages the violations of each row.
+     * @return the report.
+     */
+    private CustomerBatchValidationReport report(List<Customer> customers, List<List<String>> messages) {
+        List<CustomerRowViolation> violations = new ArrayList<>();
+        for (int row = 0; row < customers.size(); row++) {
+            if (!messages.get(row).isEmpty()) {
+                Customer customer = customers.get(row);
+                violations.add(new CustomerRowViolation(row, customer != null ? customer.getDni() : null,
+                        List.copyOf(messages.get(row))));
+            }
+        }
+        return new CustomerBatchValidationReport(customers.size(), customers.size() - violations.size(), violations);
+    }
+
+    /**
+     * Fork/join task checking the format rules of a range of rows.
+     */
+    private final class FormatCheck extends RecursiveAction {
+
+        private final List<Customer> customers;
+        private final List<List<String>> messages;
+        private final int from;
+        private final int to;
+
+        private FormatCheck(List<Customer> customers, List<List<String>> messages, int from, int to) {
+            this.customers = customers;
+            this.messages = messages;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                for (int row = from; row < to; row++) {
+                    Customer customer = customers.get(row);
+                    messages.set(row, customer != null
+                            ? customerValidator.findFormatViolations(customer)
+                            : new ArrayList<>(List.of("Customer data is required.")));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FormatCheck(customers, messages, from, middle), new FormatCheck(customers, messages, middle, to));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CustomerChange;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listener recording every {@link CustomerChangedEvent} in the customer change log.
+ * <p>
+ * The entry is written in the transaction of the customer write, so the change log only ever holds committed
+ * changes. It is written without a sequence; the {@link CustomerChangeSequencer} numbers it after commit.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerChangeLogListener {
+
+    private final CustomerChangeRepository customerChangeRepository;
+
+    /**
+     * Appends the change to the change log.
+     *
+     * @param event the customer change.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        customerChangeRepository.save(CustomerChange.builder()
+                .customerId(event.customerId())
+                .changeType(event.type())
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,117 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CustomerChangesSequencedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Service numbering the committed entries of the customer change log in commit order.
+ * <p>
+ * The change log listener writes its entry without a sequence, in the transaction of the customer write. Every
+ * {@code customer.changes.sequencer.interval-ms} the sequencer gives the committed entries still without one the
+ * next sequences, in batches of at most {@code customer.changes.sequencer.batch-size}. Each batch locks the single
+ * row of {@code customer_change_sequence}, so the batches of every instance are serialized: a batch only starts
+ * once the previous one has committed, and its entries become visible together. A reader that has seen sequence
+ * {@code N} has therefore seen every entry numbered up to {@code N}, and an entry committed later always gets a
+ * higher sequence, which makes the watermarks of the delta sync, the snapshot and the change stream gap-free.
+ * </p>
+ * <p>
+ * The batches run at read committed isolation, so the entries read after taking the lock are exactly those
+ * committed before it; entries of transactions still in flight are left for a later batch. Finding nothing to
+ * number costs one read of the {@code seq} index and takes no lock. Every committed batch publishes a
+ * {@link CustomerChangesSequencedEvent}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CustomerChangeSequencer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readCommittedTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * Constructs a new instance of {@link CustomerChangeSequencer}.
+     *
+     * @param jdbcTemplate the template running the statements on the primary database.
+     * @param transactionManager the transaction manager of the primary database.
+     * @param eventPublisher the publisher of the {@link CustomerChangesSequencedEvent}s.
+     * @param batchSize the maximum number of entries numbered per batch.
+     */
+    public CustomerChangeSequencer(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${customer.changes.sequencer.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readCommittedTransaction = new TransactionTemplate(transactionManager);
+        this.readCommittedTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Numbers the committed entries until none is left or a batch fails.
+     *
+     * @return the number of entries numbered.
+     */
+    @Scheduled(fixedDelayString = "${customer.changes.sequencer.interval-ms:100}")
+    public int sequencePending() {
+        int sequenced = 0;
+        try {
+            int batch;
+            do {
+                batch = sequenceBatch();
+                sequenced += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Customer change sequencing stopped after {} entries, will retry: {}", sequenced, e.getMessage());
+        }
+        return sequenced;
+    }
+
+    /**
+     * Numbers one batch of committed entries, in insertion order, in a single transaction.
+     *
+     * @return the number of entries numbered.
+     */
+    int sequenceBatch() {
+        if (jdbcTemplate.queryForList("SELECT id FROM customer_change WHERE seq IS NULL LIMIT 1", Long.class).isEmpty()) {
+            return 0;
+        }
+        Integer sequenced = readCommittedTransaction.execute(status -> numberPending());
+        if (sequenced == null || sequenced == 0) {
+            return 0;
+        }
+        eventPublisher.publishEvent(new CustomerChangesSequencedEvent(sequenced));
+        return sequenced;
+    }
+
+    /**
+     * Gives the next sequences to the committed entries without one, under the lock of the last sequence.
+     *
+     * @return the number of entries numbered.
+     */
+    private int numberPending() {
+        long lastSeq = jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM customer_change_sequence WHERE id = 1 FOR UPDATE", Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM customer_change WHERE seq IS NULL ORDER BY id LIMIT ?", Long.class, batchSize);
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE customer_change SET seq = ? WHERE id = ?", IntStream.range(0, ids.size())
+                    .mapToObj(i -> new Object[] {lastSeq + i + 1, ids.get(i)}).toList());
+            jdbcTemplate.update("UPDATE customer_change_sequence SET last_seq = ? WHERE id = 1", lastSeq + ids.size());
+        }
+        return ids.size();
+    }
+}
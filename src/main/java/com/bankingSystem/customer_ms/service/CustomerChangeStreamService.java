@@ -0,0 +1,445 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerChangesSequencedEvent;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Service pushing the customer changes to Server-Sent Events subscribers.
+ * <p>
+ * The changes are read from the change log by a single poller thread, {@code customer-change-stream}, through the
+ * {@link CustomerSyncService}, so one query serves every subscriber and the events carry the current state of
+ * the customer like the delta sync endpoint. The poller runs every {@code customer.changes.stream.poll-interval-ms},
+ * and is woken at once when the {@link CustomerChangeSequencer} of this instance has numbered new changes. It does
+ * not query anything while there are no subscribers.
+ * </p>
+ * <p>
+ * The id of every event is the change sequence. It is assigned in commit order, so no change can commit behind a
+ * sequence already sent, and a client reconnecting with {@code Last-Event-ID} first gets the changes after it
+ * replayed from the change log, then the live ones, without gaps or duplicates. Each subscriber has a buffer of
+ * at most {@code customer.changes.stream.buffer-size} events, filled by the poller with the live changes and by
+ * the replay one page at a time, and drained by a small pool of sender threads. The connections are
+ * non-blocking ({@link ChangeStreamConnection}): a sender only writes while the connection of the subscriber
+ * accepts data, and the connection calls back once the client has read, so a client that stops reading holds no
+ * thread. Its buffer fills up instead, and a subscriber whose buffer overflows is disconnected; it resumes from
+ * its last event when it reconnects. An idle subscriber gets a heartbeat comment every
+ * {@code customer.changes.stream.heartbeat-interval-ms}, which also detects closed connections.
+ * </p>
+ * <p>
+ * A replaying subscriber only switches to the live changes once its position has reached the changes already
+ * handed to the live subscribers. When a replica lagging behind the poller returns an empty page, the subscriber
+ * is handed back and retried on the next poll instead of waiting on a sender thread. The
+ * {@code customer.changes.stream.subscribers} and {@code customer.changes.stream.replaying} gauges and the
+ * {@code customer.changes.stream.slow.disconnects} counter describe the subscribers.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CustomerChangeStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+    private static final String HEARTBEAT_COMMENT = ":heartbeat\n\n";
+    private static final long UNKNOWN = -1;
+
+    private final CustomerSyncService customerSyncService;
+    private final CustomerChangeRepository customerChangeRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long pollIntervalNanos;
+    private final long heartbeatIntervalNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final Counter slowDisconnects;
+    private final Thread poller;
+    private volatile boolean running = true;
+    private volatile long watermark = UNKNOWN;
+    private long lastHeartbeat = System.nanoTime();
+
+    /**
+     * Constructs a new instance of {@link CustomerChangeStreamService} and starts its poller.
+     *
+     * @param customerSyncService the service reading the changes after a watermark.
+     * @param customerChangeRepository the repository of the change log, to read the latest sequence.
+     * @param objectMapper the mapper writing the change entries as JSON.
+     * @param meterRegistry the registry where the stream meters are published.
+     * @param maxSubscribers the maximum number of subscribers connected at the same time.
+     * @param bufferSize the maximum number of events waiting to be sent to a subscriber.
+     * @param timeoutMillis how long a subscription lasts before the client has to reconnect.
+     * @param pollIntervalMillis the interval between two reads of the change log.
+     * @param heartbeatIntervalMillis the interval between two heartbeats to an idle subscriber, or 0 for none.
+     * @param senderThreads the number of threads sending the events.
+     */
+    public CustomerChangeStreamService(CustomerSyncService customerSyncService,
+                                       CustomerChangeRepository customerChangeRepository,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${customer.changes.stream.max-subscribers:5000}") int maxSubscribers,
+                                       @Value("${customer.changes.stream.buffer-size:256}") int bufferSize,
+                                       @Value("${customer.changes.stream.timeout-ms:1800000}") long timeoutMillis,
+                                       @Value("${customer.changes.stream.poll-interval-ms:500}") long pollIntervalMillis,
+                                       @Value("${customer.changes.stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+                                       @Value("${customer.changes.stream.sender-threads:4}") int senderThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.customerSyncService = customerSyncService;
+        this.customerChangeRepository = customerChangeRepository;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = Math.min(bufferSize, CustomerSyncService.MAX_PAGE_SIZE);
+        this.timeoutMillis = timeoutMillis;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        this.senders = Executors.newFixedThreadPool(senderThreads,
+                runnable -> new Thread(runnable, "customer-change-sender-" + threadCount.incrementAndGet()));
+        this.slowDisconnects = meterRegistry.counter("customer.changes.stream.slow.disconnects");
+        registerGauges(meterRegistry);
+        this.poller = startPoller();
+    }
+
+    /**
+     * Subscribes a connection to the customer changes and opens its stream.
+     * <p>
+     * Every subscriber starts by replaying the change log from its position, which also covers the changes
+     * committed between reading the latest sequence and its first live event. The poller is woken, so that a
+     * first subscriber does not wait for the next poll to know where the live changes start.
+     * </p>
+     *
+     * @param connection the connection of the client.
+     * @param customerIds the IDs of the customers whose changes are sent, or an empty set for all customers.
+     * @param lastEventId the sequence of the last change received by the client, or {@code null} to get only
+     *                    the changes written from now on.
+     * @throws BusinessException if the maximum number of subscribers is connected.
+     * @throws IOException if the stream cannot be opened.
+     */
+    public void subscribe(ChangeStreamConnection connection, Set<Integer> customerIds, Long lastEventId) throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException(ErrorCode.OVERLOADED, "Too many customer change subscribers");
+        }
+        long position = lastEventId != null ? lastEventId : customerChangeRepository.findMaxSeq();
+        Subscriber subscriber = new Subscriber(connection, Set.copyOf(customerIds), position, bufferSize);
+        subscribers.add(subscriber);
+        try {
+            connection.open(timeoutMillis, () -> signal(subscriber), () -> subscribers.remove(subscriber));
+        } catch (IOException | RuntimeException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        }
+        LockSupport.unpark(poller);
+    }
+
+    /**
+     * Wakes the poller when new changes have been numbered, so the subscribers get them without waiting for the
+     * next poll.
+     *
+     * @param event the numbered batch.
+     */
+    @EventListener
+    public void onChangesSequenced(CustomerChangesSequencedEvent event) {
+        if (!subscribers.isEmpty()) {
+            LockSupport.unpark(poller);
+        }
+    }
+
+    /**
+     * Reads the changes after the watermark and hands them to the live subscribers, then resumes the replaying
+     * subscribers and sends the heartbeats that are due.
+     */
+    synchronized void poll() {
+        if (subscribers.isEmpty()) {
+            watermark = UNKNOWN;
+            return;
+        }
+        if (watermark == UNKNOWN) {
+            watermark = customerChangeRepository.findMaxSeq();
+        }
+        publishNewChanges();
+        subscribers.stream().filter(subscriber -> subscriber.catchingUp).forEach(this::signal);
+        sendHeartbeatsIfDue();
+    }
+
+    /**
+     * Reads the changes after the watermark, page by page, and hands them to the live subscribers.
+     */
+    private void publishNewChanges() {
+        CustomerChangePage page;
+        do {
+            page = customerSyncService.getChangesSince(watermark, CustomerSyncService.MAX_PAGE_SIZE);
+            watermark = page.watermark();
+            page.changes().forEach(this::publish);
+        } while (page.hasMore());
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     *
+     * @return the number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Stops the poller and the senders and closes the subscriptions, so the clients reconnect to another
+     * instance.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(poller);
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.connection.close());
+    }
+
+    /**
+     * Publishes the number of subscribers and of replaying subscribers.
+     *
+     * @param meterRegistry the registry where the gauges are published.
+     */
+    private void registerGauges(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("customer.changes.stream.subscribers", subscribers, Set::size);
+        meterRegistry.gauge("customer.changes.stream.replaying", subscribers,
+                all -> all.stream().filter(subscriber -> subscriber.catchingUp).count());
+    }
+
+    /**
+     * Starts the poller thread.
+     *
+     * @return the started thread.
+     */
+    private Thread startPoller() {
+        Thread thread = new Thread(() -> {
+            while (running) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+                try {
+                    poll();
+                } catch (RuntimeException e) {
+                    log.warn("Customer change stream poll failed, will retry: {}", e.getMessage());
+                }
+            }
+        }, "customer-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Hands a change to the live subscribers interested in it.
+     *
+     * @param entry the change.
+     */
+    private void publish(CustomerChangeEntry entry) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(entry)) {
+                signal(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Queues a heartbeat for the idle subscribers once per heartbeat interval.
+     */
+    private void sendHeartbeatsIfDue() {
+        long now = System.nanoTime();
+        if (heartbeatIntervalNanos <= 0 || now - lastHeartbeat < heartbeatIntervalNanos) {
+            return;
+        }
+        lastHeartbeat = now;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.catchingUp && subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                signal(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Asks a sender thread to send what it can to a subscriber. Signals arriving while a sender has the
+     * subscriber make it run again, so none is lost and a subscriber is never drained by two threads at once.
+     *
+     * @param subscriber the subscriber with something to send, or whose connection became writable.
+     */
+    private void signal(Subscriber subscriber) {
+        if (subscriber.pendingSignals.getAndIncrement() == 0) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                log.debug("Customer change stream stopped, signal ignored");
+            }
+        }
+    }
+
+    /**
+     * Sends what can be sent to a subscriber until no signal is left, and drops the subscriber if its
+     * connection is closed.
+     *
+     * @param subscriber the subscriber.
+     */
+    private void drain(Subscriber subscriber) {
+        int signals = 1;
+        do {
+            try {
+                sendAvailable(subscriber);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Customer change subscriber dropped: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.connection.close();
+            }
+            signals = subscriber.pendingSignals.addAndGet(-signals);
+        } while (signals != 0);
+    }
+
+    /**
+     * Writes the buffered events of a subscriber, refilling the buffer from the change log while it replays,
+     * as long as its connection accepts data; then disconnects it if its buffer overflowed.
+     *
+     * @param subscriber the subscriber.
+     * @throws IOException if the connection of the subscriber is closed.
+     */
+    private void sendAvailable(Subscriber subscriber) throws IOException {
+        while (!subscriber.overflowed && subscribers.contains(subscriber) && subscriber.connection.isReady()) {
+            Object item = subscriber.queue.poll();
+            if (item != null) {
+                subscriber.connection.write(item == HEARTBEAT ? HEARTBEAT_COMMENT : event((CustomerChangeEntry) item));
+            } else if (!subscriber.catchingUp || !replayPage(subscriber)) {
+                subscriber.connection.flush();
+                break;
+            }
+        }
+        if (subscriber.overflowed && subscribers.remove(subscriber)) {
+            slowDisconnects.increment();
+            subscriber.connection.close();
+        }
+    }
+
+    /**
+     * Fills the empty buffer of a replaying subscriber with the next page of the change log, and switches the
+     * subscriber to the live changes once the replay has reached them.
+     *
+     * @param subscriber the subscriber catching up.
+     * @return {@code true} if the page had changes, {@code false} if the replay has nothing to send for now.
+     */
+    private boolean replayPage(Subscriber subscriber) {
+        CustomerChangePage page = customerSyncService.getChangesSince(subscriber.position, bufferSize);
+        page.changes().stream().filter(subscriber::matches).forEach(subscriber.queue::offer);
+        subscriber.finishReplay(page.watermark(), () -> watermark);
+        return !page.changes().isEmpty();
+    }
+
+    /**
+     * Formats the event of a change, with the change sequence as its id and the entry as JSON data.
+     *
+     * @param entry the change.
+     * @return the event, as sent on the stream.
+     */
+    private String event(CustomerChangeEntry entry) {
+        try {
+            return "id:" + entry.seq() + "\ndata:" + objectMapper.writeValueAsString(entry) + "\n\n";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A connected client, with its filter, its position in the change log and its buffer of events to send.
+     * <p>
+     * The position is the sequence of the last change handed to the client, whether it matched the filter or
+     * not. It is only changed under the monitor of the subscriber, which makes the switch from the replay to the
+     * live changes atomic.
+     * </p>
+     */
+    private static final class Subscriber {
+
+        private final ChangeStreamConnection connection;
+        private final Set<Integer> customerIds;
+        private final BlockingQueue<Object> queue;
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile long position;
+        private volatile boolean catchingUp = true;
+        private volatile boolean overflowed;
+
+        Subscriber(ChangeStreamConnection connection, Set<Integer> customerIds, long position, int bufferSize) {
+            this.connection = connection;
+            this.customerIds = customerIds;
+            this.position = position;
+            this.queue = new LinkedBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Tells whether the client asked for the changes of a customer.
+         *
+         * @param entry the change.
+         * @return {@code true} if the change passes the filter of the client.
+         */
+        boolean matches(CustomerChangeEntry entry) {
+            return customerIds.isEmpty() || customerIds.contains(entry.customerId());
+        }
+
+        /**
+         * Queues a live change, marking the subscriber as overflowed if its buffer is full.
+         *
+         * @param entry the change.
+         * @return {@code true} if the subscriber has something new to send.
+         */
+        synchronized boolean offer(CustomerChangeEntry entry) {
+            if (catchingUp || overflowed || entry.seq() <= position) {
+                return false;
+            }
+            position = entry.seq();
+            if (!matches(entry)) {
+                return false;
+            }
+            if (!queue.offer(entry)) {
+                overflowed = true;
+                queue.clear();
+            }
+            return true;
+        }
+
+        /**
+         * Records a replayed page, and switches to the live changes once the replay has reached them.
+         * <p>
+         * The live watermark is read under the monitor: the poller moves it before handing the changes to the
+         * subscribers, so the changes after the watermark read here are offered to this subscriber once it is live.
+         * </p>
+         *
+         * @param replayed the sequence of the last replayed change.
+         * @param liveWatermark the sequence of the last change handed to the live subscribers, unknown until the
+         *                      poller has started from the latest change.
+         * @return {@code true} if the subscriber now gets the live changes.
+         */
+        synchronized boolean finishReplay(long replayed, LongSupplier liveWatermark) {
+            position = Math.max(position, replayed);
+            long live = liveWatermark.getAsLong();
+            if (live != UNKNOWN && position >= live) {
+                catchingUp = false;
+            }
+            return !catchingUp;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.DeleteJob;
+import com.bankingSystem.customer_ms.model.DeleteJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service running customer deletes in the background.
+ * <p>
+ * Delete jobs are queued to a small worker pool with a bounded queue, so the client gets a job ID right away
+ * instead of waiting for the account checks, and polls the job status afterwards. While a job for a customer
+ * is queued or running, asking again to delete that customer returns the same job. Finished jobs are kept for
+ * {@code customer.delete.jobs.retention-ms} and then forgotten.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CustomerDeleteJobService {
+
+    private final CustomerService customerService;
+    private final ThreadPoolExecutor executor;
+    private final long retentionMillis;
+    private final Map<String, DeleteJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, String> activeJobByCustomer = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance of {@link CustomerDeleteJobService}.
+     *
+     * @param customerService the service performing the deletes.
+     * @param workers the number of deletes running at the same time.
+     * @param queueCapacity the maximum number of queued delete jobs.
+     * @param retentionMillis how long finished jobs can still be queried.
+     */
+    public CustomerDeleteJobService(CustomerService customerService,
+                                    @Value("${customer.delete.jobs.workers:4}") int workers,
+                                    @Value("${customer.delete.jobs.queue-capacity:100}") int queueCapacity,
+                                    @Value("${customer.delete.jobs.retention-ms:3600000}") long retentionMillis) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.customerService = customerService;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "delete-job-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Queues the delete of a customer, or returns the pending job already deleting it.
+     *
+     * @param customerId the ID of the customer to delete.
+     * @return the queued or running {@link DeleteJob}.
+     * @throws BusinessException if the job queue is full.
+     */
+    public DeleteJob submit(Integer customerId) {
+        String jobId = activeJobByCustomer.computeIfAbsent(customerId, this::enqueue);
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Retrieves the current state of a delete job.
+     *
+     * @param jobId the ID of the job.
+     * @return an {@link Optional} containing the job, or an empty {@link Optional} if it is unknown or expired.
+     */
+    public Optional<DeleteJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Forgets the jobs that finished longer than the retention period ago.
+     */
+    @Scheduled(fixedDelayString = "${customer.delete.jobs.purge-interval-ms:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retentionMillis, ChronoUnit.MILLIS);
+        jobs.values().removeIf(job -> job.status().isFinished() && job.updatedAt().isBefore(threshold));
+    }
+
+    /**
+     * Stops the workers when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers a new job for the customer and hands it to the workers.
+     *
+     * @param customerId the ID of the customer to delete.
+     * @return the ID of the new job.
+     * @throws BusinessException if the job queue is full.
+     */
+    private String enqueue(Integer customerId) {
+        String jobId = UUID.randomUUID().toString();
+        jobs.put(jobId, DeleteJob.queued(jobId, customerId));
+        try {
+            executor.execute(() -> run(jobId, customerId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new BusinessException(ErrorCode.OVERLOADED, "Too many pending delete jobs, try again later.");
+        }
+        return jobId;
+    }
+
+    /**
+     * Deletes the customer of a job and records the outcome.
+     *
+     * @param jobId the ID of the job.
+     * @param customerId the ID of the customer to delete.
+     */
+    private void run(String jobId, Integer customerId) {
+        jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(DeleteJobStatus.RUNNING, null));
+        try {
+            customerService.delete(customerId);
+            jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(DeleteJobStatus.SUCCEEDED, null));
+        } catch (RuntimeException e) {
+            log.debug("Delete job {} for customer {} failed: {}", jobId, customerId, e.getMessage());
+            jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(DeleteJobStatus.FAILED, e.getMessage()));
+        } finally {
+            activeJobByCustomer.remove(customerId, jobId);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.configuration.ReadYourWritesContext;
+import com.bankingSystem.customer_ms.model.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Single-flight deduplication of concurrent customer lookups by ID.
+ * <p>
+ * The first caller looking up an ID runs the query; callers arriving while it is in flight wait for it and
+ * share its result, or its exception. The entry is removed as soon as the query completes, so nothing is
+ * retained and the next lookup runs a fresh query. Every caller receives its own copy of the customer.
+ * </p>
+ * <p>
+ * A shared query may have started before a write the caller already saw committed, so it can return the customer
+ * as it was before that write. Callers whose request has written (see {@link ReadYourWritesContext}) therefore
+ * run their own query, on the primary database, without sharing it.
+ * </p>
+ * <p>
+ * The {@code customer.lookups} counter records the lookups with the {@code result} tag {@code queried} for
+ * those that ran the query and {@code coalesced} for those that shared another one.
+ * </p>
+ */
+@Component
+public class CustomerLookupCoalescer {
+
+    private final ConcurrentMap<Integer, CompletableFuture<Optional<Customer>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter queried;
+    private final Counter coalesced;
+
+    /**
+     * Constructs a new instance of {@link CustomerLookupCoalescer}.
+     *
+     * @param meterRegistry the registry where the lookup counters are published.
+     */
+    public CustomerLookupCoalescer(MeterRegistry meterRegistry) {
+        this.queried = lookups(meterRegistry, "queried");
+        this.coalesced = lookups(meterRegistry, "coalesced");
+    }
+
+    /**
+     * Looks up a customer, sharing the query of a concurrent lookup of the same ID unless the current request
+     * has written.
+     *
+     * @param id the ID of the customer.
+     * @param query the query to run when no lookup of the ID is in flight.
+     * @return a copy of the customer found, or an empty {@link Optional}.
+     */
+    public Optional<Customer> findById(Integer id, Function<Integer, Optional<Customer>> query) {
+        if (id == null || ReadYourWritesContext.hasWritten()) {
+            return query.apply(id);
+        }
+        CompletableFuture<Optional<Customer>> call = new CompletableFuture<>();
+        CompletableFuture<Optional<Customer>> running = inFlight.putIfAbsent(id, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running).map(CustomerLookupCoalescer::copy);
+        }
+        queried.increment();
+        return run(id, query, call).map(CustomerLookupCoalescer::copy);
+    }
+
+    /**
+     * Runs the query of a lookup, publishing its outcome to the coalesced callers.
+     *
+     * @param id the ID of the customer.
+     * @param query the query.
+     * @param call the future shared with the coalesced callers, registered for the ID.
+     * @return the result of the query.
+     */
+    private Optional<Customer> run(Integer id, Function<Integer, Optional<Customer>> query,
+                                   CompletableFuture<Optional<Customer>> call) {
+        try {
+            Optional<Customer> result = query.apply(id);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, call);
+        }
+    }
+
+    /**
+     * Waits for a lookup run by another caller, rethrowing its exception.
+     *
+     * @param running the lookup in flight.
+     * @return its result.
+     */
+    private static Optional<Customer> await(CompletableFuture<Optional<Customer>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.lookups")
+                .description("Customer lookups by ID, by whether they ran the query or shared a concurrent one")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Customer copy(Customer customer) {
+        return customer.toBuilder().build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.repository.ShardedCustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+
+/**
+ * Service removing the rows of soft-deleted customers from the {@code customer} table.
+ * <p>
+ * Deleting a customer only marks its row (see {@link com.bankingSystem.customer_ms.model.Customer}); the
+ * physical delete, which cascades to the bank account rows of the customer, is left to this purger. Every
+ * {@code customer.purge.interval-ms} it deletes at most {@code customer.purge.batch-size} soft-deleted rows in
+ * one short statement, and only while the local time is inside the off-peak window from
+ * {@code customer.purge.window-start} to {@code customer.purge.window-end} (the window may span midnight; equal
+ * bounds mean always). The purge rate is therefore capped at one batch per interval, and the scheduler thread it
+ * shares with the other background tasks is never held for more than one batch.
+ * </p>
+ * <p>
+ * The rows are deleted with plain JDBC: soft-deleted customers are no longer in the Hibernate caches, so there
+ * is nothing to invalidate, whereas a native query run through Hibernate would clear the customer cache
+ * region on every batch. The {@code customer.purge.rows} counter records the purged rows.
+ * </p>
+ * <p>
+ * When customers are stored on shards, the {@link ShardedCustomerRepository} deletes their rows outright and
+ * the {@code customer} table of the primary database stays empty, so the purger does nothing.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CustomerPurger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean sharded;
+    private final int batchSize;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final Counter purgedRows;
+
+    /**
+     * Constructs a new instance of {@link CustomerPurger}.
+     *
+     * @param jdbcTemplate the template running the deletes on the primary database.
+     * @param meterRegistry the registry where the purge counter is published.
+     * @param shardedCustomerRepository the sharded customer repository, available only when sharding is on.
+     * @param enabled whether soft-deleted customers are purged in the background.
+     * @param batchSize the maximum number of rows deleted per interval.
+     * @param windowStart the local time the purge window opens, as {@code HH:mm}.
+     * @param windowEnd the local time the purge window closes, as {@code HH:mm}.
+     */
+    public CustomerPurger(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository,
+                          @Value("${customer.purge.enabled:true}") boolean enabled,
+                          @Value("${customer.purge.batch-size:200}") int batchSize,
+                          @Value("${customer.purge.window-start:01:00}") String windowStart,
+                          @Value("${customer.purge.window-end:05:00}") String windowEnd) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.sharded = shardedCustomerRepository.getIfAvailable() != null;
+        this.batchSize = batchSize;
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+        this.purgedRows = Counter.builder("customer.purge.rows")
+                .description("Rows of soft-deleted customers removed by the purger")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges one batch of soft-deleted customers if the purge window is open.
+     *
+     * @return the number of rows deleted.
+     */
+    @Scheduled(fixedDelayString = "${customer.purge.interval-ms:1000}")
+    public int purgeInWindow() {
+        if (!enabled || !isInWindow(LocalTime.now())) {
+            return 0;
+        }
+        try {
+            return purgeBatch();
+        } catch (RuntimeException e) {
+            log.warn("Customer purge failed, will retry: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes up to one batch of soft-deleted customers, whatever the time.
+     *
+     * @return the number of rows deleted.
+     */
+    public int purgeBatch() {
+        if (sharded) {
+            return 0;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM customer WHERE deleted = TRUE LIMIT ?", batchSize);
+        if (deleted > 0) {
+            purgedRows.increment(deleted);
+            log.debug("Purged {} soft-deleted customers", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the soft-deleted customer holding a DNI, if any, so that the DNI can be given to another customer.
+     * <p>
+     * Runs in the transaction of the caller, once writing the customer taking the DNI has failed on it.
+     * </p>
+     *
+     * @param dni the DNI to release.
+     * @return the number of rows deleted, 0 or 1.
+     */
+    public int releaseDni(String dni) {
+        if (sharded) {
+            return 0;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM customer WHERE dni = ? AND deleted = TRUE", dni);
+        purgedRows.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * Tells whether a local time is inside the purge window.
+     *
+     * @param time the local time.
+     * @return {@code true} if the purger may run at that time.
+     */
+    boolean isInWindow(LocalTime time) {
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+}
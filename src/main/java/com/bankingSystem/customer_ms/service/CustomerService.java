@@ -1,15 +1,26 @@
 package com.bankingSystem.customer_ms.service;
 
 import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
 import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
 import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
 import com.bankingSystem.customer_ms.validators.CustomerValidator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing {@link Customer} entities.
@@ -17,19 +28,30 @@ import java.util.Optional;
  * This class provides the business logic for handling customer operations, such as creating,
  * updating, retrieving, and deleting customers. It interacts with the {@link CustomerRepository}
  * for database operations and performs additional business logic like validation and checking for
- * active bank accounts before allowing deletion of a customer.
+ * active bank accounts before allowing deletion of a customer. Every write publishes a
+ * {@link CustomerChangedEvent} inside its transaction, and reads run in read-only transactions so they can be
+ * served by a read replica.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class CustomerService implements CrudService<Customer, Integer> {
 
-    @Value("${bankaccount.ms.url}")
-    private String bankAccountMicroserviceUrl;
+    /**
+     * The number of customers read per query by {@link #streamAll(Function)}.
+     */
+    static final int STREAM_PAGE_SIZE = 500;
 
     private final CustomerRepository customerRepository;
+    private final CustomerSnapshotRepository customerSnapshotRepository;
     private final CustomerValidator customerValidator;
     private final BankAccountService bankAccountService;
+    private final AccountStatusProjection accountStatusProjection;
+    private final DeleteBulkhead deleteBulkhead;
+    private final CustomerLookupCoalescer customerLookupCoalescer;
+    private final CustomerPurger customerPurger;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private final RestTemplate restTemplate;
 
     /**
@@ -38,20 +60,96 @@ public class CustomerService implements CrudService<Customer, Integer> {
      * @return a list of all {@link Customer} entities.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Customer> getAll() {
         return customerRepository.findAll();
     }
 
+    /**
+     * Passes all customers, in ID order, to the given action while they are read from the database.
+     * <p>
+     * The customers are read in pages of {@value #STREAM_PAGE_SIZE}, each by its own short read-only query, and
+     * the next page is only read once the action has consumed the previous one. No transaction or connection is
+     * held while the action writes the customers to a slow client, and memory does not grow with the table. The
+     * pages are not one snapshot: a customer created or deleted during the call may or may not be passed, but
+     * every other customer is passed exactly once.
+     * </p>
+     *
+     * @param action the action consuming the customers.
+     * @param <R> the type of the result of the action.
+     * @return the result of the action.
+     */
+    public <R> R streamAll(Function<Iterator<Customer>, R> action) {
+        return action.apply(iterateAll());
+    }
+
+    /**
+     * Iterates over all customers, in ID order, reading them page by page like {@link #streamAll(Function)}.
+     * <p>
+     * The first page is read at once; the following ones as the iterator reaches them. The iterator holds no
+     * database resource, so it can be consumed across callbacks, such as those of gRPC flow control.
+     * </p>
+     *
+     * @return an iterator over the customers.
+     */
+    public Iterator<Customer> iterateAll() {
+        return Stream.iterate(customerPageAfter(0), page -> !page.isEmpty(), this::nextCustomerPage)
+                .flatMap(List::stream)
+                .iterator();
+    }
+
+    /**
+     * Reads the page of customers following a full page.
+     *
+     * @param page the previous page.
+     * @return the next page, or an empty list if the previous page was the last one.
+     */
+    private List<Customer> nextCustomerPage(List<Customer> page) {
+        return page.size() < STREAM_PAGE_SIZE ? List.of() : customerPageAfter(page.get(page.size() - 1).getCustomerId());
+    }
+
+    /**
+     * Reads the customers following an ID.
+     *
+     * @param afterId the ID of the last customer already read.
+     * @return at most {@value #STREAM_PAGE_SIZE} customers, in ID order.
+     */
+    private List<Customer> customerPageAfter(int afterId) {
+        return customerSnapshotRepository.findPageAfter(afterId, Limit.of(STREAM_PAGE_SIZE));
+    }
+
     /**
      * Retrieves a customer by its ID.
      *
      * @param id the ID of the customer to retrieve.
      * @return an {@link Optional} containing the customer, or an empty {@link Optional} if no customer
      *         is found with the given ID.
+     * <p>
+     * Concurrent lookups of the same ID share one query through the {@link CustomerLookupCoalescer}. The
+     * method does not open a transaction itself, so the callers waiting for a shared query do not hold a
+     * connection; the query runs in the read-only transaction of the repository.
+     * </p>
+     * <p>
+     * Coalescing can return a stale customer: a lookup that joins a query started before a write committed
+     * returns the customer as it was before the write, even if the write committed before the lookup began. The
+     * staleness is bounded by the duration of one query. A request that has itself written is not coalesced, so
+     * it always reads its own writes.
+     * </p>
      */
     @Override
     public Optional<Customer> getById(Integer id) {
-        return customerRepository.findById(id);
+        return customerLookupCoalescer.findById(id, customerRepository::findById);
+    }
+
+    /**
+     * Retrieves the customers with the given IDs, in one query.
+     *
+     * @param ids the IDs of the customers to retrieve.
+     * @return the customers found; IDs without a customer are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Customer> getAllById(List<Integer> ids) {
+        return customerRepository.findAllById(ids);
     }
 
     /**
@@ -63,19 +161,22 @@ public class CustomerService implements CrudService<Customer, Integer> {
      * @throws BusinessException if the customer with the given ID does not exist.
      * <p>
      * This method validates the customer data and updates the customer record in the repository.
-     * If the customer does not exist, a {@link BusinessException} is thrown.
+     * If the customer does not exist, a {@link BusinessException} is thrown. A new DNI still held by a
+     * soft-deleted customer is released when the write conflicts on it, see {@link #writeReleasingDni}.
      * </p>
      */
     @Override
     public Customer update(Integer id, Customer customer) {
         customerValidator.validateCustomerData(customer);
-
-        if (customerRepository.existsById(id)) {
+        return writeReleasingDni(customer.getDni(), () -> {
+            Customer before = customerRepository.findById(id)
+                    .map(existing -> existing.toBuilder().build())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer not found with id: " + id));
             customer.setCustomerId(id);
-            return customerRepository.save(customer);
-        } else {
-            throw new BusinessException("Customer not found with id: " + id);
-        }
+            Customer updated = customerRepository.save(customer);
+            eventPublisher.publishEvent(CustomerChangedEvent.updated(before, updated));
+            return updated;
+        });
     }
 
     /**
@@ -84,46 +185,130 @@ public class CustomerService implements CrudService<Customer, Integer> {
      * @param customer the {@link Customer} to create.
      * @return the created {@link Customer}.
      * <p>
-     * This method validates the customer data and persists the new customer record.
+     * This method validates the customer data and persists the new customer record. A DNI still held by a
+     * soft-deleted customer is released when the insert conflicts on it, see {@link #writeReleasingDni}.
      * </p>
      */
     @Override
     public Customer create(Customer customer) {
         customerValidator.validateCustomerData(customer);
-        return customerRepository.save(customer);
+        return writeReleasingDni(customer.getDni(), () -> {
+            Customer created = customerRepository.save(customer);
+            eventPublisher.publishEvent(CustomerChangedEvent.created(created));
+            return created;
+        });
+    }
+
+    /**
+     * Runs the write of a customer in a transaction, retrying it once if its DNI was held by a soft-deleted
+     * customer.
+     * <p>
+     * The validation only sees live customers, so a DNI still held by a soft-deleted row that the
+     * {@link CustomerPurger} has not removed yet makes the write fail on the unique key. Only then is that row
+     * deleted, through {@link CustomerPurger#releaseDni(String)}, and the write run again in a new transaction;
+     * writes whose DNI is free never pay for the extra delete. If no soft-deleted customer held the DNI, the
+     * original failure is thrown.
+     * </p>
+     *
+     * @param dni the DNI of the customer written.
+     * @param write the write, with the events it publishes.
+     * @return the written {@link Customer}.
+     */
+    private Customer writeReleasingDni(String dni, Supplier<Customer> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (DataIntegrityViolationException conflict) {
+            return transactionTemplate.execute(status -> {
+                if (customerPurger.releaseDni(dni) == 0) {
+                    throw conflict;
+                }
+                return write.get();
+            });
+        }
     }
 
     /**
      * Deletes a customer by its ID.
      * <p>
-     * A customer can only be deleted if they have no active bank accounts.
+     * A customer can only be deleted if they have no active bank accounts. The delete is soft: the row of the
+     * customer is only marked as deleted, and removed later by the {@link CustomerPurger}.
      * </p>
      *
      * @param customerId the ID of the customer to delete.
      * @return {@code true} if the customer was successfully deleted, otherwise {@code false}.
      * @throws BusinessException if the customer has active accounts or is not found.
      * <p>
-     * This method checks if the customer has active bank accounts using the {@link BankAccountService}.
-     * If the customer has active accounts, deletion is not allowed, and a {@link BusinessException} is thrown.
-     * If the customer is not found, an exception is also thrown.
+     * This method checks if the customer has active bank accounts in the local {@link AccountStatusProjection},
+     * and only asks the {@link BankAccountService} when the projection cannot answer. The remote check runs
+     * inside the {@link DeleteBulkhead}, so a slow bank account service cannot exhaust the request threads. If
+     * the customer has active accounts, deletion is not allowed, and a {@link BusinessException} is thrown. If the
+     * customer is not found, an exception is also thrown. Business errors keep their {@link ErrorCode}; any other
+     * failure is reported as {@link ErrorCode#INTERNAL_ERROR}.
+     * </p>
+     * <p>
+     * The account checks run outside any transaction, so a delete waiting for the bank account service holds
+     * no database connection; only the soft delete and its event run in a short transaction afterwards.
      * </p>
      */
     @Override
     public boolean delete(Integer customerId) {
         try {
-            customerRepository.findById(customerId).filter(customer -> !bankAccountService.hasActiveAccounts(customerId))
-                    .ifPresentOrElse(
-                            customer -> customerRepository.delete(customer),
-                            () -> {
-                                if (bankAccountService.hasActiveAccounts(customerId)) {
-                                    throw new BusinessException("Cannot delete customer with active accounts.");
-                                }
-                                throw new BusinessException(String.format("Customer with ID %d not found.", customerId));
-                            });
+            customerRepository.findById(customerId).orElseThrow(() -> customerNotFound(customerId));
+            if (hasActiveAccounts(customerId)) {
+                throw new BusinessException(ErrorCode.CUSTOMER_HAS_ACTIVE_ACCOUNTS, "Cannot delete customer with active accounts.");
+            }
+            transactionTemplate.executeWithoutResult(status -> deleteCustomer(
+                    customerRepository.findById(customerId).orElseThrow(() -> customerNotFound(customerId))));
             return true;
         } catch (RuntimeException e) {
-            throw new BusinessException("Exception: " + e.getMessage());
+            throw deleteFailure(e);
+        }
+    }
+
+    /**
+     * Builds the error of a delete whose customer does not exist.
+     *
+     * @param customerId the ID of the customer.
+     * @return the {@link BusinessException} to throw.
+     */
+    private static BusinessException customerNotFound(Integer customerId) {
+        return new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND, String.format("Customer with ID %d not found.", customerId));
+    }
+
+    /**
+     * Wraps a failure of {@link #delete(Integer)}, keeping the error code of business errors.
+     *
+     * @param failure the failure.
+     * @return the {@link BusinessException} to throw.
+     */
+    private static BusinessException deleteFailure(RuntimeException failure) {
+        if (failure instanceof BusinessException business) {
+            return new BusinessException(business.getCode(), "Exception: " + business.getMessage(), business.getCause());
         }
+        return new BusinessException(ErrorCode.INTERNAL_ERROR, "Exception: " + failure.getMessage(), failure);
+    }
+
+    /**
+     * Soft-deletes the customer and publishes the corresponding {@link CustomerChangedEvent}.
+     *
+     * @param customer the customer to delete.
+     */
+    private void deleteCustomer(Customer customer) {
+        customerRepository.delete(customer);
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(customer));
+    }
+
+    /**
+     * Checks for active bank accounts in the {@link AccountStatusProjection}, falling back to the bank account
+     * service through the {@link DeleteBulkhead} when the projection is stale or has no data for the customer.
+     *
+     * @param customerId the ID of the customer to check.
+     * @return {@code true} if the customer has active accounts, {@code false} otherwise.
+     * @throws BusinessException if the bulkhead is saturated or the remote check times out or fails.
+     */
+    private boolean hasActiveAccounts(Integer customerId) {
+        return accountStatusProjection.hasActiveAccounts(customerId)
+                .orElseGet(() -> deleteBulkhead.execute(() -> bankAccountService.hasActiveAccounts(customerId)));
     }
 
 }
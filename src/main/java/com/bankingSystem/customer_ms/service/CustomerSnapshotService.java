@@ -0,0 +1,212 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshot;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service keeping an in-process copy of the customer table, loaded from a memory-mapped snapshot.
+ * <p>
+ * At startup, before the application reports readiness, the latest snapshot file is mapped into memory and
+ * only the customers changed since its watermark are read from the database, through the change log. The copy
+ * is then caught up every {@code customer.snapshot.catch-up-interval-ms}, and a new snapshot is written every
+ * {@code customer.snapshot.write-interval-ms}, so a restarting pod only reads the latest changes. When no
+ * snapshot exists yet, one is written from a single streaming query first.
+ * </p>
+ * <p>
+ * The watermarks are change sequences, which the {@link CustomerChangeSequencer} assigns in commit order, so a
+ * change committed after a watermark was read always comes after it and the catch-up never skips one. The copy
+ * lags the database by at most one sequencer interval plus one catch-up interval. It is only active when
+ * {@code customer.snapshot.enabled} is {@code true}.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "customer.snapshot.enabled", havingValue = "true")
+public class CustomerSnapshotService implements ApplicationRunner {
+
+    private static final Customer TOMBSTONE = new Customer();
+
+    private final CustomerSnapshotRepository customerSnapshotRepository;
+    private final CustomerChangeRepository customerChangeRepository;
+    private final CustomerSyncService customerSyncService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path file;
+    private volatile View view;
+
+    /**
+     * Constructs a new instance of {@link CustomerSnapshotService}.
+     *
+     * @param customerSnapshotRepository the repository streaming the customer table.
+     * @param customerChangeRepository the repository of the change log, to read the snapshot watermark.
+     * @param customerSyncService the service reading the changes after a watermark.
+     * @param transactionManager the transaction manager of the snapshot query.
+     * @param file the path of the snapshot file.
+     */
+    public CustomerSnapshotService(CustomerSnapshotRepository customerSnapshotRepository,
+                                   CustomerChangeRepository customerChangeRepository,
+                                   CustomerSyncService customerSyncService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${customer.snapshot.file:snapshot/customers.snap}") String file) {
+        this.customerSnapshotRepository = customerSnapshotRepository;
+        this.customerChangeRepository = customerChangeRepository;
+        this.customerSyncService = customerSyncService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.file = Path.of(file);
+    }
+
+    /**
+     * Loads the snapshot and catches up with the database at startup.
+     *
+     * @param args the application arguments (unused).
+     * @throws IOException if the snapshot cannot be read or written.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long startedAt = System.nanoTime();
+        if (!Files.exists(file)) {
+            writeSnapshot();
+        }
+        View loaded = install(CustomerSnapshot.open(file));
+        log.info("Customer snapshot loaded: {} customers, {} changed since, in {} ms", loaded.snapshot.size(),
+                loaded.overlay.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Finds a customer in the in-process copy.
+     *
+     * @param id the ID of the customer.
+     * @return an {@link Optional} containing the customer, or an empty {@link Optional} if it does not exist.
+     * @throws IllegalStateException if the snapshot has not been loaded yet.
+     */
+    public Optional<Customer> findById(int id) {
+        View current = view;
+        if (current == null) {
+            throw new IllegalStateException("The customer snapshot has not been loaded yet.");
+        }
+        Customer changed = current.overlay.get(id);
+        if (changed != null) {
+            return changed == TOMBSTONE ? Optional.empty() : Optional.of(changed);
+        }
+        return current.snapshot.findById(id);
+    }
+
+    /**
+     * Tells whether the snapshot has been loaded.
+     *
+     * @return {@code true} once {@link #findById(int)} can be used.
+     */
+    public boolean isReady() {
+        return view != null;
+    }
+
+    /**
+     * Applies the customer changes written since the last catch-up.
+     */
+    @Scheduled(fixedDelayString = "${customer.snapshot.catch-up-interval-ms:1000}")
+    public synchronized void catchUp() {
+        if (view != null) {
+            catchUp(view);
+        }
+    }
+
+    /**
+     * Writes a new snapshot and switches the in-process copy to it.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Scheduled(fixedDelayString = "${customer.snapshot.write-interval-ms:3600000}",
+            initialDelayString = "${customer.snapshot.write-interval-ms:3600000}")
+    public void refresh() throws IOException {
+        writeSnapshot();
+        install(CustomerSnapshot.open(file));
+    }
+
+    /**
+     * Writes a snapshot of the customer table with a single streaming query.
+     * <p>
+     * The watermark is read before the customers, so changes committed while the table is read, or committed
+     * before but not numbered yet, are applied again by the next catch-up; applying a change twice is harmless.
+     * </p>
+     *
+     * @return the number of customers written.
+     */
+    public int writeSnapshot() {
+        return readOnlyTransaction.execute(status -> {
+            long watermark = customerChangeRepository.findMaxSeq();
+            try (Stream<Customer> customers = customerSnapshotRepository.streamAllOrderedById()) {
+                return CustomerSnapshotWriter.write(file, watermark, customers.iterator());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write the customer snapshot to " + file, e);
+            }
+        });
+    }
+
+    /**
+     * Catches a new snapshot up with the database and makes it the current copy.
+     *
+     * @param snapshot the new snapshot.
+     * @return the installed view.
+     */
+    private synchronized View install(CustomerSnapshot snapshot) {
+        View loaded = new View(snapshot);
+        catchUp(loaded);
+        view = loaded;
+        return loaded;
+    }
+
+    /**
+     * Applies the changes after the watermark of a view, page by page.
+     *
+     * @param target the view to update.
+     */
+    private void catchUp(View target) {
+        CustomerChangePage page;
+        do {
+            page = customerSyncService.getChangesSince(target.watermark, CustomerSyncService.MAX_PAGE_SIZE);
+            for (CustomerChangeEntry entry : page.changes()) {
+                target.overlay.put(entry.customerId(), entry.customer() != null ? entry.customer() : TOMBSTONE);
+            }
+            target.watermark = page.watermark();
+        } while (page.hasMore());
+    }
+
+    /**
+     * A snapshot plus the customers changed after its watermark.
+     */
+    private static final class View {
+
+        private final CustomerSnapshot snapshot;
+        private final Map<Integer, Customer> overlay = new ConcurrentHashMap<>();
+        private long watermark;
+
+        private View(CustomerSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.watermark = snapshot.watermark();
+        }
+    }
+}
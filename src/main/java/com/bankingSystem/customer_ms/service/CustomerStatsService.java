@@ -0,0 +1,298 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CreationBucket;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import com.bankingSystem.customer_ms.repository.CustomerStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Service providing aggregate statistics of the customers.
+ * <p>
+ * The statistics are computed with aggregate queries of the {@link CustomerStatsRepository}. When
+ * {@code customer.stats.incremental} is enabled, they are loaded once and then kept in memory, updated from
+ * every committed {@link CustomerChangedEvent}, so serving them does not touch the database. The in-memory
+ * copy is reloaded every {@code customer.stats.resync-interval-ms} to correct any drift, such as writes made
+ * by other instances.
+ * </p>
+ * <p>
+ * A reload runs the aggregate queries without holding the monitor of the service, so committing writes are
+ * never held back by it, and concurrent requests wait for the reload in progress instead of starting their own.
+ * The changes committed while the queries run are recorded and applied once the reloaded counters are swapped
+ * in; only a change committed in that window before the query reading it can be counted twice, until the next
+ * resync.
+ * </p>
+ */
+@Service
+public class CustomerStatsService {
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final boolean incremental;
+    private final int creationDays;
+
+    private long totalCustomers;
+    private final Map<String, Long> customersByDomain = new HashMap<>();
+    private final TreeMap<LocalDate, Long> creationsByDay = new TreeMap<>();
+    private boolean loaded;
+    private CustomerStats snapshot;
+    private CompletableFuture<CustomerStats> reload;
+    private List<CustomerChangedEvent> changesDuringReload;
+
+    /**
+     * Constructs a new instance of {@link CustomerStatsService}.
+     *
+     * @param customerStatsRepository the repository running the aggregate queries.
+     * @param incremental whether the statistics are kept in memory between requests.
+     * @param creationDays the number of days covered by the creation buckets, today included.
+     */
+    public CustomerStatsService(CustomerStatsRepository customerStatsRepository,
+                                @Value("${customer.stats.incremental:true}") boolean incremental,
+                                @Value("${customer.stats.creation-days:30}") int creationDays) {
+        this.customerStatsRepository = customerStatsRepository;
+        this.incremental = incremental;
+        this.creationDays = creationDays;
+    }
+
+    /**
+     * Retrieves the customer statistics.
+     *
+     * @return the current {@link CustomerStats}.
+     */
+    public CustomerStats getStats() {
+        if (!incremental) {
+            return query();
+        }
+        CompletableFuture<CustomerStats> started;
+        CompletableFuture<CustomerStats> inProgress;
+        synchronized (this) {
+            if (loaded) {
+                return currentSnapshot();
+            }
+            started = reload == null ? startReload() : null;
+            inProgress = reload;
+        }
+        return started != null ? reload(started) : awaitReload(inProgress);
+    }
+
+    /**
+     * Applies a committed customer change to the in-memory statistics.
+     *
+     * @param event the customer change.
+     */
+    @TransactionalEventListener
+    public synchronized void onCustomerChanged(CustomerChangedEvent event) {
+        if (changesDuringReload != null) {
+            changesDuringReload.add(event);
+        } else if (incremental && loaded) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Drops the in-memory statistics, so the next request reloads them from the database.
+     */
+    @Scheduled(fixedDelayString = "${customer.stats.resync-interval-ms:300000}")
+    public synchronized void resync() {
+        loaded = false;
+        snapshot = null;
+    }
+
+    /**
+     * Marks a reload as in progress, so concurrent requests wait for it and committed changes are recorded.
+     *
+     * @return the future completed with the reloaded statistics.
+     */
+    private CompletableFuture<CustomerStats> startReload() {
+        reload = new CompletableFuture<>();
+        changesDuringReload = new ArrayList<>();
+        return reload;
+    }
+
+    /**
+     * Runs the aggregate queries outside the monitor, then swaps the results in along with the changes committed
+     * in the meantime.
+     * <p>
+     * Called outside the monitor by the request that started the reload.
+     * </p>
+     *
+     * @param inProgress the future of the reload, completed with its result.
+     * @return the reloaded statistics.
+     */
+    private CustomerStats reload(CompletableFuture<CustomerStats> inProgress) {
+        try {
+            CustomerStats stats = swapIn(query());
+            inProgress.complete(stats);
+            return stats;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                reload = null;
+                changesDuringReload = null;
+            }
+            inProgress.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the in-memory statistics with freshly computed ones and applies the changes recorded meanwhile.
+     *
+     * @param stats the statistics computed by the aggregate queries.
+     * @return the current {@link CustomerStats}.
+     */
+    private synchronized CustomerStats swapIn(CustomerStats stats) {
+        load(stats);
+        changesDuringReload.forEach(this::apply);
+        reload = null;
+        changesDuringReload = null;
+        return currentSnapshot();
+    }
+
+    /**
+     * Waits for the reload started by another request.
+     *
+     * @param inProgress the future of the reload.
+     * @return the reloaded statistics.
+     */
+    private CustomerStats awaitReload(CompletableFuture<CustomerStats> inProgress) {
+        try {
+            return inProgress.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Returns the statistics of the in-memory counters, building them again if a change was applied.
+     *
+     * @return the current {@link CustomerStats}.
+     */
+    private CustomerStats currentSnapshot() {
+        if (snapshot == null) {
+            snapshot = buildSnapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Applies a customer change to the in-memory counters.
+     *
+     * @param event the customer change.
+     */
+    private void apply(CustomerChangedEvent event) {
+        if (event.before() != null) {
+            remove(event.before());
+        }
+        if (event.after() != null) {
+            add(event.after());
+        }
+        if (event.type() == CustomerChangeType.CREATED) {
+            creationsByDay.merge(LocalDate.now(), 1L, Long::sum);
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Computes the statistics with the aggregate queries.
+     *
+     * @return the computed {@link CustomerStats}.
+     */
+    private CustomerStats query() {
+        LocalDate firstDay = firstDay();
+        return new CustomerStats(customerStatsRepository.countCustomers(),
+                customerStatsRepository.countByEmailDomain(),
+                customerStatsRepository.countChangesPerDay(CustomerChangeType.CREATED, firstDay.atStartOfDay()),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Replaces the in-memory statistics with freshly computed ones.
+     *
+     * @param stats the statistics computed by the aggregate queries.
+     */
+    private void load(CustomerStats stats) {
+        totalCustomers = stats.totalCustomers();
+        customersByDomain.clear();
+        stats.emailDomains().forEach(count -> customersByDomain.put(count.domain(), count.customers()));
+        creationsByDay.clear();
+        stats.creationsPerDay().forEach(bucket -> creationsByDay.put(bucket.day(), bucket.created()));
+        loaded = true;
+        snapshot = stats;
+    }
+
+    /**
+     * Builds the statistics from the in-memory counters, dropping the days that left the window.
+     *
+     * @return the current {@link CustomerStats}.
+     */
+    private CustomerStats buildSnapshot() {
+        creationsByDay.headMap(firstDay()).clear();
+        List<EmailDomainCount> domains = customersByDomain.entrySet().stream()
+                .map(entry -> new EmailDomainCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(EmailDomainCount::customers).reversed()
+                        .thenComparing(EmailDomainCount::domain))
+                .collect(Collectors.toList());
+        List<CreationBucket> creations = creationsByDay.entrySet().stream()
+                .map(entry -> new CreationBucket(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        return new CustomerStats(totalCustomers, domains, creations, LocalDateTime.now());
+    }
+
+    /**
+     * Returns the first day of the creation window.
+     *
+     * @return the oldest day covered by the creation buckets.
+     */
+    private LocalDate firstDay() {
+        return LocalDate.now().minusDays(Math.max(1, creationDays) - 1L);
+    }
+
+    /**
+     * Counts a customer in the total and in its email domain.
+     *
+     * @param customer the customer to count.
+     */
+    private void add(Customer customer) {
+        totalCustomers++;
+        customersByDomain.merge(domainOf(customer), 1L, Long::sum);
+    }
+
+    /**
+     * Removes a customer from the total and from its email domain.
+     *
+     * @param customer the customer to remove.
+     */
+    private void remove(Customer customer) {
+        totalCustomers--;
+        customersByDomain.computeIfPresent(domainOf(customer), (domain, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Extracts the email domain of a customer, as the aggregate query does.
+     *
+     * @param customer the customer.
+     * @return the domain of its email, in lower case.
+     */
+    private String domainOf(Customer customer) {
+        String email = customer.getEmail();
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChange;
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the incremental synchronization of customer data.
+ * <p>
+ * Consumers keep the watermark returned with each page and ask only for the changes after it, instead of
+ * downloading the full customer list. A page reads a range of the change log by its primary key and loads
+ * the changed customers with a single query, so an incremental sync costs in proportion to the number of
+ * changes rather than to the size of the customer table.
+ * </p>
+ * <p>
+ * The sequence is assigned in commit order by the {@link CustomerChangeSequencer}, and changes not numbered yet
+ * are not returned, so a change can never commit behind a watermark already handed out: resuming from any
+ * watermark misses nothing. A change becomes visible here one sequencer interval after its commit at most.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerSyncService {
+
+    /**
+     * The maximum number of changes returned in a page.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final CustomerChangeRepository customerChangeRepository;
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Retrieves the changes written after the given watermark.
+     * <p>
+     * Several changes of the same customer within a page are collapsed into the latest one, which carries
+     * the current state of the customer. A customer that no longer exists is returned as a tombstone.
+     * </p>
+     *
+     * @param watermark the sequence of the last change already applied by the consumer, or 0 for a full sync.
+     * @param limit the maximum number of changes to read, capped at {@link #MAX_PAGE_SIZE}.
+     * @return a {@link CustomerChangePage} with the changes and the next watermark.
+     */
+    @Transactional(readOnly = true)
+    public CustomerChangePage getChangesSince(long watermark, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<CustomerChange> changes = customerChangeRepository
+                .findBySeqGreaterThanOrderBySeqAsc(watermark, PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        List<CustomerChange> page = hasMore ? changes.subList(0, pageSize) : changes;
+        long nextWatermark = page.isEmpty() ? watermark : page.get(page.size() - 1).getSeq();
+        return new CustomerChangePage(toEntries(page), nextWatermark, hasMore);
+    }
+
+    /**
+     * Collapses the changes by customer and attaches the current state of each customer.
+     *
+     * @param page the changes of the page, in sequence order.
+     * @return the change entries, ordered by the sequence of their latest change.
+     */
+    private List<CustomerChangeEntry> toEntries(List<CustomerChange> page) {
+        Map<Integer, CustomerChange> latest = new LinkedHashMap<>();
+        for (CustomerChange change : page) {
+            latest.remove(change.getCustomerId());
+            latest.put(change.getCustomerId(), change);
+        }
+        Map<Integer, Customer> customers = loadCustomers(latest.values());
+        return latest.values().stream()
+                .map(change -> toEntry(change, customers.get(change.getCustomerId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the customers that were not deleted, with a single query.
+     *
+     * @param changes the latest change of each customer.
+     * @return the existing customers by ID.
+     */
+    private Map<Integer, Customer> loadCustomers(Collection<CustomerChange> changes) {
+        List<Integer> ids = changes.stream()
+                .filter(change -> change.getChangeType() != CustomerChangeType.DELETED)
+                .map(CustomerChange::getCustomerId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getCustomerId, Function.identity()));
+    }
+
+    /**
+     * Builds the entry of a change, turning it into a tombstone if the customer no longer exists.
+     *
+     * @param change the latest change of the customer.
+     * @param customer the current state of the customer, or {@code null} if it no longer exists.
+     * @return the change entry.
+     */
+    private CustomerChangeEntry toEntry(CustomerChange change, Customer customer) {
+        CustomerChangeType type = customer == null ? CustomerChangeType.DELETED : change.getChangeType();
+        return new CustomerChangeEntry(change.getSeq(), change.getCustomerId(), type, customer);
+    }
+}
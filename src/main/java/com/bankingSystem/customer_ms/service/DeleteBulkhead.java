@@ -0,0 +1,98 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead isolating the remote calls made while deleting a customer.
+ * <p>
+ * Remote work runs on a small dedicated thread pool with a bounded queue, and callers wait at most
+ * a fixed timeout for its result. When the bank account service degrades, delete requests fail fast
+ * instead of pinning servlet threads, so the database-only read endpoints keep their latency.
+ * </p>
+ */
+@Component
+public class DeleteBulkhead {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    /**
+     * Constructs a new instance of {@link DeleteBulkhead}.
+     *
+     * @param maxConcurrent the maximum number of remote calls running at the same time.
+     * @param queueCapacity the maximum number of remote calls waiting for a free thread.
+     * @param timeoutMillis the maximum time a caller waits for a remote call to complete; at least the connect plus
+     *                      the read timeout of the bank account calls.
+     */
+    public DeleteBulkhead(@Value("${customer.delete.bulkhead.max-concurrent:10}") int maxConcurrent,
+                          @Value("${customer.delete.bulkhead.queue-capacity:20}") int queueCapacity,
+                          @Value("${customer.delete.bulkhead.timeout-ms:2500}") long timeoutMillis) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "delete-bulkhead-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the given remote call inside the bulkhead and waits for its result.
+     *
+     * @param call the remote call to execute.
+     * @param <T> the type of the result.
+     * @return the result of the call.
+     * @throws BusinessException if the bulkhead is full, the call times out or the call fails.
+     */
+    public <T> T execute(Supplier<T> call) {
+        Future<T> future = submit(call);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, "Bank account service did not respond in time.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, "Interrupted while waiting for bank account service.");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the bulkhead threads when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Supplier<T> call) {
+        try {
+            return executor.submit(call::get);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException(ErrorCode.OVERLOADED, "Too many pending bank account checks, try again later.");
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new BusinessException(ErrorCode.ACCOUNT_SERVICE_UNAVAILABLE, BankAccountService.UNAVAILABLE_MESSAGE, cause);
+    }
+}
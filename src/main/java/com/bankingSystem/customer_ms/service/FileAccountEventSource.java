@@ -0,0 +1,119 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.AccountEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link AccountEventSource} reading events from a local file, one JSON document per line.
+ * <p>
+ * Lines look like {@code {"id":42,"customerId":7,"type":"OPENED"}}. The source remembers where its last read
+ * stopped, so following reads only go through the lines appended since; a line that is not terminated yet is
+ * left for a later read. This is the default source, for local runs and tests; deployments that consume the
+ * events from a broker register their own {@link AccountEventSource} bean.
+ * </p>
+ */
+public class FileAccountEventSource implements AccountEventSource {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private long resumeAfterId = -1;
+    private long resumeOffset;
+
+    /**
+     * Constructs a new instance of {@link FileAccountEventSource}.
+     *
+     * @param file the file the events are read from.
+     * @param objectMapper the mapper parsing the lines.
+     */
+    public FileAccountEventSource(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the events after the given one, resuming from the position of the previous read when it ended
+     * at that event.
+     *
+     * @param afterEventId the ID of the last event already applied, or 0 to read from the beginning.
+     * @param maxEvents the maximum number of events to return.
+     * @return the events read, or an empty list if the file does not exist.
+     * @throws BusinessException if the file cannot be read or contains an invalid line.
+     */
+    @Override
+    public synchronized List<AccountEvent> readAfter(long afterEventId, int maxEvents) {
+        try {
+            if (!Files.exists(file)) {
+                return List.of();
+            }
+            long offset = afterEventId == resumeAfterId && resumeOffset <= Files.size(file) ? resumeOffset : 0;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                in.skipNBytes(offset);
+                return read(in, offset, afterEventId, maxEvents);
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error reading account events from " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads complete lines until enough events have been collected, and remembers where to resume.
+     *
+     * @param in the file content, positioned at {@code offset}.
+     * @param offset the position of {@code in} in the file.
+     * @param afterEventId the ID of the last event already applied.
+     * @param maxEvents the maximum number of events to return.
+     * @return the events read.
+     * @throws IOException if the file cannot be read.
+     */
+    private List<AccountEvent> read(InputStream in, long offset, long afterEventId, int maxEvents) throws IOException {
+        List<AccountEvent> events = new ArrayList<>();
+        long lastId = afterEventId;
+        byte[] line;
+        while (events.size() < maxEvents && (line = readLine(in)) != null) {
+            offset += line.length + 1;
+            AccountEvent event = parse(line);
+            if (event != null && event.id() > lastId) {
+                events.add(event);
+                lastId = event.id();
+            }
+        }
+        resumeAfterId = lastId;
+        resumeOffset = offset;
+        return events;
+    }
+
+    /**
+     * Reads the next line terminated by a line feed.
+     *
+     * @param in the file content.
+     * @return the line without its terminator, or {@code null} at the end of the file or of the complete lines.
+     * @throws IOException if the file cannot be read.
+     */
+    private static byte[] readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        for (int b = in.read(); b != -1; b = in.read()) {
+            if (b == '\n') {
+                return line.toByteArray();
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private AccountEvent parse(byte[] line) throws IOException {
+        String json = new String(line, StandardCharsets.UTF_8).strip();
+        return json.isEmpty() ? null : objectMapper.readValue(json, AccountEvent.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link AuditSink} appending the records to a local file, one JSON document per line.
+ * <p>
+ * When a batch would grow the file past {@code maxBytes}, the file is rotated first: it is renamed with the
+ * suffix {@code .1}, older files move up one suffix, and the file past {@code maxFiles} is deleted. A batch never
+ * spans two files. When {@code force} is set, every batch is forced to disk before {@link #write(List)} returns.
+ * </p>
+ */
+public class FileAuditSink implements AuditSink, Closeable {
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final boolean force;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    /**
+     * Constructs a new instance of {@link FileAuditSink}.
+     *
+     * @param file the file the records are appended to.
+     * @param maxBytes the size past which the file is rotated.
+     * @param maxFiles the number of rotated files kept.
+     * @param force whether every batch is forced to disk.
+     * @param objectMapper the mapper serializing the records.
+     */
+    public FileAuditSink(Path file, long maxBytes, int maxFiles, boolean force, ObjectMapper objectMapper) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        this.force = force;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the batch to the file, rotating it first if needed.
+     *
+     * @param records the records to store, in write order.
+     * @throws BusinessException if the file cannot be written or a record cannot be serialized.
+     */
+    @Override
+    public synchronized void write(List<CustomerAuditRecord> records) {
+        ByteBuffer lines = ByteBuffer.wrap(toLines(records));
+        try {
+            FileChannel output = channelFor(lines.remaining());
+            while (lines.hasRemaining()) {
+                output.write(lines);
+            }
+            if (force) {
+                output.force(false);
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error writing audit records to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns the channel of the file, rotating the file first if the batch would grow it past the limit.
+     *
+     * @param batchBytes the size of the batch.
+     * @return the open channel.
+     * @throws IOException if the file cannot be rotated or opened.
+     */
+    private FileChannel channelFor(int batchBytes) throws IOException {
+        if (channel == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        if (channel.size() > 0 && channel.size() + batchBytes > maxBytes) {
+            close();
+            rotate();
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * Renames the file to {@code .1}, moving the older files up one suffix and dropping the oldest.
+     *
+     * @throws IOException if a file cannot be moved or deleted.
+     */
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int index = maxFiles - 1; index >= 1; index--) {
+            if (Files.exists(rotated(index))) {
+                Files.move(rotated(index), rotated(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Returns the path of a rotated file.
+     *
+     * @param index the suffix of the file, from 1 for the most recent.
+     * @return the path of the rotated file.
+     */
+    Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * Formats the records as JSON lines.
+     *
+     * @param records the records to format.
+     * @return the UTF-8 lines, each ending with a line feed.
+     * @throws BusinessException if a record cannot be serialized.
+     */
+    private byte[] toLines(List<CustomerAuditRecord> records) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(256 * records.size());
+        try {
+            for (CustomerAuditRecord auditRecord : records) {
+                lines.write(objectMapper.writeValueAsBytes(auditRecord));
+                lines.write('\n');
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error serializing customer audit record: " + e.getMessage(), e);
+        }
+        return lines.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link OutboxSink} appending events to a local file, one JSON document per line.
+ * <p>
+ * This is the default sink; deployments that push to a broker register their own {@link OutboxSink} bean.
+ * </p>
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    /**
+     * Constructs a new instance of {@link FileOutboxSink}.
+     *
+     * @param file the file the events are appended to.
+     */
+    public FileOutboxSink(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends the batch to the file.
+     *
+     * @param events the events to deliver, in write order.
+     * @throws BusinessException if the file cannot be written.
+     */
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        String lines = events.stream().map(this::toLine).collect(Collectors.joining());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error writing outbox events to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Formats an event as a single JSON line.
+     *
+     * @param event the event to format.
+     * @return the JSON line, including the line separator.
+     */
+    private String toLine(OutboxEvent event) {
+        return String.format("{\"id\":%d,\"customerId\":%d,\"type\":\"%s\",\"createdAt\":\"%s\",\"customer\":%s}%n",
+                event.getId(), event.getCustomerId(), event.getEventType(), event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,214 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.diagnostics.CustomerRequestEvent;
+import com.bankingSystem.customer_ms.diagnostics.CustomerValidationEvent;
+import com.bankingSystem.customer_ms.diagnostics.RemoteCallEvent;
+import com.bankingSystem.customer_ms.diagnostics.RepositoryQueryEvent;
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.RecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service controlling an on-demand Java Flight Recorder recording.
+ * <p>
+ * At most one recording is managed at a time. It uses the JFR settings of
+ * {@code customer.diagnostics.jfr.settings}, by default the {@code default} settings of the running JDK, and
+ * enables the customer-ms events, recording only the ones lasting longer than
+ * {@code customer.diagnostics.jfr.threshold-ms}. The {@code jdk.InitialSystemProperty} and
+ * {@code jdk.InitialEnvironmentVariable} events are disabled whatever the settings, since their values include the
+ * database credentials. Outside a recording the custom events are disabled and cost a single check on the
+ * instrumented paths. Data older than {@code max-age-seconds} or beyond
+ * {@code max-size-mb} is discarded, so a forgotten recording cannot fill the disk.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "customer.diagnostics.jfr.enabled", havingValue = "true")
+public class FlightRecordingService {
+
+    private static final List<Class<? extends Event>> CUSTOMER_EVENTS = List.of(CustomerRequestEvent.class,
+            CustomerValidationEvent.class, RepositoryQueryEvent.class, RemoteCallEvent.class);
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialSystemProperty",
+            "jdk.InitialEnvironmentVariable");
+
+    private final String settings;
+    private final Duration threshold;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+
+    /**
+     * Constructs a new instance of {@link FlightRecordingService}.
+     *
+     * @param settings the JFR settings of the recording: the location of a {@code .jfc} file, such as
+     *                 {@code file:/etc/customer-ms/custom.jfc}, or the name of JDK settings ({@code default} or
+     *                 {@code profile}).
+     * @param thresholdMillis the minimum duration of the recorded customer-ms events.
+     * @param maxAgeSeconds how long recorded data is kept.
+     * @param maxSizeMegabytes how much recorded data is kept.
+     */
+    public FlightRecordingService(@Value("${customer.diagnostics.jfr.settings:default}") String settings,
+                                  @Value("${customer.diagnostics.jfr.threshold-ms:0}") long thresholdMillis,
+                                  @Value("${customer.diagnostics.jfr.max-age-seconds:900}") long maxAgeSeconds,
+                                  @Value("${customer.diagnostics.jfr.max-size-mb:100}") long maxSizeMegabytes) {
+        this.settings = settings;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.maxSizeBytes = maxSizeMegabytes * 1024 * 1024;
+    }
+
+    /**
+     * Starts a new recording, replacing the previous one once it has stopped.
+     *
+     * @return the state of the new recording.
+     * @throws BusinessException if a recording is already running.
+     */
+    public synchronized RecordingStatus start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BusinessException(ErrorCode.CONFLICT, "A flight recording is already running.");
+        }
+        close();
+        recording = newRecording();
+        recording.start();
+        return toStatus(recording);
+    }
+
+    /**
+     * Stops the current recording; its data can still be dumped until the next start.
+     *
+     * @return the state of the stopped recording.
+     * @throws BusinessException if no recording was started.
+     */
+    public synchronized RecordingStatus stop() {
+        Recording current = current();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+        }
+        return toStatus(current);
+    }
+
+    /**
+     * Retrieves the state of the current recording.
+     *
+     * @return an {@link Optional} containing the state, or an empty {@link Optional} if no recording was started.
+     */
+    public synchronized Optional<RecordingStatus> getStatus() {
+        return Optional.ofNullable(recording).map(this::toStatus);
+    }
+
+    /**
+     * Writes the data of the current recording to a temporary file.
+     *
+     * @return the path of the {@code .jfr} file; the caller is responsible for deleting it.
+     * @throws IOException if the file cannot be written.
+     * @throws BusinessException if no recording was started.
+     */
+    public synchronized Path dump() throws IOException {
+        Path file = Files.createTempFile("customer-ms-", ".jfr");
+        current().dump(file);
+        return file;
+    }
+
+    /**
+     * Closes the current recording and releases its data.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Returns the current recording.
+     *
+     * @return the current recording.
+     * @throws BusinessException if no recording was started.
+     */
+    private Recording current() {
+        if (recording == null) {
+            throw new BusinessException(ErrorCode.CONFLICT, "No flight recording has been started.");
+        }
+        return recording;
+    }
+
+    /**
+     * Creates a recording with the configured settings, the customer-ms events and without the sensitive events.
+     *
+     * @return the recording, not started.
+     */
+    private Recording newRecording() {
+        Recording newRecording = new Recording(configuration());
+        newRecording.setName("customer-ms");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.setMaxSize(maxSizeBytes);
+        CUSTOMER_EVENTS.forEach(type -> newRecording.enable(type).withThreshold(threshold));
+        SENSITIVE_EVENTS.forEach(newRecording::disable);
+        return newRecording;
+    }
+
+    /**
+     * Loads the configured JFR settings, from a {@code .jfc} file when the settings are a resource location.
+     *
+     * @return the JFR {@link Configuration}.
+     * @throws BusinessException if the settings do not exist.
+     */
+    private Configuration configuration() {
+        if (!settings.contains(":")) {
+            return namedConfiguration();
+        }
+        Resource resource = new DefaultResourceLoader().getResource(settings);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        } catch (IOException | ParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Unknown flight recording settings: " + settings);
+        }
+    }
+
+    /**
+     * Loads JDK settings by name.
+     *
+     * @return the JFR {@link Configuration}.
+     * @throws BusinessException if the settings do not exist.
+     */
+    private Configuration namedConfiguration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Unknown flight recording settings: " + settings);
+        }
+    }
+
+    /**
+     * Describes a recording.
+     *
+     * @param target the recording.
+     * @return its {@link RecordingStatus}.
+     */
+    private RecordingStatus toStatus(Recording target) {
+        return new RecordingStatus(target.getId(), target.getState().name(), settings, target.getStartTime(),
+                target.getStopTime(), target.getSize());
+    }
+}
@@ -0,0 +1,79 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * {@link AuditSink} inserting the records into the {@code customer_audit} table.
+ * <p>
+ * A batch is sent as one JDBC batch in one transaction, so it is stored whole or not at all; with
+ * {@code rewriteBatchedStatements} on the MySQL URL, the driver sends it as a single multi-row insert. The images
+ * of the customer are stored as JSON.
+ * </p>
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT = "INSERT INTO customer_audit "
+            + "(customer_id, change_type, before_image, after_image, recorded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new instance of {@link JdbcAuditSink}.
+     *
+     * @param jdbcTemplate the template running the inserts on the primary database.
+     * @param transactionTemplate the template used to run each batch in its own transaction.
+     * @param objectMapper the mapper serializing the images of the customer.
+     */
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Inserts the batch.
+     *
+     * @param records the records to store, in write order.
+     * @throws BusinessException if an image cannot be serialized.
+     */
+    @Override
+    public void write(List<CustomerAuditRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, records, records.size(),
+                (statement, auditRecord) -> {
+                    statement.setInt(1, auditRecord.customerId());
+                    statement.setString(2, auditRecord.type().name());
+                    statement.setString(3, toJson(auditRecord.before()));
+                    statement.setString(4, toJson(auditRecord.after()));
+                    statement.setTimestamp(5, Timestamp.valueOf(auditRecord.recordedAt()));
+                }));
+    }
+
+    /**
+     * Serializes an image of the customer.
+     *
+     * @param customer the image, or {@code null}.
+     * @return the JSON image, or {@code null}.
+     */
+    private String toJson(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(customer);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error serializing customer audit record: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+import com.bankingSystem.customer_ms.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listener writing every {@link CustomerChangedEvent} to the transactional outbox.
+ * <p>
+ * The listener runs synchronously and requires the transaction of the customer write, so the outbox row is
+ * committed or rolled back together with the change it describes.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventListener {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores the change in the outbox.
+     *
+     * @param event the customer change.
+     * @throws BusinessException if the customer cannot be serialized.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .customerId(event.customerId())
+                .eventType(event.type())
+                .payload(toJson(event))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Serializes the latest image of the customer.
+     *
+     * @param event the customer change.
+     * @return the JSON image of the customer.
+     */
+    private String toJson(CustomerChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.current());
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error serializing customer change: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+import com.bankingSystem.customer_ms.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service relaying the transactional outbox to the configured {@link OutboxSink}.
+ * <p>
+ * The relay drains the outbox in batches, oldest first. Each batch is read under a row lock, handed to the
+ * sink and deleted in a single transaction; if the sink fails, the transaction rolls back and the batch is
+ * retried on the next run. Because batches are delivered whole and in write order, the events of a given
+ * customer always reach the sink in the order they were written.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructs a new instance of {@link OutboxRelay}.
+     *
+     * @param outboxEventRepository the repository of pending events.
+     * @param outboxSink the sink the events are delivered to.
+     * @param transactionTemplate the template used to run each batch in its own transaction.
+     * @param batchSize the maximum number of events delivered per batch.
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${customer.outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Delivers pending events until the outbox is empty or a batch fails.
+     *
+     * @return the number of events delivered.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.relay.interval-ms:1000}")
+    public int relayPending() {
+        int delivered = 0;
+        try {
+            int batch;
+            do {
+                batch = relayBatch();
+                delivered += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay stopped after {} events, will retry: {}", delivered, e.getMessage());
+        }
+        return delivered;
+    }
+
+    /**
+     * Delivers and removes one batch of events in a single transaction.
+     *
+     * @return the number of events delivered.
+     */
+    int relayBatch() {
+        Integer delivered = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.ofSize(batchSize));
+            if (!events.isEmpty()) {
+                outboxSink.publish(events);
+                outboxEventRepository.deleteAllInBatch(events);
+            }
+            return events.size();
+        });
+        return delivered == null ? 0 : delivered;
+    }
+}
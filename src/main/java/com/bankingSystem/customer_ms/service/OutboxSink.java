@@ -0,0 +1,22 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the customer change events relayed from the transactional outbox.
+ * <p>
+ * Implementations receive batches in write order and must deliver all the events of a batch or throw, in
+ * which case the whole batch is retried later. Delivery is therefore at-least-once.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events.
+     *
+     * @param events the events to deliver, in write order.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,108 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Service that warms up the request path before the application reports readiness.
+ * <p>
+ * Spring Boot only publishes the {@code ACCEPTING_TRAFFIC} readiness state after all application runners
+ * have completed, so running the warm-up here keeps the pod out of the load balancer until the validator,
+ * the Jackson serializers, the repository read queries and the pooled database connections have gone through
+ * a number of synthetic iterations and are compiled and warm.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService implements ApplicationRunner {
+
+    private final CustomerValidator customerValidator;
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${customer.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.warmup.iterations:2000}")
+    private int iterations;
+
+    @Value("${customer.warmup.threads:4}")
+    private int threads;
+
+    /**
+     * Runs the warm-up iterations on a small thread pool, so several pooled connections are opened.
+     *
+     * @param args the application arguments (unused).
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            CompletableFuture.allOf(IntStream.range(0, iterations)
+                    .mapToObj(iteration -> CompletableFuture.runAsync(() -> warmUp(iteration), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Warm-up completed: {} iterations in {} ms", iterations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Runs one synthetic iteration through the validator, Jackson and the repository read queries.
+     * <p>
+     * Failures are logged and ignored: the warm-up must never prevent the application from starting.
+     * </p>
+     *
+     * @param iteration the number of the iteration, used to vary the synthetic data.
+     */
+    void warmUp(int iteration) {
+        Customer customer = syntheticCustomer(iteration);
+        try {
+            customerValidator.validateCustomerData(customer);
+            String json = objectMapper.writeValueAsString(customer);
+            objectMapper.readValue(json, Customer.class);
+            customerRepository.findById(-(iteration + 1));
+        } catch (BusinessException | JsonProcessingException e) {
+            log.debug("Warm-up iteration {} ended with: {}", iteration, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Warm-up iteration {} failed: {}", iteration, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a valid customer that is never persisted.
+     *
+     * @param iteration the number of the iteration.
+     * @return a synthetic {@link Customer}.
+     */
+    private Customer syntheticCustomer(int iteration) {
+        return Customer.builder()
+                .firstName("Warmup")
+                .lastName("Customer" + iteration)
+                .dni(String.format("%08d", iteration % 100_000_000))
+                .email("warmup" + iteration + "@mail.com")
+                .build();
+    }
+}
@@ -1,11 +1,17 @@
 package com.bankingSystem.customer_ms.validators;
 
+import com.bankingSystem.customer_ms.diagnostics.CustomerValidationEvent;
 import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
 import com.bankingSystem.customer_ms.model.Customer;
 import com.bankingSystem.customer_ms.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * Service class responsible for validating customer data.
  * <p>
@@ -17,6 +23,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class CustomerValidator {
 
+    private static final Pattern DNI_PATTERN = Pattern.compile("[0-9]{8}");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9_.-]+@[A-Za-z0-9.-]+$");
+
     private final CustomerRepository customerRepository;
 
     /**
@@ -50,15 +59,58 @@ public class CustomerValidator {
      *     <li>The email format is invalid.</li>
      * </ul>
      * </p>
+     * <p>
+     * The validation is recorded as a {@link CustomerValidationEvent} when a flight recording includes it.
+     * </p>
      */
     public void validateCustomerData(Customer customer) {
-        validateNotEmpty(customer.getFirstName(), "FirstName is required.");
-        validateNotEmpty(customer.getLastName(), "LastName is required.");
-        validatePattern(customer.getDni(), "[0-9]{8}", "Invalid DNI format. It must contain exactly 8 digits.");
-        validatePattern(customer.getEmail(), "^[A-Za-z0-9_.-]+@[A-Za-z0-9.-]+$", "Invalid email format.");
+        CustomerValidationEvent event = new CustomerValidationEvent();
+        event.begin();
+        try {
+            validateFields(customer);
+            event.complete("validateCustomerData", "valid", null);
+        } catch (BusinessException e) {
+            event.complete("validateCustomerData", "invalid", e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            event.complete("validateCustomerData", e.getClass().getSimpleName(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the validations of {@link #validateCustomerData(Customer)}.
+     *
+     * @param customer the {@link Customer} object whose data is to be validated.
+     * @throws BusinessException if any validation fails.
+     */
+    private void validateFields(Customer customer) {
+        List<String> violations = findFormatViolations(customer);
+        if (!violations.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_CUSTOMER_DATA, violations.get(0));
+        }
         validateUniqueDni(customer.getDni(), customer.getCustomerId());
     }
 
+    /**
+     * Checks the format rules of {@link #validateCustomerData(Customer)}, without the DNI uniqueness check.
+     * <p>
+     * Unlike {@link #validateCustomerData(Customer)}, every rule is checked and all the violations are returned,
+     * in the order the rules are applied. The method does not query the database and is thread-safe.
+     * </p>
+     *
+     * @param customer the {@link Customer} object whose data is to be checked.
+     * @return the messages of the violated rules; empty if the format is valid.
+     */
+    public List<String> findFormatViolations(Customer customer) {
+        List<String> violations = new ArrayList<>(0);
+        checkNotEmpty(customer.getFirstName(), "FirstName is required.", violations);
+        checkNotEmpty(customer.getLastName(), "LastName is required.", violations);
+        checkPattern(customer.getDni(), DNI_PATTERN, "Invalid DNI format. It must contain exactly 8 digits.", violations);
+        checkPattern(customer.getEmail(), EMAIL_PATTERN, "Invalid email format.", violations);
+        return violations;
+    }
+
     /**
      * Validates that the given DNI is unique.
      * <p>
@@ -78,42 +130,34 @@ public class CustomerValidator {
         customerRepository.findByDni(dni)
                 .filter(existingCustomer -> !existingCustomer.getCustomerId().equals(id))
                 .ifPresent(existing -> {
-                    throw new BusinessException("A client with this DNI already exists.");
+                    throw new BusinessException(ErrorCode.DUPLICATE_DNI, "A client with this DNI already exists.");
                 });
     }
 
     /**
-     * Validates that a given field is not empty.
+     * Checks that a given field is not empty.
      *
      * @param field the field to check.
-     * @param errorMessage the error message to throw if the field is empty.
-     * @throws BusinessException if the field is empty.
-     * <p>
-     * This method checks if the provided field is null or empty and throws a {@link BusinessException} with the
-     * given error message if it is.
-     * </p>
+     * @param errorMessage the message to report if the field is empty.
+     * @param violations the list the message is added to.
      */
-    private void validateNotEmpty(String field, String errorMessage) {
+    private void checkNotEmpty(String field, String errorMessage, List<String> violations) {
         if (field == null || field.isEmpty()) {
-            throw new BusinessException(errorMessage);
+            violations.add(errorMessage);
         }
     }
 
     /**
-     * Validates that a given field matches a specific pattern.
+     * Checks that a given field matches a specific pattern.
      *
      * @param field the field to check.
-     * @param pattern the regex pattern to validate the field against.
-     * @param errorMessage the error message to throw if the field does not match the pattern.
-     * @throws BusinessException if the field does not match the pattern.
-     * <p>
-     * This method checks if the provided field matches the specified regex pattern and throws a
-     * {@link BusinessException} with the given error message if it does not.
-     * </p>
+     * @param pattern the compiled regex pattern to check the field against.
+     * @param errorMessage the message to report if the field does not match the pattern.
+     * @param violations the list the message is added to.
      */
-    private void validatePattern(String field, String pattern, String errorMessage) {
-        if (field == null || !field.matches(pattern)) {
-            throw new BusinessException(errorMessage);
+    private void checkPattern(String field, Pattern pattern, String errorMessage, List<String> violations) {
+        if (field == null || !pattern.matcher(field).matches()) {
+            violations.add(errorMessage);
         }
     }
 }
@@ -0,0 +1,28 @@
+-- Tables of the customer service, as created by database/create_tables.sql. Databases created before the
+-- migrations (by that script and Hibernate's ddl-auto=update) are baselined at this version, so this script only
+-- runs on empty databases.
+
+CREATE TABLE IF NOT EXISTS customer (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    dni VARCHAR(20) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL
+);
+
+-- Transactional outbox of customer change events, drained by the outbox relay
+CREATE TABLE IF NOT EXISTS customer_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+-- Customer change log used by the delta sync endpoint; seq is the monotonic change sequence
+CREATE TABLE IF NOT EXISTS customer_change (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Soft delete: deleting a customer marks the row, and the customer purger removes it later in small batches.
+
+ALTER TABLE customer ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Soft-deleted customers in ID order, read by every purge batch
+CREATE INDEX idx_customer_deleted ON customer (deleted, id);
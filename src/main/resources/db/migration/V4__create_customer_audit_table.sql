@@ -0,0 +1,14 @@
+-- Audit trail of the customer writes, with the JSON images of the customer before and after each write. Rows are
+-- inserted in batches by the audit writer and never updated.
+
+CREATE TABLE IF NOT EXISTS customer_audit (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    before_image VARCHAR(4000),
+    after_image VARCHAR(4000),
+    recorded_at DATETIME(6) NOT NULL
+);
+
+-- History of one customer, in write order
+CREATE INDEX idx_customer_audit_customer_id ON customer_audit (customer_id, id);
@@ -0,0 +1,17 @@
+-- Change sequence in commit order. The auto-increment key is handed out at insert time, so a write committing
+-- late could land behind a watermark already returned to a consumer. The key becomes the insertion id, and the
+-- public sequence is assigned after commit by the change sequencer, under the lock of customer_change_sequence.
+
+ALTER TABLE customer_change RENAME COLUMN seq TO id;
+ALTER TABLE customer_change ADD COLUMN seq BIGINT;
+UPDATE customer_change SET seq = id;
+
+-- Range reads after a watermark, and the changes still waiting for a sequence (seq IS NULL)
+CREATE UNIQUE INDEX idx_customer_change_seq ON customer_change (seq);
+
+-- Last sequence assigned; its single row is locked by every sequencing batch
+CREATE TABLE IF NOT EXISTS customer_change_sequence (
+    id INT PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+INSERT INTO customer_change_sequence (id, last_seq) SELECT 1, COALESCE(MAX(seq), 0) FROM customer_change;
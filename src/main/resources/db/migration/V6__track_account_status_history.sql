@@ -0,0 +1,4 @@
+-- Account status rows only answer once they have followed the customer from its first opened account; rows
+-- projected before this was tracked are unknown, and deletes check their customers with the bank account service.
+
+ALTER TABLE account_status ADD COLUMN history_complete BOOLEAN NOT NULL DEFAULT FALSE;
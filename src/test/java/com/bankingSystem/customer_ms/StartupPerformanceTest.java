@@ -0,0 +1,54 @@
+package com.bankingSystem.customer_ms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures startup time and first-request latency of the {@code fast} profile against the embedded database.
+ * Results are logged so they can be compared between builds; the assertions only guard against regressions and
+ * their budgets can be tightened per machine with the {@code startup.budget-ms} and {@code first-request.budget-ms}
+ * system properties.
+ */
+class StartupPerformanceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPerformanceTest.class);
+
+    private static final long STARTUP_BUDGET_MILLIS = Long.getLong("startup.budget-ms", 60_000);
+    private static final long FIRST_REQUEST_BUDGET_MILLIS = Long.getLong("first-request.budget-ms", 5_000);
+
+    @Test
+    @DisplayName("Fast profile should start and serve its first request within budget")
+    void fastProfile_ShouldStartAndServeFirstRequestWithinBudget() throws Exception {
+        long startedAt = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomerMsApplication.class)
+                .profiles("test", "fast")
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1")) {
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            String port = context.getEnvironment().getProperty("local.server.port");
+
+            long requestStartedAt = System.nanoTime();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers/1/exists")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartedAt);
+
+            log.info("Fast profile startup: {} ms, first request: {} ms", startupMillis, firstRequestMillis);
+            assertEquals(200, response.statusCode());
+            assertEquals("false", response.body());
+            assertTrue(startupMillis < STARTUP_BUDGET_MILLIS, "startup took " + startupMillis + " ms");
+            assertTrue(firstRequestMillis < FIRST_REQUEST_BUDGET_MILLIS, "first request took " + firstRequestMillis + " ms");
+        }
+    }
+}
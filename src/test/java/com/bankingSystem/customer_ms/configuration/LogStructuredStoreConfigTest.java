@@ -0,0 +1,60 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "customer.log-store.directory=target/log-store/${random.uuid}")
+@ActiveProfiles("test")
+class LogStructuredStoreConfigTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerStatsService customerStatsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should stream the customer list and compute the statistics from the log store, not the JPA table")
+    void streamAndStats_ShouldReadLogStore() {
+        List<Customer> created = IntStream.range(0, 3)
+                .mapToObj(i -> customerService.create(Customer.builder().firstName("Log").lastName("Store")
+                        .dni(String.format("%08d", 70_000_000 + i)).email("log" + i + (i < 2 ? "@edge.com" : "@mail.com")).build()))
+                .collect(Collectors.toList());
+
+        List<Integer> streamed = new ArrayList<>();
+        customerService.streamAll(customers -> {
+            customers.forEachRemaining(customer -> streamed.add(customer.getCustomerId()));
+            return null;
+        });
+        CustomerStats stats = customerStatsService.getStats();
+
+        assertEquals(created.stream().map(Customer::getCustomerId).collect(Collectors.toList()), streamed);
+        assertEquals(3, stats.totalCustomers());
+        assertEquals(List.of(new EmailDomainCount("edge.com", 2), new EmailDomainCount("mail.com", 1)), stats.emailDomains());
+        assertEquals(customerRepository.findAll().size(), streamed.size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer WHERE dni LIKE '7000000%'", Long.class));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bankingSystem.customer_ms.configuration;
+
+import com.zaxxer.hikari.pool.HikariPool;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replicaOne = database("replica1");
+    private final DataSource replicaTwo = database("replica2");
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should balance read-only transactions across the replicas and send writes to the primary")
+    void readOnlyTransactions_ShouldGoToReplicasInRoundRobin() {
+        DataSource routing = routing(List.of(replicaOne, replicaTwo));
+
+        assertEquals("replica1", nodeName(routing, true));
+        assertEquals("replica2", nodeName(routing, true));
+        assertEquals("replica1", nodeName(routing, true));
+        assertEquals("primary", nodeName(routing, false));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after a write in the same request")
+    void readOnlyTransactions_ShouldGoToPrimary_AfterWrite() {
+        DataSource routing = routing(List.of(replicaOne, replicaTwo));
+
+        assertEquals("primary", nodeName(routing, false));
+        assertEquals("primary", nodeName(routing, true));
+
+        ReadYourWritesContext.clear();
+        assertEquals("replica1", nodeName(routing, true));
+    }
+
+    @Test
+    @DisplayName("Should skip a failing replica and fall back to the primary when none is available")
+    void readOnlyTransactions_ShouldFallBack_WhenReplicasFail() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertEquals("replica2", nodeName(routing(List.of(broken, replicaTwo)), true));
+        assertEquals("primary", nodeName(routing(List.of(broken)), true));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the pool of a replica fails with a runtime exception")
+    void readOnlyTransactions_ShouldFallBack_WhenReplicaPoolCannotStart() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new HikariPool.PoolInitializationException(new SQLException("Connection refused")));
+
+        assertEquals("primary", nodeName(routing(List.of(unreachable)), true));
+        assertEquals("primary", nodeName(routing(List.of(unreachable)), true));
+    }
+
+    private DataSource routing(List<DataSource> replicas) {
+        return ReadReplicaConfig.routingDataSource(primary, new ReplicaLoadBalancer(primary, replicas, 60_000));
+    }
+
+    private String nodeName(DataSource routing, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
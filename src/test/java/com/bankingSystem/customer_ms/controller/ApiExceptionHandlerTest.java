@@ -0,0 +1,87 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
+
+    @Test
+    @DisplayName("Should map business errors to the problem response of their error code")
+    void handleBusinessException_ShouldUseErrorCode() {
+        ResponseEntity<ProblemDetail> response = apiExceptionHandler.handleBusinessException(
+                new BusinessException(ErrorCode.DUPLICATE_DNI, "A client with this DNI already exists."));
+
+        ProblemDetail problem = response.getBody();
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, problem.getStatus());
+        assertEquals("Duplicate DNI", problem.getTitle());
+        assertEquals("A client with this DNI already exists.", problem.getDetail());
+        assertEquals(URI.create("urn:customer-ms:error:duplicate-dni"), problem.getType());
+        assertEquals("DUPLICATE_DNI", problem.getProperties().get("code"));
+    }
+
+    @Test
+    @DisplayName("Should return 400, 404 and 503 for invalid data, missing customers and an unavailable account service")
+    void handleBusinessException_ShouldMapStatuses() {
+        assertEquals(HttpStatus.BAD_REQUEST, apiExceptionHandler.handleBusinessException(
+                new BusinessException(ErrorCode.INVALID_CUSTOMER_DATA, "Invalid email format.")).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, apiExceptionHandler.handleBusinessException(
+                new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer not found with id: 1")).getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, apiExceptionHandler.handleBusinessException(
+                new BusinessException(ErrorCode.OVERLOADED, "Too many pending delete jobs, try again later.")).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should report database constraint violations as conflicts")
+    void handleDataIntegrityViolation_ShouldReturnConflict() {
+        ResponseEntity<ProblemDetail> response = apiExceptionHandler.handleDataIntegrityViolation(
+                new DuplicateKeyException("Duplicate entry '12345678' for key 'dni'"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("CONFLICT", response.getBody().getProperties().get("code"));
+    }
+
+    @Test
+    @DisplayName("Should hide the details of unexpected exceptions")
+    void handleUnexpectedException_ShouldHideDetails() {
+        ResponseEntity<ProblemDetail> response = apiExceptionHandler.handleUnexpectedException(
+                new IllegalStateException("jdbc:mysql://db:3306 refused"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("An unexpected error occurred.", response.getBody().getDetail());
+    }
+
+    @Test
+    @DisplayName("Should hide the message of unexpected business errors")
+    void handleBusinessException_ShouldHideDetails_WhenUnexpected() {
+        ResponseEntity<ProblemDetail> response = apiExceptionHandler.handleBusinessException(new BusinessException(
+                ErrorCode.INTERNAL_ERROR, "Exception: could not execute statement [insert into customer ...]", null));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("An unexpected error occurred.", response.getBody().getDetail());
+        assertEquals("INTERNAL_ERROR", response.getBody().getProperties().get("code"));
+    }
+
+    @Test
+    @DisplayName("Should skip the stack trace of expected business errors only")
+    void businessException_ShouldBeStackless_WhenExpected() {
+        BusinessException expected = new BusinessException(ErrorCode.INVALID_CUSTOMER_DATA, "FirstName is required.");
+        BusinessException internal = new BusinessException(ErrorCode.INTERNAL_ERROR, "Error writing outbox events", null);
+
+        assertEquals(0, expected.getStackTrace().length);
+        assertTrue(internal.getStackTrace().length > 0);
+        assertEquals(ErrorCode.INVALID_REQUEST, new BusinessException("Invalid request").getCode());
+    }
+}
@@ -1,7 +1,19 @@
 package com.bankingSystem.customer_ms.controller;
 
 import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerBatchValidationReport;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.model.DeleteJob;
+import com.bankingSystem.customer_ms.model.DeleteJobStatus;
+import com.bankingSystem.customer_ms.service.CustomerBatchValidationService;
+import com.bankingSystem.customer_ms.service.CustomerChangeStreamService;
+import com.bankingSystem.customer_ms.service.CustomerDeleteJobService;
 import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerSnapshotService;
+import com.bankingSystem.customer_ms.service.CustomerStatsService;
+import com.bankingSystem.customer_ms.service.CustomerSyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -9,14 +21,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import static org.mockito.Mockito.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,10 +50,49 @@ class CustomerControllerTest {
     @Mock
     private CustomerService customerService;
 
+    @Mock
+    private CustomerSyncService customerSyncService;
+
+    @Mock
+    private CustomerDeleteJobService customerDeleteJobService;
+
+    @Mock
+    private CustomerStatsService customerStatsService;
+
+    @Mock
+    private ObjectProvider<CustomerSnapshotService> customerSnapshotService;
+
+    @Mock
+    private CustomerBatchValidationService customerBatchValidationService;
+
+    @Mock
+    private CustomerChangeStreamService customerChangeStreamService;
+
+    @Spy
+    private CustomerJsonWriter customerJsonWriter = new CustomerJsonWriter(new ObjectMapper());
+
     public CustomerControllerTest() {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    @DisplayName("Should stream all customers to the response as a JSON array")
+    @SuppressWarnings("unchecked")
+    void streamAllCustomers_ShouldWriteCustomersToResponse() throws Exception {
+        List<Customer> customers = List.of(
+                Customer.builder().customerId(1).firstName("Ana").lastName("Soto").dni("98765432").email("ana.soto@mail.com").build(),
+                Customer.builder().customerId(2).firstName("Luis").lastName("Pérez").dni("12345678").email("luis@mail.com").build());
+        when(customerService.streamAll(any())).thenAnswer(invocation ->
+                invocation.<Function<Iterator<Customer>, Object>>getArgument(0).apply(customers.iterator()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        customerController.streamAllCustomers(response);
+
+        assertEquals("application/json", response.getContentType());
+        assertEquals(new ObjectMapper().writeValueAsString(customers), response.getContentAsString(StandardCharsets.UTF_8));
+        verify(customerService, never()).getAll();
+    }
+
     @Test
     @DisplayName("Should return a list of customers when successful")
     void getAllCustomers_ShouldReturnListOfCustomers_WhenSuccessful() {
@@ -192,4 +253,109 @@ class CustomerControllerTest {
         assertEquals(false, response.getBody());
         verify(customerService, times(1)).getById(customerId);
     }
+
+    @Test
+    @DisplayName("Should answer from the customer snapshot when it is loaded")
+    void customerExists_ShouldUseSnapshot_WhenLoaded() {
+        CustomerSnapshotService snapshot = mock(CustomerSnapshotService.class);
+        when(customerSnapshotService.getIfAvailable()).thenReturn(snapshot);
+        when(snapshot.isReady()).thenReturn(true);
+        when(snapshot.findById(3)).thenReturn(Optional.of(new Customer()));
+
+        ResponseEntity<Boolean> response = customerController.customerExists(3);
+
+        assertEquals(true, response.getBody());
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("Should query the database while the customer snapshot is not loaded")
+    void customerExists_ShouldUseDatabase_WhenSnapshotNotLoaded() {
+        CustomerSnapshotService snapshot = mock(CustomerSnapshotService.class);
+        when(customerSnapshotService.getIfAvailable()).thenReturn(snapshot);
+        when(customerService.getById(3)).thenReturn(Optional.empty());
+
+        ResponseEntity<Boolean> response = customerController.customerExists(3);
+
+        assertEquals(false, response.getBody());
+        verify(snapshot, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return the customer changes after the given watermark")
+    void getCustomerChanges_ShouldReturnChangesPage() {
+        CustomerChangePage page = new CustomerChangePage(List.of(), 42L, false);
+        when(customerSyncService.getChangesSince(42L, 100)).thenReturn(page);
+
+        ResponseEntity<CustomerChangePage> response = customerController.getCustomerChanges(42L, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(customerSyncService).getChangesSince(42L, 100);
+    }
+
+    @Test
+    @DisplayName("Should subscribe to the change stream, resuming from Last-Event-ID before the since parameter")
+    void streamCustomerChanges_ShouldSubscribe() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        customerController.streamCustomerChanges(Set.of(3), 5L, 17L, request, response);
+        customerController.streamCustomerChanges(null, 5L, null, request, response);
+
+        verify(customerChangeStreamService).subscribe(any(ServletChangeStreamConnection.class), eq(Set.of(3)), eq(17L));
+        verify(customerChangeStreamService).subscribe(any(ServletChangeStreamConnection.class), eq(Set.of()), eq(5L));
+    }
+
+    @Test
+    @DisplayName("Should accept an asynchronous delete and return the job with its status URL")
+    void deleteCustomerAsync_ShouldReturnAcceptedJob() {
+        DeleteJob job = DeleteJob.queued("job-1", 1);
+        when(customerDeleteJobService.submit(1)).thenReturn(job);
+
+        ResponseEntity<DeleteJob> response = customerController.deleteCustomerAsync(1);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job, response.getBody());
+        assertEquals("/customers/delete-jobs/job-1", response.getHeaders().getLocation().toString());
+        verify(customerService, never()).delete(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return the delete job status, or NOT_FOUND for unknown jobs")
+    void getDeleteJob_ShouldReturnJobOrNotFound() {
+        DeleteJob job = DeleteJob.queued("job-1", 1).withStatus(DeleteJobStatus.SUCCEEDED, null);
+        when(customerDeleteJobService.getJob("job-1")).thenReturn(Optional.of(job));
+        when(customerDeleteJobService.getJob("unknown")).thenReturn(Optional.empty());
+
+        assertEquals(job, customerController.getDeleteJob("job-1").getBody());
+        assertEquals(HttpStatus.NOT_FOUND, customerController.getDeleteJob("unknown").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should return the aggregate customer statistics")
+    void getCustomerStats_ShouldReturnStats() {
+        CustomerStats stats = new CustomerStats(2, List.of(), List.of(), LocalDateTime.now());
+        when(customerStatsService.getStats()).thenReturn(stats);
+
+        ResponseEntity<CustomerStats> response = customerController.getCustomerStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+        verify(customerService, never()).getAll();
+    }
+
+    @Test
+    @DisplayName("Should return the dry-run validation report of a customer batch")
+    void validateCustomers_ShouldReturnReport() {
+        List<Customer> batch = List.of(Customer.builder().dni("12345678").build());
+        CustomerBatchValidationReport report = new CustomerBatchValidationReport(1, 1, List.of());
+        when(customerBatchValidationService.validate(batch)).thenReturn(report);
+
+        ResponseEntity<CustomerBatchValidationReport> response = customerController.validateCustomers(batch);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(report, response.getBody());
+        verify(customerService, never()).create(any());
+    }
 }
@@ -0,0 +1,218 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.grpc.CustomerIdRequest;
+import com.bankingSystem.customer_ms.grpc.CustomerIdsRequest;
+import com.bankingSystem.customer_ms.grpc.CustomerLookupGrpc;
+import com.bankingSystem.customer_ms.grpc.CustomerMessage;
+import com.bankingSystem.customer_ms.grpc.CustomersReply;
+import com.bankingSystem.customer_ms.grpc.ListCustomersRequest;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerSnapshotService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CustomerGrpcServiceTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private ObjectProvider<CustomerSnapshotService> customerSnapshotService;
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private CustomerLookupGrpc.CustomerLookupBlockingStub stub;
+
+    private final Customer ana = Customer.builder()
+            .customerId(1).firstName("Ana").lastName("Soto").dni("98765432").email("ana.soto@mail.com").build();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new CustomerGrpcService(customerService, customerSnapshotService, 3, 200))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        stub = CustomerLookupGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the customer found by ID")
+    void get_ShouldReturnCustomer() {
+        when(customerService.getById(1)).thenReturn(Optional.of(ana));
+
+        CustomerMessage customer = stub.get(id(1));
+
+        assertEquals(1, customer.getCustomerId());
+        assertEquals("Ana", customer.getFirstName());
+        assertEquals("Soto", customer.getLastName());
+        assertEquals("98765432", customer.getDni());
+        assertEquals("ana.soto@mail.com", customer.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should fail with NOT_FOUND when the customer does not exist")
+    void get_ShouldFailWithNotFound_WhenCustomerIsMissing() {
+        when(customerService.getById(2)).thenReturn(Optional.empty());
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> stub.get(id(2)));
+
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals("Customer not found with id: 2", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should fail with INTERNAL and a generic description when an unexpected error occurs")
+    void get_ShouldHideDetails_WhenErrorIsUnexpected() {
+        when(customerService.getById(3)).thenThrow(new BusinessException(
+                ErrorCode.INTERNAL_ERROR, "Exception: could not execute statement [select ...]", null));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> stub.get(id(3)));
+
+        assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+        assertEquals("Internal error", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should answer existence checks from the snapshot when it is loaded, from the service otherwise")
+    void exists_ShouldUseSnapshot_WhenLoaded() {
+        when(customerService.getById(1)).thenReturn(Optional.of(ana));
+        assertTrue(stub.exists(id(1)).getExists());
+
+        CustomerSnapshotService snapshot = mock(CustomerSnapshotService.class);
+        when(customerSnapshotService.getIfAvailable()).thenReturn(snapshot);
+        when(snapshot.isReady()).thenReturn(true);
+        when(snapshot.findById(5)).thenReturn(Optional.empty());
+
+        assertFalse(stub.exists(id(5)).getExists());
+        verify(customerService, never()).getById(5);
+    }
+
+    @Test
+    @DisplayName("Should return the customers found among the requested IDs")
+    void getMany_ShouldReturnFoundCustomers() {
+        when(customerService.getAllById(List.of(1, 7))).thenReturn(List.of(ana));
+
+        CustomersReply reply = stub.getMany(CustomerIdsRequest.newBuilder().addCustomerIds(1).addCustomerIds(7).build());
+
+        assertEquals(1, reply.getCustomersCount());
+        assertEquals("Ana", reply.getCustomers(0).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the configured maximum")
+    void getMany_ShouldFailWithInvalidArgument_WhenBatchIsTooLarge() {
+        CustomerIdsRequest request = CustomerIdsRequest.newBuilder().addAllCustomerIds(List.of(1, 2, 3, 4)).build();
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> stub.getMany(request));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verify(customerService, never()).getAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should stream every customer in order")
+    void list_ShouldStreamAllCustomers() {
+        List<Customer> customers = IntStream.rangeClosed(1, 2000).mapToObj(id -> ana.toBuilder().customerId(id).build()).toList();
+        when(customerService.iterateAll()).thenReturn(customers.iterator());
+
+        List<Integer> received = new ArrayList<>();
+        stub.list(ListCustomersRequest.getDefaultInstance()).forEachRemaining(customer -> received.add(customer.getCustomerId()));
+
+        assertEquals(customers.stream().map(Customer::getCustomerId).toList(), received);
+    }
+
+    @Test
+    @DisplayName("Should stop sending while the client does not read, and fail the call once it has stalled too long")
+    void list_ShouldFailWithDeadlineExceeded_WhenClientStalls() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        when(customerService.iterateAll()).thenReturn(IntStream.rangeClosed(1, 2000)
+                .mapToObj(id -> ana.toBuilder().customerId(id).build()).peek(customer -> read.incrementAndGet()).iterator());
+        StalledObserver observer = new StalledObserver();
+
+        CustomerLookupGrpc.newStub(channel).list(ListCustomersRequest.getDefaultInstance(), observer);
+        Thread.sleep(600);
+        int readWhileStalled = read.get();
+        observer.requests.request(Integer.MAX_VALUE);
+
+        assertTrue(observer.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(readWhileStalled < 2000);
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(observer.error).getCode());
+        assertTrue(observer.received.get() < 2000);
+    }
+
+    /**
+     * Client of a {@code List} call that asks for a single customer and then stops reading until told to.
+     */
+    private static class StalledObserver implements ClientResponseObserver<ListCustomersRequest, CustomerMessage> {
+
+        private final AtomicInteger received = new AtomicInteger();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile ClientCallStreamObserver<ListCustomersRequest> requests;
+        private volatile Throwable error;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<ListCustomersRequest> requestStream) {
+            requests = requestStream;
+            requestStream.disableAutoRequestWithInitial(1);
+        }
+
+        @Override
+        public void onNext(CustomerMessage value) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            closed.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            closed.countDown();
+        }
+    }
+
+    private static CustomerIdRequest id(int customerId) {
+        return CustomerIdRequest.newBuilder().setCustomerId(customerId).build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CustomerJsonWriter customerJsonWriter = new CustomerJsonWriter(objectMapper);
+
+    @Test
+    @DisplayName("Should write the same JSON as the object mapper, including escaped text and null fields")
+    void writeArray_ShouldMatchObjectMapper() throws IOException {
+        List<Customer> customers = List.of(
+                Customer.builder().customerId(1).firstName("Ana").lastName("Soto").dni("12345678").email("ana@mail.com").build(),
+                Customer.builder().customerId(2).firstName("José \"Pepe\"").lastName("Núñez\\\n").dni("87654321").build(),
+                new Customer());
+
+        assertEquals(objectMapper.writeValueAsString(customers), write(customers));
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when there are no customers")
+    void writeArray_ShouldWriteEmptyArray() throws IOException {
+        assertEquals("[]", write(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should stream more customers than fit in the generator buffer, leaving the stream open")
+    void writeArray_ShouldFlushLargeListsAndKeepStreamOpen() throws IOException {
+        List<Customer> customers = IntStream.range(0, 5000).mapToObj(id -> Customer.builder().customerId(id)
+                .firstName("First" + id).lastName("Last" + id).dni(String.format("%08d", id)).email(id + "@mail.com").build())
+                .toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputStream notClosable = new OutputStream() {
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                fail("The writer must not close the response stream");
+            }
+        };
+
+        assertEquals(5000, customerJsonWriter.writeArray(customers.iterator(), notClosable));
+        assertEquals(objectMapper.writeValueAsString(customers), out.toString(StandardCharsets.UTF_8));
+    }
+
+    private String write(List<Customer> customers) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(customers.size(), customerJsonWriter.writeArray(customers.iterator(), out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
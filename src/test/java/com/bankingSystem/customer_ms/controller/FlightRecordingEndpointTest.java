@@ -0,0 +1,75 @@
+package com.bankingSystem.customer_ms.controller;
+
+import com.bankingSystem.customer_ms.model.RecordingStatus;
+import com.bankingSystem.customer_ms.service.FlightRecordingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightRecordingEndpointTest {
+
+    @InjectMocks
+    private FlightRecordingEndpoint flightRecordingEndpoint;
+
+    @Mock
+    private FlightRecordingService flightRecordingService;
+
+    public FlightRecordingEndpointTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Should start a recording and return its state")
+    void controlRecording_ShouldReturnCreatedStatus_WhenStarting() {
+        RecordingStatus status = new RecordingStatus(1, "RUNNING", "default", Instant.now(), null, 0);
+        when(flightRecordingService.start()).thenReturn(status);
+
+        WebEndpointResponse<RecordingStatus> response = flightRecordingEndpoint.controlRecording("start");
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatus());
+        assertEquals(status, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return NOT_FOUND for an unknown action")
+    void controlRecording_ShouldReturnNotFound_WhenActionIsUnknown() {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, flightRecordingEndpoint.controlRecording("restart").getStatus());
+        verifyNoInteractions(flightRecordingService);
+    }
+
+    @Test
+    @DisplayName("Should return no state when no recording was started")
+    void getRecording_ShouldReturnNull_WhenNoRecording() {
+        when(flightRecordingService.getStatus()).thenReturn(Optional.empty());
+
+        assertNull(flightRecordingEndpoint.getRecording());
+    }
+
+    @Test
+    @DisplayName("Should stream the dumped recording and delete the file once read")
+    void dumpRecording_ShouldStreamAndDeleteFile() throws Exception {
+        Path file = Files.createTempFile("recording", ".jfr");
+        Files.write(file, new byte[]{1, 2, 3});
+        when(flightRecordingService.dump()).thenReturn(file);
+
+        WebEndpointResponse<Resource> response = flightRecordingEndpoint.dumpRecording("dump");
+
+        try (var input = response.getBody().getInputStream()) {
+            assertArrayEquals(new byte[]{1, 2, 3}, input.readAllBytes());
+        }
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.service.CustomerPurger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerCacheTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerPurger customerPurger;
+
+    private Statistics statistics;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Ana").lastName("Lopez").dni("55443322").email("ana@mail.com").build());
+        customerRepository.findByDni("55443322");
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteById(customer.getCustomerId());
+        customerPurger.releaseDni(customer.getDni());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by ID from the second-level cache")
+    void findById_ShouldHitSecondLevelCache() {
+        customerRepository.findById(customer.getCustomerId());
+        customerRepository.findById(customer.getCustomerId());
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("customer").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should resolve repeated lookups by DNI from the natural ID cache")
+    void findByDni_ShouldHitNaturalIdCache() {
+        assertEquals(customer.getCustomerId(), customerRepository.findByDni("55443322").orElseThrow().getCustomerId());
+        customerRepository.findByDni("55443322");
+
+        assertEquals(0, statistics.getNaturalIdQueryExecutionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getNaturalIdCacheHitCount());
+        assertTrue(customerRepository.findByDni("00000000").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow DNI changes in the natural ID cache")
+    void findByDni_ShouldFollowDniChange() {
+        customerRepository.save(customer.toBuilder().dni("55443311").build());
+
+        assertTrue(customerRepository.findByDni("55443322").isEmpty());
+        assertEquals(customer.getCustomerId(), customerRepository.findByDni("55443311").orElseThrow().getCustomerId());
+    }
+}
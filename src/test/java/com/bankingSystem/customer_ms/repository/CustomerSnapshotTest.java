@@ -0,0 +1,107 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back the customers written to a snapshot")
+    void open_ShouldReadBackWrittenCustomers() throws Exception {
+        Path file = directory.resolve("customers.snap");
+        List<Customer> customers = List.of(customer(2, "Ana"), customer(5, "Víctor"), customer(9, "Lucía"));
+
+        int written = CustomerSnapshotWriter.write(file, 42L, customers.iterator());
+        CustomerSnapshot snapshot = CustomerSnapshot.open(file);
+
+        assertEquals(3, written);
+        assertEquals(3, snapshot.size());
+        assertEquals(42L, snapshot.watermark());
+        Customer found = snapshot.findById(5).orElseThrow();
+        assertEquals("Víctor", found.getFirstName());
+        assertEquals("12345605", found.getDni());
+        assertEquals("customer5@mail.com", found.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should return empty for IDs not in the snapshot")
+    void findById_ShouldReturnEmpty_WhenIdIsMissing() throws Exception {
+        Path file = directory.resolve("customers.snap");
+        CustomerSnapshotWriter.write(file, 0L, List.of(customer(2, "Ana"), customer(9, "Lucía")).iterator());
+        CustomerSnapshot snapshot = CustomerSnapshot.open(file);
+
+        assertEquals(Optional.empty(), snapshot.findById(1));
+        assertEquals(Optional.empty(), snapshot.findById(5));
+        assertEquals(Optional.empty(), snapshot.findById(10));
+    }
+
+    @Test
+    @DisplayName("Should keep null fields and support an empty snapshot")
+    void open_ShouldKeepNullFields() throws Exception {
+        Path file = directory.resolve("customers.snap");
+        Customer customer = Customer.builder().customerId(1).firstName("Ana").build();
+        CustomerSnapshotWriter.write(file, 0L, List.of(customer).iterator());
+        Path empty = directory.resolve("empty.snap");
+        CustomerSnapshotWriter.write(empty, 0L, List.<Customer>of().iterator());
+
+        Customer found = CustomerSnapshot.open(file).findById(1).orElseThrow();
+
+        assertNull(found.getLastName());
+        assertNull(found.getEmail());
+        assertEquals(0, CustomerSnapshot.open(empty).size());
+    }
+
+    @Test
+    @DisplayName("Should visit every customer in ID order")
+    void forEach_ShouldVisitCustomersInIdOrder() throws Exception {
+        Path file = directory.resolve("customers.snap");
+        CustomerSnapshotWriter.write(file, 0L, List.of(customer(1, "A"), customer(3, "B"), customer(7, "C")).iterator());
+        List<Integer> ids = new ArrayList<>();
+
+        CustomerSnapshot.open(file).forEach(customer -> ids.add(customer.getCustomerId()));
+
+        assertEquals(List.of(1, 3, 7), ids);
+    }
+
+    @Test
+    @DisplayName("Should reject customers that are not in ascending ID order")
+    void write_ShouldReject_WhenIdsAreNotSorted() {
+        Path file = directory.resolve("customers.snap");
+        List<Customer> customers = List.of(customer(3, "A"), customer(1, "B"));
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerSnapshotWriter.write(file, 0L, customers.iterator()));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not customer snapshots")
+    void open_ShouldReject_WhenFileIsNotASnapshot() throws Exception {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerSnapshot.open(file));
+    }
+
+    private Customer customer(int id, String firstName) {
+        return Customer.builder()
+                .customerId(id)
+                .firstName(firstName)
+                .lastName("Soto")
+                .dni(String.format("123456%02d", id))
+                .email("customer" + id + "@mail.com")
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.service.CustomerPurger;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerSoftDeleteTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerPurger customerPurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer deleted;
+    private Customer kept;
+
+    @BeforeEach
+    void setUp() {
+        deleted = customerRepository.save(Customer.builder()
+                .firstName("Luis").lastName("Diaz").dni("66554433").email("luis@mail.com").build());
+        kept = customerRepository.save(Customer.builder()
+                .firstName("Eva").lastName("Ruiz").dni("66554434").email("eva@mail.com").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteById(kept.getCustomerId());
+        customerPurger.releaseDni(deleted.getDni());
+        customerPurger.releaseDni(kept.getDni());
+    }
+
+    @Test
+    @DisplayName("Should only mark a deleted customer, keeping its row")
+    void delete_ShouldKeepRow_AndMarkItDeleted() {
+        customerRepository.delete(deleted);
+
+        assertEquals(List.of(true), jdbcTemplate.queryForList(
+                "SELECT deleted FROM customer WHERE id = ?", Boolean.class, deleted.getCustomerId()));
+        assertEquals(List.of(false), jdbcTemplate.queryForList(
+                "SELECT deleted FROM customer WHERE id = ?", Boolean.class, kept.getCustomerId()));
+    }
+
+    @Test
+    @DisplayName("Should leave soft-deleted customers out of every read, cached or not")
+    void reads_ShouldSkipSoftDeletedCustomers() {
+        customerRepository.findById(deleted.getCustomerId());
+        customerRepository.findByDni(deleted.getDni());
+        customerRepository.delete(deleted);
+
+        assertSkipsDeleted();
+        entityManagerFactory.getCache().evictAll();
+        assertSkipsDeleted();
+    }
+
+    private void assertSkipsDeleted() {
+        assertTrue(customerRepository.findById(deleted.getCustomerId()).isEmpty());
+        assertTrue(customerRepository.findByDni(deleted.getDni()).isEmpty());
+        assertEquals(List.of(kept.getCustomerId()), customerRepository.findAll().stream()
+                .map(Customer::getCustomerId).filter(id -> id.equals(deleted.getCustomerId()) || id.equals(kept.getCustomerId()))
+                .collect(Collectors.toList()));
+        assertEquals(List.of(kept.getDni()), customerRepository.findExistingDnis(List.of(deleted.getDni(), kept.getDni())));
+        assertTrue(customerRepository.findById(kept.getCustomerId()).isPresent());
+    }
+}
@@ -0,0 +1,65 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.service.CustomerService;
+import com.bankingSystem.customer_ms.service.CustomerStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerStatsRepositoryTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerStatsService customerStatsService;
+
+    @Autowired
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Customer> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll(created);
+    }
+
+    @Test
+    @DisplayName("Should keep the in-memory statistics equal to the aggregate queries across writes")
+    void incrementalStats_ShouldMatchAggregateQueries() {
+        customerStatsService.getStats();
+
+        created.add(customerService.create(customer("71000001", "one@Stats.com")));
+        created.add(customerService.create(customer("71000002", "two@stats.com")));
+        created.add(customerService.create(customer("71000003", "three@other.com")));
+
+        CustomerStats incremental = customerStatsService.getStats();
+        assertEquals(customerStatsRepository.countCustomers(), incremental.totalCustomers());
+        assertEquals(customerStatsRepository.countByEmailDomain(), incremental.emailDomains());
+        assertEquals(customerStatsRepository.countChangesPerDay(CustomerChangeType.CREATED, LocalDateTime.now().minusDays(1)),
+                incremental.creationsPerDay());
+        assertTrue(incremental.emailDomains().stream()
+                .anyMatch(count -> count.domain().equals("stats.com") && count.customers() == 2));
+    }
+
+    private Customer customer(String dni, String email) {
+        return Customer.builder().firstName("Stats").lastName("Customer").dni(dni).email(email).build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStructuredCustomerRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private LogStructuredCustomerRepository repository;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should assign IDs and find customers again by ID and DNI")
+    void save_ShouldAssignIds_AndIndexByIdAndDni() {
+        repository = open();
+        List<Customer> saved = IntStream.range(0, 20).mapToObj(i -> repository.save(customer(i))).collect(Collectors.toList());
+
+        for (Customer customer : saved) {
+            assertEquals(customer, repository.findById(customer.getCustomerId()).orElseThrow());
+            assertEquals(customer, repository.findByDni(customer.getDni()).orElseThrow());
+        }
+        assertEquals(20, repository.count());
+        assertEquals(saved, repository.findAll());
+    }
+
+    @Test
+    @DisplayName("Should move the DNI index on updates and reject the DNI of another customer")
+    void save_ShouldUpdateDniIndex_AndRejectDuplicateDni() {
+        repository = open();
+        Customer first = repository.save(customer(1));
+        Customer second = repository.save(customer(2));
+
+        repository.save(first.toBuilder().dni("99999999").build());
+
+        assertTrue(repository.findByDni(first.getDni()).isEmpty());
+        assertEquals(first.getCustomerId(), repository.findByDni("99999999").orElseThrow().getCustomerId());
+        assertThrows(DuplicateKeyException.class, () -> repository.save(second.toBuilder().dni("99999999").build()));
+    }
+
+    @Test
+    @DisplayName("Should not let callers modify the stored customers")
+    void findById_ShouldReturnCopies() {
+        repository = open();
+        Customer customer = repository.save(customer(1));
+
+        repository.findById(customer.getCustomerId()).orElseThrow().setEmail("changed@mail.com");
+        customer.setEmail("changed@mail.com");
+
+        assertEquals("user1@mail.com", repository.findById(customer.getCustomerId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the indexes from the log when reopened")
+    void open_ShouldReplayLog() throws Exception {
+        repository = open();
+        Customer kept = repository.save(customer(1));
+        Customer deleted = repository.save(customer(2));
+        repository.save(kept.toBuilder().email("new@mail.com").build());
+        repository.delete(deleted);
+        repository.close();
+
+        repository = open();
+
+        assertEquals(1, repository.count());
+        assertEquals("new@mail.com", repository.findByDni(kept.getDni()).orElseThrow().getEmail());
+        assertTrue(repository.findById(deleted.getCustomerId()).isEmpty());
+        assertEquals(deleted.getCustomerId() + 1, repository.save(customer(3)).getCustomerId());
+    }
+
+    @Test
+    @DisplayName("Should discard a torn record at the end of the log")
+    void open_ShouldDiscardTornTail() throws Exception {
+        repository = open();
+        repository.save(customer(1));
+        repository.close();
+        Path log = directory.resolve(LogStructuredCustomerRepository.LOG_FILE);
+        Files.write(log, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        repository = open();
+        repository.save(customer(2));
+        repository.close();
+        repository = open();
+
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should compact the log to one record per customer and keep the next ID")
+    void compact_ShouldShrinkLog_AndKeepState() throws Exception {
+        repository = open();
+        Customer customer = repository.save(customer(1));
+        Customer last = repository.save(customer(2));
+        for (int i = 0; i < 50; i++) {
+            repository.save(customer.toBuilder().email("user" + i + "@mail.com").build());
+        }
+        repository.delete(last);
+        Path log = directory.resolve(LogStructuredCustomerRepository.LOG_FILE);
+        long before = Files.size(log);
+
+        repository.compactIfNeeded();
+        repository.close();
+        repository = open();
+
+        assertTrue(Files.size(log) < before / 10, "the log was not compacted");
+        assertEquals("user49@mail.com", repository.findById(customer.getCustomerId()).orElseThrow().getEmail());
+        assertEquals(1, repository.count());
+        assertEquals(last.getCustomerId() + 1, repository.save(customer(3)).getCustomerId());
+    }
+
+    @Test
+    @DisplayName("Should keep detecting duplicate DNIs through the validator")
+    void validator_ShouldDetectDuplicateDni_OnLogStructuredStorage() {
+        repository = open();
+        CustomerValidator validator = new CustomerValidator(repository);
+        repository.save(customer(7));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> validator.validateCustomerData(customer(7)));
+        assertEquals("A client with this DNI already exists.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should behave like a HashMap under random puts and removes")
+    void intObjectMap_ShouldMatchHashMap() {
+        repository = open();
+        IntObjectMap<Integer> map = new IntObjectMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    @DisplayName("Should page through the customers in ID order, skipping deleted ones")
+    void findPageAfter_ShouldReturnNextCustomersInIdOrder() {
+        repository = open();
+        List<Customer> saved = IntStream.range(0, 10).mapToObj(i -> repository.save(customer(i))).collect(Collectors.toList());
+        repository.deleteById(saved.get(3).getCustomerId());
+
+        List<Customer> firstPage = repository.findPageAfter(0, Limit.of(4));
+        List<Customer> secondPage = repository.findPageAfter(firstPage.get(3).getCustomerId(), Limit.of(4));
+
+        assertEquals(List.of(saved.get(0), saved.get(1), saved.get(2), saved.get(4)), firstPage);
+        assertEquals(saved.subList(5, 9), secondPage);
+        assertEquals(9, repository.streamAllOrderedById().count());
+    }
+
+    private LogStructuredCustomerRepository open() {
+        return new LogStructuredCustomerRepository(directory, false, 3_600_000, 10);
+    }
+
+    private static Customer customer(int i) {
+        return Customer.builder().firstName("Name" + i).lastName("Last" + i)
+                .dni(String.format("%08d", 10_000_000 + i)).email("user" + i + "@mail.com").build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.bankingSystem.customer_ms.repository;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCustomerRepositoryTest {
+
+    private final List<DataSource> shards = List.of(database("shard0"), database("shard1"), database("shard2"));
+    private final ShardedCustomerRepository repository = new ShardedCustomerRepository(shards);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should store each customer on the shard of its DNI and find it again by ID and DNI")
+    void save_ShouldRouteByDni_AndFindByGlobalId() {
+        List<Customer> saved = IntStream.range(0, 30).mapToObj(i -> repository.save(customer(i))).collect(Collectors.toList());
+
+        for (Customer customer : saved) {
+            int shard = repository.shardOfDni(customer.getDni());
+            assertEquals(shard, repository.shardOfId(customer.getCustomerId()));
+            assertEquals(1, rowsWithDni(shard, customer.getDni()));
+            assertEquals(customer, repository.findById(customer.getCustomerId()).orElseThrow());
+            assertEquals(customer, repository.findByDni(customer.getDni()).orElseThrow());
+        }
+        assertTrue(IntStream.range(0, shards.size()).allMatch(shard -> count(shard) > 0), "a shard received no customer");
+    }
+
+    @Test
+    @DisplayName("Should merge all shards, ordered by ID, when listing and counting customers")
+    void findAll_ShouldScatterGatherAcrossShards() {
+        List<Customer> saved = IntStream.range(0, 20).mapToObj(i -> repository.save(customer(i))).collect(Collectors.toList());
+        List<Integer> ids = saved.stream().map(Customer::getCustomerId).sorted().collect(Collectors.toList());
+
+        assertEquals(ids, repository.findAll().stream().map(Customer::getCustomerId).collect(Collectors.toList()));
+        assertEquals(20, repository.count());
+        assertEquals(ids.subList(0, 5), repository.findAllById(ids.subList(0, 5)).stream()
+                .map(Customer::getCustomerId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should page through all shards in global ID order")
+    void findPageAfter_ShouldPageAcrossShardsInIdOrder() {
+        List<Integer> ids = IntStream.range(0, 25).mapToObj(i -> repository.save(customer(i)).getCustomerId())
+                .sorted().collect(Collectors.toList());
+
+        List<Customer> firstPage = repository.findPageAfter(0, Limit.of(10));
+        List<Customer> secondPage = repository.findPageAfter(firstPage.get(9).getCustomerId(), Limit.of(10));
+
+        assertEquals(ids.subList(0, 10), firstPage.stream().map(Customer::getCustomerId).collect(Collectors.toList()));
+        assertEquals(ids.subList(10, 20), secondPage.stream().map(Customer::getCustomerId).collect(Collectors.toList()));
+        try (Stream<Customer> all = repository.streamAllOrderedById()) {
+            assertEquals(ids, all.map(Customer::getCustomerId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should count the customers of all shards per email domain")
+    void countByEmailDomain_ShouldMergeShards() {
+        IntStream.range(0, 12).forEach(i -> repository.save(customer(i).toBuilder()
+                .email("user" + i + (i % 3 == 0 ? "@Bank.com" : "@mail.com")).build()));
+
+        assertEquals(List.of(new EmailDomainCount("mail.com", 8), new EmailDomainCount("bank.com", 4)),
+                repository.countByEmailDomain());
+    }
+
+    @Test
+    @DisplayName("Should fail instead of wrapping around when a global ID does not fit in an int")
+    void findAll_ShouldFail_WhenGlobalIdOverflows() {
+        new JdbcTemplate(shards.get(1)).update("INSERT INTO customer (id, first_name, last_name, dni, email) "
+                + "VALUES (?, 'Name', 'Last', '10000099', 'user@mail.com')", Integer.MAX_VALUE / 3 + 1);
+
+        assertThrows(IllegalStateException.class, repository::findAll);
+    }
+
+    @Test
+    @DisplayName("Should update and delete customers on their shard")
+    void saveAndDelete_ShouldApplyOnOwningShard() {
+        Customer customer = repository.save(customer(1));
+
+        repository.save(customer.toBuilder().email("new@mail.com").build());
+        assertEquals("new@mail.com", repository.findById(customer.getCustomerId()).orElseThrow().getEmail());
+
+        repository.delete(customer);
+        assertTrue(repository.findById(customer.getCustomerId()).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should commit customer rows with the primary transaction and roll them back when its commit fails")
+    void saveAndDelete_ShouldFollowPrimaryTransaction() {
+        DataSource primary = database("primary");
+        TransactionTemplate committing = new TransactionTemplate(new DataSourceTransactionManager(primary));
+        TransactionTemplate failing = new TransactionTemplate(new DataSourceTransactionManager(primary) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                throw new TransactionSystemException("Primary commit failed");
+            }
+        });
+        Customer kept = committing.execute(status -> {
+            Customer customer = repository.save(customer(1));
+            assertEquals(0, rowsWithDni(repository.shardOfDni(dni(1)), dni(1)), "shard row visible before the primary commit");
+            return customer;
+        });
+
+        assertThrows(TransactionSystemException.class, () -> failing.execute(status -> repository.save(customer(2))));
+        assertThrows(TransactionSystemException.class, () -> failing.executeWithoutResult(status -> {
+            repository.save(kept.toBuilder().email("lost@mail.com").build());
+            repository.delete(kept);
+        }));
+
+        assertEquals(0, rowsWithDni(repository.shardOfDni(dni(2)), dni(2)));
+        assertEquals(kept, repository.findById(kept.getCustomerId()).orElseThrow());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject moving an existing customer to a DNI of another shard")
+    void save_ShouldReject_WhenDniMovesToAnotherShard() {
+        Customer customer = repository.save(customer(1));
+        String otherShardDni = IntStream.range(2, 100).mapToObj(ShardedCustomerRepositoryTest::dni)
+                .filter(dni -> repository.shardOfDni(dni) != repository.shardOfId(customer.getCustomerId()))
+                .findFirst().orElseThrow();
+
+        assertThrows(BusinessException.class, () -> repository.save(customer.toBuilder().dni(otherShardDni).build()));
+    }
+
+    @Test
+    @DisplayName("Should find the existing DNIs on every shard")
+    void findExistingDnis_ShouldQueryTheShardOfEachDni() {
+        IntStream.range(0, 10).forEach(i -> repository.save(customer(i)));
+        List<String> candidates = IntStream.range(5, 15).mapToObj(ShardedCustomerRepositoryTest::dni).collect(Collectors.toList());
+
+        List<String> existing = repository.findExistingDnis(candidates);
+
+        assertEquals(candidates.subList(0, 5), existing.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should keep detecting duplicate DNIs through the validator")
+    void validator_ShouldDetectDuplicateDni_OnShardedStorage() {
+        CustomerValidator validator = new CustomerValidator(repository);
+        repository.save(customer(7));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> validator.validateCustomerData(customer(7)));
+        assertEquals("A client with this DNI already exists.", exception.getMessage());
+        assertDoesNotThrow(() -> validator.validateCustomerData(customer(8)));
+    }
+
+    private int rowsWithDni(int shard, String dni) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM customer WHERE dni = ?", Integer.class, dni);
+    }
+
+    private int count(int shard) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM customer", Integer.class);
+    }
+
+    private static Customer customer(int i) {
+        return Customer.builder().firstName("Name" + i).lastName("Last" + i).dni(dni(i)).email("user" + i + "@mail.com").build();
+    }
+
+    private static String dni(int i) {
+        return String.format("%08d", 10_000_000 + i);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS customer");
+        jdbcTemplate.execute("CREATE TABLE customer (id INT AUTO_INCREMENT PRIMARY KEY, first_name VARCHAR(100) NOT NULL, "
+                + "last_name VARCHAR(100) NOT NULL, dni VARCHAR(20) NOT NULL UNIQUE, email VARCHAR(100) NOT NULL)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,131 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.service.AccountEndpointBalancer.Endpoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountEndpointBalancerTest {
+
+    private final AccountEndpointBalancer balancer =
+            new AccountEndpointBalancer(List.of("http://a/accounts", "http://b/accounts/", " http://c/accounts"), 2, 60_000, 0.9);
+
+    @Test
+    @DisplayName("Should normalize the configured base URLs")
+    void constructor_ShouldNormalizeBaseUrls() {
+        assertEquals(List.of("http://a/accounts", "http://b/accounts", "http://c/accounts"),
+                balancer.getEndpoints().stream().map(Endpoint::getBaseUrl).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty list of instances")
+    void constructor_ShouldFail_WhenNoUrlIsConfigured() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountEndpointBalancer(List.of(), 3, 1000, 0.95));
+    }
+
+    @Test
+    @DisplayName("Should pick the instance with the fewest calls in flight")
+    void acquire_ShouldPickLeastOutstanding() {
+        Endpoint first = balancer.acquire(null);
+        Endpoint second = balancer.acquire(null);
+        Endpoint third = balancer.acquire(null);
+        balancer.release(second, true, 1);
+
+        assertEquals(3, List.of(first, second, third).stream().distinct().count());
+        assertSame(second, balancer.acquire(null));
+        assertEquals(1, second.getOutstanding());
+    }
+
+    @Test
+    @DisplayName("Should never pick the excluded instance")
+    void acquire_ShouldSkipExcludedInstance() {
+        Endpoint excluded = balancer.getEndpoints().get(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(excluded, balancer.acquire(excluded));
+        }
+        AccountEndpointBalancer single = new AccountEndpointBalancer(List.of("http://a/accounts"), 2, 60_000, 0.9);
+        assertNull(single.acquire(single.getEndpoints().get(0)));
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after consecutive failures only")
+    void release_ShouldEjectAfterConsecutiveFailures() {
+        Endpoint endpoint = balancer.getEndpoints().get(0);
+
+        failOn(endpoint);
+        succeedOn(endpoint);
+        failOn(endpoint);
+        assertFalse(endpoint.isEjected(System.nanoTime()));
+        failOn(endpoint);
+        assertTrue(endpoint.isEjected(System.nanoTime()));
+
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(endpoint, balancer.acquire(null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the instance readmitted first when every instance is ejected")
+    void acquire_ShouldUseSoonestReadmitted_WhenAllEjected() {
+        for (Endpoint endpoint : balancer.getEndpoints()) {
+            failOn(endpoint);
+            failOn(endpoint);
+        }
+
+        assertSame(balancer.getEndpoints().get(0), balancer.acquire(null));
+    }
+
+    @Test
+    @DisplayName("Should readmit an ejected instance once the ejection has elapsed")
+    void acquire_ShouldReadmit_WhenEjectionElapsed() throws InterruptedException {
+        AccountEndpointBalancer shortEjection = new AccountEndpointBalancer(List.of("http://a/accounts", "http://b/accounts"), 1, 50, 0.9);
+        Endpoint endpoint = shortEjection.getEndpoints().get(0);
+        shortEjection.release(shortEjection.acquire(shortEjection.getEndpoints().get(1)), false, 1);
+        assertTrue(endpoint.isEjected(System.nanoTime()));
+
+        Thread.sleep(100);
+
+        assertFalse(endpoint.isEjected(System.nanoTime()));
+        assertSame(endpoint, shortEjection.acquire(shortEjection.getEndpoints().get(1)));
+    }
+
+    @Test
+    @DisplayName("Should derive the hedging delay from the latency percentile of the successful calls")
+    void hedgeDelayMillis_ShouldReturnPercentile() {
+        assertEquals(-1, balancer.hedgeDelayMillis());
+
+        for (int latency = 1; latency <= 100; latency++) {
+            balancer.release(balancer.acquire(null), true, TimeUnit.MILLISECONDS.toNanos(latency));
+        }
+        balancer.release(balancer.acquire(null), false, TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(90, balancer.hedgeDelayMillis());
+    }
+
+    private void failOn(Endpoint endpoint) {
+        releaseOn(endpoint, false);
+    }
+
+    private void succeedOn(Endpoint endpoint) {
+        releaseOn(endpoint, true);
+    }
+
+    /**
+     * Acquires calls until the given instance is picked, and releases it with the given outcome.
+     */
+    private void releaseOn(Endpoint endpoint, boolean healthy) {
+        for (int i = 0; i < balancer.getEndpoints().size(); i++) {
+            Endpoint acquired = balancer.acquire(null);
+            balancer.release(acquired, acquired != endpoint || healthy, 1);
+            if (acquired == endpoint) {
+                return;
+            }
+        }
+        throw new AssertionError("Instance " + endpoint.getBaseUrl() + " was not picked");
+    }
+}
@@ -0,0 +1,222 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.AccountEvent;
+import com.bankingSystem.customer_ms.model.AccountEventType;
+import com.bankingSystem.customer_ms.model.AccountStatus;
+import com.bankingSystem.customer_ms.repository.AccountStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class AccountStatusProjectionTest {
+
+    @Mock
+    private AccountStatusRepository accountStatusRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Integer, AccountStatus> table = new HashMap<>();
+
+    private final List<AccountEvent> published = new ArrayList<>();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccountStatusProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        projection = projection(60_000);
+
+        when(accountStatusRepository.findMaxEventId()).thenReturn(0L);
+        when(accountStatusRepository.findById(anyInt())).thenAnswer(invocation ->
+                Optional.ofNullable(table.get(invocation.<Integer>getArgument(0))).map(this::copy));
+        when(accountStatusRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<AccountStatus> rows = new ArrayList<>();
+            invocation.<Iterable<Integer>>getArgument(0).forEach(id -> Optional.ofNullable(table.get(id)).map(this::copy).ifPresent(rows::add));
+            return rows;
+        });
+        storeSavedRows();
+    }
+
+    @Test
+    @DisplayName("Should count the open accounts of each customer from the events")
+    void poll_ShouldProjectActiveAccounts() {
+        publish(1, 10, AccountEventType.OPENED);
+        publish(2, 10, AccountEventType.OPENED);
+        publish(3, 20, AccountEventType.OPENED);
+        publish(4, 10, AccountEventType.CLOSED);
+        publish(5, 20, AccountEventType.CLOSED);
+
+        assertEquals(5, projection.poll());
+
+        assertEquals(Optional.of(true), projection.hasActiveAccounts(10));
+        assertEquals(Optional.of(false), projection.hasActiveAccounts(20));
+        assertEquals(1, table.get(10).getActiveAccounts());
+        assertEquals(5L, table.get(20).getLastEventId());
+    }
+
+    @Test
+    @DisplayName("Should apply the events in batches and only read the new events on the next poll")
+    void poll_ShouldApplyBatchesAndResumeAfterWatermark() {
+        for (int id = 1; id <= 5; id++) {
+            publish(id, id, AccountEventType.OPENED);
+        }
+        assertEquals(5, projection.poll());
+        verify(accountStatusRepository, times(3)).saveAll(any());
+
+        publish(6, 1, AccountEventType.CLOSED);
+
+        assertEquals(1, projection.poll());
+        assertEquals(0, table.get(1).getActiveAccounts());
+    }
+
+    @Test
+    @DisplayName("Should ignore redelivered events")
+    void poll_ShouldIgnoreEventsAlreadyApplied() {
+        table.put(10, AccountStatus.builder().customerId(10).activeAccounts(1).lastEventId(7).build());
+        publish(6, 10, AccountEventType.OPENED);
+        publish(7, 10, AccountEventType.OPENED);
+        publish(8, 10, AccountEventType.CLOSED);
+
+        projection.poll();
+
+        assertEquals(0, table.get(10).getActiveAccounts());
+        assertEquals(8, table.get(10).getLastEventId());
+    }
+
+    @Test
+    @DisplayName("Should not answer for customers without events")
+    void hasActiveAccounts_ShouldBeEmpty_WhenCustomerIsMissing() {
+        projection.poll();
+
+        assertEquals(Optional.empty(), projection.hasActiveAccounts(99));
+        assertEquals(1, lookups("missing"));
+    }
+
+    @Test
+    @DisplayName("Should not answer for customers first seen closing an account")
+    void hasActiveAccounts_ShouldBeEmpty_WhenHistoryStartsWithClose() {
+        publish(1, 30, AccountEventType.CLOSED);
+        publish(2, 30, AccountEventType.OPENED);
+
+        projection.poll();
+
+        assertEquals(Optional.empty(), projection.hasActiveAccounts(30));
+        assertFalse(table.get(30).isHistoryComplete());
+        assertEquals(1, lookups("incomplete"));
+    }
+
+    @Test
+    @DisplayName("Should flag a row whose count goes negative as incomplete instead of clamping it")
+    void poll_ShouldFlagIncompleteRow_WhenCountGoesNegative() {
+        table.put(10, AccountStatus.builder().customerId(10).historyComplete(true).lastEventId(1).build());
+        publish(2, 10, AccountEventType.CLOSED);
+        publish(3, 10, AccountEventType.OPENED);
+
+        projection.poll();
+
+        assertEquals(0, table.get(10).getActiveAccounts());
+        assertFalse(table.get(10).isHistoryComplete());
+        assertEquals(Optional.empty(), projection.hasActiveAccounts(10));
+    }
+
+    @Test
+    @DisplayName("Should not answer for new customers when the source does not retain the whole history")
+    void hasActiveAccounts_ShouldBeEmpty_WhenSourceLostHistory() {
+        AccountEventSource retained = new AccountEventSource() {
+            @Override
+            public List<AccountEvent> readAfter(long afterEventId, int maxEvents) {
+                return afterEventId < 7 ? List.of(new AccountEvent(7, 10, AccountEventType.OPENED)) : List.of();
+            }
+
+            @Override
+            public boolean retainsFullHistory() {
+                return false;
+            }
+        };
+        AccountStatusProjection partial = new AccountStatusProjection(accountStatusRepository, retained,
+                new TransactionTemplate(transactionManager), meterRegistry, 2, 60_000);
+
+        partial.poll();
+
+        assertEquals(1, table.get(10).getActiveAccounts());
+        assertEquals(Optional.empty(), partial.hasActiveAccounts(10));
+    }
+
+    @Test
+    @DisplayName("Should not answer before the first poll or once the last successful poll is too old")
+    void hasActiveAccounts_ShouldBeEmpty_WhenProjectionIsStale() throws InterruptedException {
+        AccountStatusProjection shortLived = projection(50);
+        publish(1, 10, AccountEventType.OPENED);
+
+        assertEquals(Optional.empty(), shortLived.hasActiveAccounts(10));
+        shortLived.poll();
+        assertEquals(Optional.of(true), shortLived.hasActiveAccounts(10));
+        Thread.sleep(100);
+
+        assertFalse(shortLived.isFresh());
+        assertEquals(Optional.empty(), shortLived.hasActiveAccounts(10));
+        assertEquals(2, lookups("stale"));
+        assertEquals(1, lookups("hit"));
+    }
+
+    @Test
+    @DisplayName("Should stay stale and retry the batch when applying it fails")
+    void poll_ShouldNotAdvance_WhenBatchFails() {
+        publish(1, 10, AccountEventType.OPENED);
+        doThrow(new IllegalStateException("database unavailable")).when(accountStatusRepository).saveAll(any());
+
+        assertEquals(0, projection.poll());
+        assertFalse(projection.isFresh());
+
+        storeSavedRows();
+        assertEquals(1, projection.poll());
+        assertEquals(1, table.get(10).getActiveAccounts());
+        assertTrue(projection.isFresh());
+    }
+
+    private void storeSavedRows() {
+        doAnswer(invocation -> {
+            invocation.<Iterable<AccountStatus>>getArgument(0).forEach(row -> table.put(row.getCustomerId(), copy(row)));
+            return List.of();
+        }).when(accountStatusRepository).saveAll(any());
+    }
+
+    private AccountStatusProjection projection(long maxStalenessMillis) {
+        AccountEventSource source = (afterEventId, maxEvents) -> published.stream()
+                .filter(event -> event.id() > afterEventId).limit(maxEvents).toList();
+        return new AccountStatusProjection(accountStatusRepository, source, new TransactionTemplate(transactionManager),
+                meterRegistry, 2, maxStalenessMillis);
+    }
+
+    private void publish(long id, int customerId, AccountEventType type) {
+        published.add(new AccountEvent(id, customerId, type));
+    }
+
+    private AccountStatus copy(AccountStatus row) {
+        return row.toBuilder().build();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("customer.account-status.lookups").tag("result", result).counter().count();
+    }
+}
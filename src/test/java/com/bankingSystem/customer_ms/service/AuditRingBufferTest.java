@@ -0,0 +1,88 @@
+package com.bankingSystem.customer_ms.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two and refuse elements once full")
+    void offer_ShouldFail_WhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+
+        assertEquals(4, buffer.capacity());
+        for (int element = 0; element < 4; element++) {
+            assertEquals(element, buffer.offer(element));
+        }
+        assertEquals(-1, buffer.offer(4));
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should drain in sequence order and reuse the freed slots")
+    void drainTo_ShouldReturnElementsInOrder() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int element = 0; element < 4; element++) {
+            buffer.offer(element);
+        }
+
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(4, buffer.offer(4));
+        assertEquals(2, buffer.drainTo(drained, 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(drained, 10));
+    }
+
+    @Test
+    @DisplayName("Should deliver every element of concurrent producers once, in each producer's order")
+    void offer_ShouldNotLoseElements_WhenProducersAreConcurrent() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(1024);
+        ExecutorService threads = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            long id = producer;
+            running.add(threads.submit(() -> {
+                start.await();
+                for (long element = 0; element < perProducer; element++) {
+                    while (buffer.offer(new long[] {id, element}) < 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        long[] nextByProducer = new long[producers];
+        List<long[]> drained = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            drained.clear();
+            received += buffer.drainTo(drained, 256);
+            for (long[] element : drained) {
+                assertEquals(nextByProducer[(int) element[0]]++, element[1]);
+            }
+        }
+        for (Future<?> producer : running) {
+            producer.get();
+        }
+        threads.shutdown();
+
+        assertEquals(0, buffer.size());
+    }
+}
@@ -1,15 +1,29 @@
 package com.bankingSystem.customer_ms.service;
 
 import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,11 +32,18 @@ class BankAccountServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
-    private BankAccountService bankAccountService;
+    private final BankAccountService bankAccountService;
+
+    private final List<HttpServer> stubServers = new ArrayList<>();
 
     public BankAccountServiceTest() {
         MockitoAnnotations.openMocks(this);
+        bankAccountService = new BankAccountService(restTemplate, balancer(List.of("http://localhost:8081/accounts")), false, 20, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServers.forEach(server -> server.stop(0));
     }
 
     @Test
@@ -72,7 +93,8 @@ class BankAccountServiceTest {
         BusinessException exception = assertThrows(BusinessException.class, () ->
                 bankAccountService.hasActiveAccounts(customerId));
 
-        assertEquals("Error connecting to bank account service: Service unavailable", exception.getMessage());
+        assertEquals("The bank account service is unavailable, try again later.", exception.getMessage());
+        assertEquals("Service unavailable", exception.getCause().getMessage());
         verify(restTemplate, times(1)).exchange(url, HttpMethod.GET, null, Boolean.class);
     }
 
@@ -92,4 +114,137 @@ class BankAccountServiceTest {
         assertFalse(result);
         verify(restTemplate, times(1)).exchange(url, HttpMethod.GET, null, Boolean.class);
     }
+
+    @Test
+    @DisplayName("Should spread calls evenly over the bank account service instances")
+    void hasActiveAccounts_SeveralInstances_SpreadsCalls() throws IOException {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        AtomicInteger third = new AtomicInteger();
+        BankAccountService service = stubbedService(false, stub(first, 0, 200), stub(second, 0, 200), stub(third, 0, 200));
+
+        for (int i = 0; i < 30; i++) {
+            assertTrue(service.hasActiveAccounts(i));
+        }
+
+        assertEquals(List.of(10, 10, 10), List.of(first.get(), second.get(), third.get()));
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after consecutive failures and send the calls to the healthy ones")
+    void hasActiveAccounts_FailingInstance_IsEjected() throws IOException {
+        AtomicInteger failing = new AtomicInteger();
+        AtomicInteger healthy = new AtomicInteger();
+        BankAccountService service = stubbedService(false, stub(failing, 0, 503), stub(healthy, 0, 200));
+
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                service.hasActiveAccounts(i);
+            } catch (BusinessException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(3, failing.get());
+        assertEquals(3, failures);
+        assertEquals(17, healthy.get());
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow call on another instance and return the first answer")
+    void hasActiveAccounts_SlowInstance_IsHedged() throws IOException {
+        AtomicInteger slow = new AtomicInteger();
+        AtomicInteger fast = new AtomicInteger();
+        AccountEndpointBalancer balancer = balancer(List.of(stub(slow, 1500, 200), stub(fast, 0, 200)));
+        for (int i = 0; i < 20; i++) {
+            balancer.release(balancer.acquire(null), true, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        BankAccountService service = new BankAccountService(stubRestTemplate(), balancer, true, 20, 10);
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                long startedAt = System.nanoTime();
+                assertTrue(service.hasActiveAccounts(i));
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 1000);
+            }
+        } finally {
+            service.shutdown();
+        }
+
+        assertTrue(slow.get() > 0);
+        assertEquals(4, fast.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a call when every thread of the hedging pool is busy")
+    void hasActiveAccounts_HedgingPoolFull_IsRejected() throws Exception {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        AccountEndpointBalancer balancer = balancer(List.of(stub(first, 1000, 200), stub(second, 1000, 200)));
+        for (int i = 0; i < 20; i++) {
+            balancer.release(balancer.acquire(null), true, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        BankAccountService service = new BankAccountService(stubRestTemplate(), balancer, true, 20, 1);
+
+        try {
+            CompletableFuture<Boolean> hedgedCall = CompletableFuture.supplyAsync(() -> service.hasActiveAccounts(1));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (first.get() + second.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            BusinessException exception = assertThrows(BusinessException.class, () -> service.hasActiveAccounts(2));
+            assertEquals(ErrorCode.OVERLOADED, exception.getCode());
+            assertTrue(hedgedCall.get(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private BankAccountService stubbedService(boolean hedgingEnabled, String... baseUrls) {
+        return new BankAccountService(stubRestTemplate(), balancer(List.of(baseUrls)), hedgingEnabled, 20, 10);
+    }
+
+    private static AccountEndpointBalancer balancer(List<String> baseUrls) {
+        return new AccountEndpointBalancer(baseUrls, 3, 10_000, 0.95);
+    }
+
+    private static RestTemplate stubRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(1000);
+        requestFactory.setReadTimeout(5000);
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Starts a local bank account service instance answering {@code true} after the given latency.
+     *
+     * @return the base URL of the instance.
+     */
+    private String stub(AtomicInteger requests, long latencyMillis, int status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/accounts/customer/", exchange -> {
+            requests.incrementAndGet();
+            sleep(latencyMillis);
+            byte[] body = "true".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        stubServers.add(server);
+        return "http://localhost:" + server.getAddress().getPort() + "/accounts";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
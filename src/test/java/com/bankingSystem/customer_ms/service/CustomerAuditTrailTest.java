@@ -0,0 +1,155 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.AuditDurability;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerAuditTrailTest {
+
+    private final List<CustomerAuditRecord> written = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final Customer ana = Customer.builder()
+            .customerId(1).firstName("Ana").lastName("Soto").dni("98765432").email("ana.soto@mail.com").build();
+
+    private MeterRegistry meterRegistry;
+    private CustomerAuditTrail auditTrail;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (auditTrail != null) {
+            auditTrail.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait until the record is written, with sync durability")
+    void record_ShouldWaitForWrite_WhenDurabilityIsSync() {
+        auditTrail = auditTrail(this::store, 16, 0, AuditDurability.SYNC);
+
+        Customer before = ana.toBuilder().build();
+        Customer after = ana.toBuilder().email("ana@bank.com").build();
+        auditTrail.onCustomerChanged(CustomerChangedEvent.updated(before, after));
+        after.setEmail("changed@bank.com");
+
+        assertEquals(1, written.size());
+        CustomerAuditRecord auditRecord = written.get(0);
+        assertEquals(CustomerChangeType.UPDATED, auditRecord.type());
+        assertEquals(1, auditRecord.customerId());
+        assertEquals("ana.soto@mail.com", auditRecord.before().getEmail());
+        assertEquals("ana@bank.com", auditRecord.after().getEmail());
+        assertEquals(1, meterRegistry.get("customer.audit.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write the queued records in batches, in order")
+    void record_ShouldWriteInBatches_WhenDurabilityIsAsync() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        auditTrail = auditTrail(records -> {
+            await(release);
+            store(records);
+        }, 64, 0, AuditDurability.ASYNC);
+
+        for (int id = 1; id <= 40; id++) {
+            assertTrue(auditTrail.record(created(id)));
+        }
+        release.countDown();
+        auditTrail.shutdown();
+
+        assertEquals(40, written.size());
+        assertEquals(1, written.get(0).customerId());
+        assertEquals(40, written.get(39).customerId());
+        assertTrue(batchSizes.size() < 40);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    @DisplayName("Should drop and count records once the buffer stays full")
+    void record_ShouldDropRecords_WhenBufferIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        auditTrail = auditTrail(records -> {
+            await(release);
+            store(records);
+        }, 4, 0, AuditDurability.ASYNC);
+
+        int accepted = 0;
+        for (int id = 1; id <= 100; id++) {
+            accepted += auditTrail.record(created(id)) ? 1 : 0;
+        }
+        release.countDown();
+
+        assertTrue(accepted < 100);
+        assertEquals(100 - accepted, meterRegistry.get("customer.audit.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should hold writers back while the buffer is full, up to the block timeout")
+    void record_ShouldWaitForRoom_WhenBlockTimeoutIsSet() {
+        auditTrail = auditTrail(this::store, 4, 5000, AuditDurability.ASYNC);
+
+        for (int id = 1; id <= 100; id++) {
+            assertTrue(auditTrail.record(created(id)));
+        }
+
+        assertEquals(0, meterRegistry.get("customer.audit.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch")
+    void record_ShouldRetryBatch_WhenSinkFails() {
+        AtomicInteger attempts = new AtomicInteger();
+        auditTrail = auditTrail(records -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            store(records);
+        }, 16, 0, AuditDurability.SYNC);
+
+        assertTrue(auditTrail.record(created(1)));
+
+        assertEquals(1, written.size());
+        assertEquals(1, meterRegistry.get("customer.audit.write.failures").counter().count());
+    }
+
+    private CustomerAuditTrail auditTrail(AuditSink sink, int capacity, long blockTimeoutMillis, AuditDurability durability) {
+        return new CustomerAuditTrail(sink, meterRegistry, capacity, 10, 10, blockTimeoutMillis, durability, 5000);
+    }
+
+    private void store(List<CustomerAuditRecord> records) {
+        batchSizes.add(records.size());
+        written.addAll(records);
+    }
+
+    private CustomerAuditRecord created(int id) {
+        return CustomerAuditRecord.of(CustomerChangedEvent.created(ana.toBuilder().customerId(id).build()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
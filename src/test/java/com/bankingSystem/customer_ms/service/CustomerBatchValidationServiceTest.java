@@ -0,0 +1,114 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerBatchValidationReport;
+import com.bankingSystem.customer_ms.model.CustomerRowViolation;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CustomerBatchValidationServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerBatchValidationService customerBatchValidationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerBatchValidationService = new CustomerBatchValidationService(new CustomerValidator(customerRepository),
+                customerRepository, 4, 10_000);
+        when(customerRepository.findExistingDnis(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerBatchValidationService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report every format violation of each invalid row")
+    void validate_ShouldReportAllFormatViolationsPerRow() {
+        List<Customer> batch = List.of(customer(0),
+                Customer.builder().firstName("").lastName("Soto").dni("123").email("bad").build(),
+                customer(2));
+
+        CustomerBatchValidationReport report = customerBatchValidationService.validate(batch);
+
+        assertEquals(3, report.totalRows());
+        assertEquals(2, report.validRows());
+        assertEquals(List.of(new CustomerRowViolation(1, "123", List.of("FirstName is required.",
+                "Invalid DNI format. It must contain exactly 8 digits.", "Invalid email format."))), report.violations());
+    }
+
+    @Test
+    @DisplayName("Should report DNIs repeated within the batch and DNIs that already exist")
+    void validate_ShouldReportDuplicateDnis() {
+        when(customerRepository.findExistingDnis(any())).thenReturn(List.of(dni(1)));
+        List<Customer> batch = List.of(customer(0), customer(1), customer(0));
+
+        CustomerBatchValidationReport report = customerBatchValidationService.validate(batch);
+
+        assertEquals(1, report.validRows());
+        assertEquals(List.of(
+                new CustomerRowViolation(1, dni(1), List.of("A client with this DNI already exists.")),
+                new CustomerRowViolation(2, dni(0), List.of("The DNI is repeated in row 0 of the batch."))),
+                report.violations());
+        verify(customerRepository, never()).findByDni(anyString());
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should check large batches in parallel with one DNI query per thousand DNIs")
+    @SuppressWarnings("unchecked")
+    void validate_ShouldQueryDnisInChunks_ForLargeBatches() {
+        List<Customer> batch = IntStream.range(0, 2500).mapToObj(this::customer).collect(Collectors.toList());
+        batch.set(1234, batch.get(1234).toBuilder().email("invalid").build());
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(customerRepository.findExistingDnis(any())).thenAnswer(invocation -> {
+            chunkSizes.add(((Collection<String>) invocation.getArgument(0)).size());
+            return List.of();
+        });
+
+        CustomerBatchValidationReport report = customerBatchValidationService.validate(batch);
+
+        assertEquals(2499, report.validRows());
+        assertEquals(1234, report.violations().get(0).row());
+        assertEquals(List.of(1000, 1000, 499), chunkSizes);
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the maximum")
+    void validate_ShouldReject_WhenBatchIsTooLarge() {
+        List<Customer> batch = IntStream.range(0, 10_001).mapToObj(this::customer).collect(Collectors.toList());
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> customerBatchValidationService.validate(batch));
+        assertEquals("A validation batch can contain at most 10000 customers.", exception.getMessage());
+    }
+
+    private Customer customer(int i) {
+        return Customer.builder().firstName("Name" + i).lastName("Last" + i).dni(dni(i)).email("user" + i + "@mail.com").build();
+    }
+
+    private static String dni(int i) {
+        return String.format("%08d", 30_000_000 + i);
+    }
+}
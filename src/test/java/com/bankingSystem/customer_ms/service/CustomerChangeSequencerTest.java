@@ -0,0 +1,101 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerChangeSequencerTest {
+
+    @Autowired
+    private CustomerChangeSequencer customerChangeSequencer;
+
+    @Autowired
+    private CustomerSyncService customerSyncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customer_change WHERE customer_id >= 900100");
+    }
+
+    @Test
+    @DisplayName("Should number the committed changes in insertion order after the last sequence")
+    void sequencePending_ShouldNumberPendingChanges() {
+        long lastSeq = lastSeq();
+        transactionTemplate.executeWithoutResult(status -> List.of(900101, 900102, 900103).forEach(this::insertChange));
+
+        customerChangeSequencer.sequencePending();
+
+        assertEquals(List.of(lastSeq + 1, lastSeq + 2, lastSeq + 3), jdbcTemplate.queryForList(
+                "SELECT seq FROM customer_change WHERE customer_id >= 900100 ORDER BY id", Long.class));
+        assertEquals(lastSeq + 3, lastSeq());
+    }
+
+    @Test
+    @DisplayName("Should give a change committed late a sequence after the watermark already read")
+    void sequencePending_ShouldFollowCommitOrder() throws Exception {
+        long watermark = lastSeq();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> late = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            insertChange(900101);
+            inserted.countDown();
+            await(commit);
+        }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        transactionTemplate.executeWithoutResult(status -> insertChange(900102));
+
+        customerChangeSequencer.sequencePending();
+        CustomerChangePage first = customerSyncService.getChangesSince(watermark, 100);
+        commit.countDown();
+        late.get(5, TimeUnit.SECONDS);
+        customerChangeSequencer.sequencePending();
+        CustomerChangePage second = customerSyncService.getChangesSince(first.watermark(), 100);
+
+        assertEquals(List.of(900102), customerIds(first));
+        assertEquals(List.of(900101), customerIds(second));
+    }
+
+    private void insertChange(int customerId) {
+        jdbcTemplate.update("INSERT INTO customer_change (customer_id, change_type, changed_at) "
+                + "VALUES (?, 'UPDATED', CURRENT_TIMESTAMP)", customerId);
+    }
+
+    private long lastSeq() {
+        return jdbcTemplate.queryForObject("SELECT last_seq FROM customer_change_sequence WHERE id = 1", Long.class);
+    }
+
+    private static List<Integer> customerIds(CustomerChangePage page) {
+        return page.changes().stream().map(CustomerChangeEntry::customerId).filter(id -> id >= 900100).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
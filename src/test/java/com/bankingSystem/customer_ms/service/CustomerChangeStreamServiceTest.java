@@ -0,0 +1,231 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CustomerChangeStreamServiceTest {
+
+    @Mock
+    private CustomerSyncService customerSyncService;
+
+    @Mock
+    private CustomerChangeRepository customerChangeRepository;
+
+    private final List<CustomerChangeEntry> changeLog = new CopyOnWriteArrayList<>();
+
+    private MeterRegistry meterRegistry;
+
+    private CustomerChangeStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(customerSyncService.getChangesSince(anyLong(), anyInt())).thenAnswer(invocation ->
+                changesSince(invocation.getArgument(0), invocation.getArgument(1)));
+        when(customerChangeRepository.findMaxSeq()).thenAnswer(invocation -> (long) changeLog.size());
+        streamService = new CustomerChangeStreamService(customerSyncService, customerChangeRepository,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                2, 2, 60_000, 3_600_000, 0, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send every new change once, filtered by customer ID, with the change sequence as id")
+    void poll_ShouldSendNewChangesToMatchingSubscribers() throws IOException {
+        append(1);
+        FakeConnection all = new FakeConnection();
+        FakeConnection second = new FakeConnection();
+        streamService.subscribe(all, Set.of(), null);
+        streamService.subscribe(second, Set.of(2), null);
+
+        append(2);
+        append(1);
+        streamService.poll();
+        awaitUntil(() -> all.ids.size() == 2 && second.ids.size() == 1);
+        append(2);
+        streamService.poll();
+
+        awaitUntil(() -> all.ids.size() == 3 && second.ids.size() == 2);
+        streamService.poll();
+        assertEquals(List.of(2L, 3L, 4L), all.ids);
+        assertEquals(List.of(2L, 4L), second.ids);
+    }
+
+    @Test
+    @DisplayName("Should replay the changes after the Last-Event-ID, then continue with the live ones")
+    void subscribe_ShouldResumeAfterLastEventId() throws IOException {
+        for (int id = 1; id <= 5; id++) {
+            append(id);
+        }
+        FakeConnection connection = new FakeConnection();
+        streamService.subscribe(connection, Set.of(), 3L);
+        streamService.poll();
+        awaitUntil(() -> replaying() == 0);
+
+        append(6);
+        streamService.poll();
+
+        awaitUntil(() -> connection.ids.size() == 3);
+        assertEquals(List.of(4L, 5L, 6L), connection.ids);
+    }
+
+    @Test
+    @DisplayName("Should replay one buffer of changes at a time, only while the client reads")
+    void subscribe_ShouldBoundReplayByBuffer() throws IOException {
+        for (int id = 1; id <= 6; id++) {
+            append(id);
+        }
+        FakeConnection connection = new FakeConnection();
+        connection.readyWrites = 2;
+        streamService.subscribe(connection, Set.of(), 0L);
+        awaitUntil(() -> connection.ids.size() == 2);
+        streamService.poll();
+
+        verify(customerSyncService, times(1)).getChangesSince(anyLong(), eq(2));
+        connection.makeReady();
+
+        awaitUntil(() -> connection.ids.size() == 6);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), connection.ids);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer overflows, without delaying the others")
+    void poll_ShouldDisconnectSlowSubscriber() throws Exception {
+        FakeConnection stalled = new FakeConnection();
+        FakeConnection reading = new FakeConnection();
+        streamService.subscribe(stalled, Set.of(), null);
+        streamService.subscribe(reading, Set.of(), null);
+        streamService.poll();
+        awaitUntil(() -> replaying() == 0);
+        stalled.readyWrites = 0;
+
+        for (int id = 1; id <= 2; id++) {
+            append(id);
+        }
+        streamService.poll();
+        awaitUntil(() -> reading.ids.size() == 2);
+        append(3);
+        streamService.poll();
+
+        assertTrue(stalled.closed.await(5, TimeUnit.SECONDS));
+        awaitUntil(() -> reading.ids.size() == 3);
+        assertEquals(1, meterRegistry.get("customer.changes.stream.slow.disconnects").counter().count());
+        assertEquals(1, streamService.getSubscriberCount());
+        assertTrue(stalled.ids.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers past the maximum")
+    void subscribe_ShouldFail_WhenTooManySubscribers() throws IOException {
+        streamService.subscribe(new FakeConnection(), Set.of(), null);
+        streamService.subscribe(new FakeConnection(), Set.of(), null);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> streamService.subscribe(new FakeConnection(), Set.of(), null));
+
+        assertEquals(ErrorCode.OVERLOADED, exception.getCode());
+    }
+
+    private CustomerChangePage changesSince(long watermark, int limit) {
+        List<CustomerChangeEntry> changes = changeLog.stream().filter(entry -> entry.seq() > watermark).limit(limit + 1L).toList();
+        boolean hasMore = changes.size() > limit;
+        List<CustomerChangeEntry> page = hasMore ? changes.subList(0, limit) : changes;
+        return new CustomerChangePage(page, page.isEmpty() ? watermark : page.get(page.size() - 1).seq(), hasMore);
+    }
+
+    private void append(int customerId) {
+        Customer customer = Customer.builder().customerId(customerId).firstName("Ana").lastName("Soto")
+                .dni("9876543" + customerId).email("ana.soto@mail.com").build();
+        changeLog.add(new CustomerChangeEntry(changeLog.size() + 1, customerId, CustomerChangeType.UPDATED, customer));
+    }
+
+    private double replaying() {
+        return meterRegistry.get("customer.changes.stream.replaying").gauge().value();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Connection recording the ids of the events written to it, accepting a limited number of writes before it
+     * reports not being ready, like a client that stopped reading.
+     */
+    private static class FakeConnection implements ChangeStreamConnection {
+
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile int readyWrites = Integer.MAX_VALUE;
+        private volatile Runnable onWritable;
+
+        @Override
+        public void open(long timeoutMillis, Runnable onWritable, Runnable onClosed) {
+            this.onWritable = onWritable;
+            onWritable.run();
+        }
+
+        @Override
+        public boolean isReady() {
+            return readyWrites > 0;
+        }
+
+        @Override
+        public void write(String chunk) {
+            readyWrites--;
+            if (chunk.startsWith("id:")) {
+                ids.add(Long.parseLong(chunk.substring(3, chunk.indexOf('\n'))));
+            }
+        }
+
+        @Override
+        public void flush() {
+            // nothing is buffered
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        void makeReady() {
+            readyWrites = Integer.MAX_VALUE;
+            onWritable.run();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.DeleteJob;
+import com.bankingSystem.customer_ms.model.DeleteJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerDeleteJobServiceTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    private CustomerDeleteJobService deleteJobService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        deleteJobService = new CustomerDeleteJobService(customerService, 1, 1, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        deleteJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the delete in the background and report its success")
+    void submit_ShouldDeleteInBackground_AndSucceed() throws Exception {
+        when(customerService.delete(1)).thenReturn(true);
+
+        DeleteJob job = deleteJobService.submit(1);
+
+        assertEquals(1, job.customerId());
+        assertEquals(DeleteJobStatus.SUCCEEDED, awaitFinished(job.jobId()).status());
+        verify(customerService).delete(1);
+    }
+
+    @Test
+    @DisplayName("Should report the reason when the delete fails")
+    void submit_ShouldReportFailure_WhenDeleteFails() throws Exception {
+        when(customerService.delete(2)).thenThrow(new BusinessException("Exception: Cannot delete customer with active accounts."));
+
+        DeleteJob finished = awaitFinished(deleteJobService.submit(2).jobId());
+
+        assertEquals(DeleteJobStatus.FAILED, finished.status());
+        assertEquals("Exception: Cannot delete customer with active accounts.", finished.message());
+    }
+
+    @Test
+    @DisplayName("Should return the pending job when the same customer is deleted again")
+    void submit_ShouldDeduplicatePendingJobsOfSameCustomer() throws Exception {
+        when(customerService.delete(anyInt())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+
+        DeleteJob running = deleteJobService.submit(1);
+        DeleteJob queued = deleteJobService.submit(2);
+
+        assertEquals(running.jobId(), deleteJobService.submit(1).jobId());
+        assertEquals(queued.jobId(), deleteJobService.submit(2).jobId());
+
+        release.countDown();
+        awaitFinished(queued.jobId());
+        verify(customerService, times(1)).delete(1);
+        verify(customerService, times(1)).delete(2);
+        assertNotEquals(running.jobId(), deleteJobService.submit(1).jobId());
+    }
+
+    @Test
+    @DisplayName("Should reject new jobs when the workers and the queue are full")
+    void submit_ShouldReject_WhenQueueIsFull() {
+        when(customerService.delete(anyInt())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        deleteJobService.submit(1);
+        deleteJobService.submit(2);
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> deleteJobService.submit(3));
+        assertEquals("Too many pending delete jobs, try again later.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should forget finished jobs after the retention period")
+    void purgeFinishedJobs_ShouldRemoveExpiredJobs() throws Exception {
+        CustomerDeleteJobService shortRetention = new CustomerDeleteJobService(customerService, 1, 1, 0);
+        try {
+            String jobId = shortRetention.submit(1).jobId();
+            while (!shortRetention.getJob(jobId).orElseThrow().status().isFinished()) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(5);
+
+            shortRetention.purgeFinishedJobs();
+
+            assertTrue(shortRetention.getJob(jobId).isEmpty());
+        } finally {
+            shortRetention.shutdown();
+        }
+    }
+
+    private DeleteJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        DeleteJob job = deleteJobService.getJob(jobId).orElseThrow();
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = deleteJobService.getJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
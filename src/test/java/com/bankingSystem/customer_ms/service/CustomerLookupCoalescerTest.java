@@ -0,0 +1,207 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.configuration.ReadYourWritesContext;
+import com.bankingSystem.customer_ms.model.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerLookupCoalescerTest {
+
+    private static final int CALLERS = 16;
+
+    private MeterRegistry meterRegistry;
+    private CustomerLookupCoalescer coalescer;
+    private ExecutorService callerThreads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new CustomerLookupCoalescer(meterRegistry);
+        callerThreads = Executors.newFixedThreadPool(2 * CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callerThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run a single query for a burst of concurrent lookups of the same customer")
+    void findById_ShouldRunOneQuery_WhenLookupsAreConcurrent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        Function<Integer, Optional<Customer>> query = id -> {
+            queries.incrementAndGet();
+            await(release);
+            return Optional.of(customer(id));
+        };
+
+        List<Future<Optional<Customer>>> results = burst(1, query);
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        List<Customer> customers = new ArrayList<>();
+        for (Future<Optional<Customer>> result : results) {
+            customers.add(result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1, lookups("queried"));
+        assertEquals(CALLERS - 1, lookups("coalesced"));
+        assertTrue(customers.stream().allMatch(customer -> "12345678".equals(customer.getDni())));
+        assertEquals(CALLERS, customers.stream().map(System::identityHashCode).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should share the exception of the query with the coalesced lookups")
+    void findById_ShouldShareException_WhenQueryFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        Function<Integer, Optional<Customer>> query = id -> {
+            queries.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        };
+
+        List<Future<Optional<Customer>>> results = burst(1, query);
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Optional<Customer>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("database unavailable", e.getCause().getMessage());
+        }
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("Should run a new query once the previous lookup has completed")
+    void findById_ShouldQueryAgain_WhenPreviousLookupCompleted() {
+        AtomicInteger queries = new AtomicInteger();
+        Function<Integer, Optional<Customer>> query = id -> {
+            queries.incrementAndGet();
+            return Optional.of(customer(id));
+        };
+
+        coalescer.findById(1, query);
+        coalescer.findById(1, query);
+        assertThrows(IllegalStateException.class, () -> coalescer.findById(1, id -> {
+            throw new IllegalStateException("failed");
+        }));
+        coalescer.findById(1, query);
+
+        assertEquals(3, queries.get());
+        assertEquals(0, lookups("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Should not coalesce lookups of different customers")
+    void findById_ShouldRunOneQueryPerId_WhenIdsDiffer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        Function<Integer, Optional<Customer>> query = id -> {
+            queries.incrementAndGet();
+            await(release);
+            return Optional.empty();
+        };
+
+        List<Future<Optional<Customer>>> first = burst(1, query);
+        List<Future<Optional<Customer>>> second = burst(2, query);
+        release.countDown();
+
+        for (Future<Optional<Customer>> result : first) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isEmpty());
+        }
+        for (Future<Optional<Customer>> result : second) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isEmpty());
+        }
+        assertTrue(queries.get() >= 2);
+        assertEquals(2 * CALLERS, lookups("queried") + lookups("coalesced"));
+    }
+
+    /**
+     * Starts {@link #CALLERS} lookups of the same ID, released together.
+     */
+    @Test
+    @DisplayName("Should not share a query in flight with a request that has written")
+    void findById_ShouldRunOwnQuery_WhenRequestHasWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Optional<Customer>> before = callerThreads.submit(() -> coalescer.findById(1, id -> {
+            await(release);
+            return Optional.of(customer(id));
+        }));
+        while (lookups("queried") < 1) {
+            Thread.sleep(5);
+        }
+
+        ReadYourWritesContext.markWritten();
+        try {
+            Optional<Customer> own = coalescer.findById(1, id -> Optional.of(customer(id).toBuilder().email("new@mail.com").build()));
+            assertEquals("new@mail.com", own.orElseThrow().getEmail());
+        } finally {
+            ReadYourWritesContext.clear();
+            release.countDown();
+        }
+        assertEquals("ana@mail.com", before.get(5, TimeUnit.SECONDS).orElseThrow().getEmail());
+        assertEquals(0, lookups("coalesced"));
+    }
+
+    private List<Future<Optional<Customer>>> burst(int id, Function<Integer, Optional<Customer>> query)
+            throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Customer>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callerThreads.submit(() -> {
+                ready.countDown();
+                await(start);
+                return coalescer.findById(id, query);
+            }));
+        }
+        assertTrue(ready.await(5, TimeUnit.SECONDS));
+        start.countDown();
+        return results;
+    }
+
+    private void waitUntilCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookups("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("customer.lookups").tag("result", result).counter().count();
+    }
+
+    private static Customer customer(Integer id) {
+        return Customer.builder().customerId(id).firstName("Ana").lastName("Soto").dni("12345678").email("ana@mail.com").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
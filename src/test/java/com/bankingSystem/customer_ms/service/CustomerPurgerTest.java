@@ -0,0 +1,106 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.repository.ShardedCustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CustomerPurgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should delete at most one batch of soft-deleted customers and count the rows")
+    void purgeBatch_ShouldDeleteOneBoundedBatch() {
+        when(jdbcTemplate.update(anyString(), eq(50))).thenReturn(50, 7);
+        CustomerPurger purger = purger(true, "00:00", "00:00");
+
+        assertEquals(50, purger.purgeBatch());
+        assertEquals(7, purger.purgeBatch());
+
+        verify(jdbcTemplate, times(2)).update("DELETE FROM customer WHERE deleted = TRUE LIMIT ?", 50);
+        assertEquals(57, meterRegistry.get("customer.purge.rows").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not purge when disabled")
+    void purgeInWindow_ShouldDoNothing_WhenDisabled() {
+        assertEquals(0, purger(false, "00:00", "00:00").purgeInWindow());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep the scheduler running when a batch fails")
+    void purgeInWindow_ShouldSwallowFailures() {
+        when(jdbcTemplate.update(anyString(), anyInt())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        assertEquals(0, purger(true, "00:00", "00:00").purgeInWindow());
+    }
+
+    @Test
+    @DisplayName("Should open the window between its bounds, including windows spanning midnight")
+    void isInWindow_ShouldHonourBounds() {
+        CustomerPurger night = purger(true, "01:00", "05:00");
+        assertTrue(night.isInWindow(LocalTime.of(1, 0)));
+        assertTrue(night.isInWindow(LocalTime.of(4, 59)));
+        assertFalse(night.isInWindow(LocalTime.of(5, 0)));
+        assertFalse(night.isInWindow(LocalTime.of(12, 0)));
+
+        CustomerPurger midnight = purger(true, "22:00", "02:00");
+        assertTrue(midnight.isInWindow(LocalTime.of(23, 30)));
+        assertTrue(midnight.isInWindow(LocalTime.of(1, 30)));
+        assertFalse(midnight.isInWindow(LocalTime.of(12, 0)));
+
+        assertTrue(purger(true, "03:00", "03:00").isInWindow(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    @DisplayName("Should release a DNI held by a soft-deleted customer")
+    void releaseDni_ShouldDeleteSoftDeletedHolder() {
+        when(jdbcTemplate.update("DELETE FROM customer WHERE dni = ? AND deleted = TRUE", "12345678")).thenReturn(1);
+
+        assertEquals(1, purger(true, "01:00", "05:00").releaseDni("12345678"));
+        assertEquals(1, meterRegistry.get("customer.purge.rows").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should leave the empty primary customer table alone when customers are sharded")
+    void purge_ShouldDoNothing_WhenSharded() {
+        when(shardedCustomerRepository.getIfAvailable()).thenReturn(mock(ShardedCustomerRepository.class));
+        CustomerPurger purger = purger(true, "00:00", "00:00");
+
+        assertEquals(0, purger.purgeInWindow());
+        assertEquals(0, purger.releaseDni("12345678"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private CustomerPurger purger(boolean enabled, String windowStart, String windowEnd) {
+        return new CustomerPurger(jdbcTemplate, meterRegistry, shardedCustomerRepository, enabled, 50, windowStart, windowEnd);
+    }
+}
@@ -0,0 +1,165 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guards the number of SQL statements of each {@link CustomerService} operation.
+ * <p>
+ * Budgets are measured with a cold second-level cache. When a change makes an operation exceed its budget,
+ * the test fails and lists the statements executed; lower the budget when a change saves round-trips.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerServiceQueryCountTest {
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        static BeanPostProcessor sqlStatementCounter() {
+            return SqlStatementCounter.installer();
+        }
+    }
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerSyncService customerSyncService;
+
+    @Autowired
+    private CustomerChangeSequencer customerChangeSequencer;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private BankAccountService bankAccountService;
+
+    private int dniSequence;
+
+    @BeforeEach
+    void setUp() {
+        deleteCustomers();
+        when(bankAccountService.hasActiveAccounts(anyInt())).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteCustomers();
+    }
+
+    @Test
+    @DisplayName("Create: DNI check, insert, change log and outbox")
+    void create_ShouldStayWithinQueryBudget() {
+        assertStatementCount(4, () -> customerService.create(newCustomer()));
+    }
+
+    @Test
+    @DisplayName("Create with the DNI of a soft-deleted customer: DNI check, failed insert, JDBC release and create")
+    void create_ShouldStayWithinQueryBudget_WhenDniIsHeldBySoftDeletedCustomer() {
+        Customer deleted = customerService.create(newCustomer());
+        customerService.delete(deleted.getCustomerId());
+        Customer customer = newCustomer();
+        customer.setDni(deleted.getDni());
+
+        assertStatementCount(6, () -> customerService.create(customer));
+        assertTrue(SqlStatementCounter.statements().contains("DELETE FROM customer WHERE dni = ? AND deleted = TRUE"));
+    }
+
+    @Test
+    @DisplayName("Update: DNI check, load, change log, outbox and update")
+    void update_ShouldStayWithinQueryBudget() {
+        Integer id = customerService.create(newCustomer()).getCustomerId();
+
+        assertStatementCount(5, () -> customerService.update(id, newCustomer()));
+    }
+
+    @Test
+    @DisplayName("Get: one select on a cold cache, none once cached")
+    void getById_ShouldStayWithinQueryBudget() {
+        Integer id = customerService.create(newCustomer()).getCustomerId();
+
+        assertStatementCount(1, () -> customerService.getById(id));
+        SqlStatementCounter.reset();
+        customerService.getById(id);
+        assertEquals(List.of(), SqlStatementCounter.statements(), "cached get hit the database");
+    }
+
+    @Test
+    @DisplayName("Delete: load, account status, change log, outbox and delete")
+    void delete_ShouldStayWithinQueryBudget() {
+        Integer id = customerService.create(newCustomer()).getCustomerId();
+
+        assertStatementCount(5, () -> customerService.delete(id));
+    }
+
+    @Test
+    @DisplayName("List: one select whatever the number of customers")
+    void getAll_ShouldUseOneQuery_WhateverTheNumberOfCustomers() {
+        customerService.create(newCustomer());
+        assertStatementCount(1, customerService::getAll);
+
+        IntStream.range(0, 10).forEach(i -> customerService.create(newCustomer()));
+        assertStatementCount(1, customerService::getAll);
+    }
+
+    @Test
+    @DisplayName("Sync: two selects per page whatever the number of changes")
+    void getChangesSince_ShouldUseTwoQueries_WhateverTheNumberOfChanges() {
+        IntStream.range(0, 10).forEach(i -> customerService.create(newCustomer()));
+        customerChangeSequencer.sequencePending();
+
+        assertStatementCount(2, () -> customerSyncService.getChangesSince(0, 5));
+        assertStatementCount(2, () -> customerSyncService.getChangesSince(0, 100));
+    }
+
+    private void assertStatementCount(int budget, Supplier<?> operation) {
+        entityManagerFactory.getCache().evictAll();
+        SqlStatementCounter.reset();
+        operation.get();
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(budget, statements.size(), () -> "Query budget changed, statements executed:\n"
+                + String.join("\n", statements));
+    }
+
+    private void deleteCustomers() {
+        customerRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM customer WHERE deleted = TRUE");
+    }
+
+    private Customer newCustomer() {
+        dniSequence++;
+        return Customer.builder().firstName("Query").lastName("Count").dni(String.format("%08d", 60_000_000 + dniSequence))
+                .email("query" + dniSequence + "@mail.com").build();
+    }
+}
@@ -1,26 +1,41 @@
 package com.bankingSystem.customer_ms.service;
 
 import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.exceptions.ErrorCode;
 import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
 import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
 import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +57,27 @@ class CustomerServiceTest {
     @Mock
     private BankAccountService bankAccountService;
 
+    @Mock
+    private AccountStatusProjection accountStatusProjection;
+
+    @Mock
+    private CustomerSnapshotRepository customerSnapshotRepository;
+
+    @Spy
+    private DeleteBulkhead deleteBulkhead = new DeleteBulkhead(2, 4, 1000);
+
+    @Spy
+    private CustomerLookupCoalescer customerLookupCoalescer = new CustomerLookupCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private CustomerPurger customerPurger;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Value("${bankAccountMicroserviceUrl}")
     private String bankAccountMicroserviceUrl;
 
@@ -74,9 +110,39 @@ class CustomerServiceTest {
         assertEquals("ana.soto@mail.com", result.getEmail());
 
         verify(validationService).validateCustomerData(customer);
+        verify(customerPurger, never()).releaseDni(any());
         verify(customerRepository).save(customer);
     }
 
+    @Test
+    @DisplayName("Should release the DNI of a soft-deleted customer and retry once when the insert conflicts on it")
+    void create_ShouldReleaseDniAndRetry_WhenHeldBySoftDeletedCustomer() {
+        Customer customer = Customer.builder().firstName("Ana").lastName("Soto").dni("98765432").email("ana.soto@mail.com").build();
+        when(customerRepository.save(customer))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry '98765432'"))
+                .thenReturn(customer);
+        when(customerPurger.releaseDni("98765432")).thenReturn(1);
+
+        assertSame(customer, customerService.create(customer));
+
+        verify(customerRepository, times(2)).save(customer);
+        verify(customerPurger).releaseDni("98765432");
+        verify(eventPublisher).publishEvent(CustomerChangedEvent.created(customer));
+    }
+
+    @Test
+    @DisplayName("Should rethrow the conflict when no soft-deleted customer holds the DNI")
+    void create_ShouldRethrowConflict_WhenNoSoftDeletedCustomerHoldsDni() {
+        Customer customer = Customer.builder().firstName("Ana").lastName("Soto").dni("98765432").email("ana.soto@mail.com").build();
+        DataIntegrityViolationException conflict = new DataIntegrityViolationException("Duplicate entry '98765432'");
+        when(customerRepository.save(customer)).thenThrow(conflict);
+
+        assertSame(conflict, assertThrows(DataIntegrityViolationException.class, () -> customerService.create(customer)));
+
+        verify(customerRepository, times(1)).save(customer);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("Should return all customers when customers exist")
     public void getAll_ShouldReturnAllCustomers_WhenCustomersExist() {
@@ -105,6 +171,41 @@ class CustomerServiceTest {
         verify(customerRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should look up several customers in one repository call")
+    void getAllById_ShouldQueryAllIdsAtOnce() {
+        Customer customer = Customer.builder().customerId(1).firstName("Ana").build();
+        when(customerRepository.findAllById(List.of(1, 2))).thenReturn(List.of(customer));
+
+        assertEquals(List.of(customer), customerService.getAllById(List.of(1, 2)));
+        verify(customerRepository).findAllById(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should pass the customers to the action page by page, reading the next page once one is consumed")
+    void streamAll_ShouldReadCustomersInPages() {
+        List<Customer> firstPage = IntStream.rangeClosed(1, CustomerService.STREAM_PAGE_SIZE)
+                .mapToObj(id -> Customer.builder().customerId(id).build()).toList();
+        Limit limit = Limit.of(CustomerService.STREAM_PAGE_SIZE);
+        when(customerSnapshotRepository.findPageAfter(0, limit)).thenReturn(firstPage);
+        when(customerSnapshotRepository.findPageAfter(CustomerService.STREAM_PAGE_SIZE, limit))
+                .thenReturn(List.of(Customer.builder().customerId(CustomerService.STREAM_PAGE_SIZE + 1).build()));
+
+        List<Integer> ids = customerService.streamAll(customers -> {
+            List<Integer> seen = new ArrayList<>();
+            customers.next();
+            verify(customerSnapshotRepository, never()).findPageAfter(CustomerService.STREAM_PAGE_SIZE, limit);
+            customers.forEachRemaining(customer -> seen.add(customer.getCustomerId()));
+            return seen;
+        });
+
+        assertEquals(CustomerService.STREAM_PAGE_SIZE, ids.size());
+        assertEquals(CustomerService.STREAM_PAGE_SIZE + 1, ids.get(ids.size() - 1));
+        verify(customerSnapshotRepository, times(2)).findPageAfter(anyInt(), eq(limit));
+        verify(customerSnapshotRepository, never()).streamAllOrderedById();
+        verify(customerRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should return customer when customer exists")
     public void getById_ShouldReturnCustomer_WhenCustomerExists() {
@@ -196,6 +297,8 @@ class CustomerServiceTest {
         );
 
         assertEquals("Exception: Connection error", exception.getMessage());
+        assertEquals(ErrorCode.INTERNAL_ERROR, exception.getCode());
+        assertTrue(exception.getStackTrace().length > 0);
     }
 
     @Test
@@ -208,7 +311,7 @@ class CustomerServiceTest {
         Customer updatedCustomer = new Customer();
         updatedCustomer.setFirstName("Updated Name");
 
-        Mockito.when(customerRepository.existsById(customerId)).thenReturn(true);
+        Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
         Mockito.when(customerRepository.save(updatedCustomer)).thenReturn(updatedCustomer);
 
         // Act
@@ -227,7 +330,7 @@ class CustomerServiceTest {
         Customer updatedCustomer = new Customer();
         updatedCustomer.setFirstName("Updated Name");
 
-        Mockito.when(customerRepository.existsById(customerId)).thenReturn(false);
+        Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
 
         // Act & Assert
         BusinessException exception = Assertions.assertThrows(BusinessException.class,
@@ -270,9 +373,62 @@ class CustomerServiceTest {
                 () -> customerService.delete(customerId));
 
         Assertions.assertEquals("Exception: Cannot delete customer with active accounts.", exception.getMessage());
+        Assertions.assertEquals(ErrorCode.CUSTOMER_HAS_ACTIVE_ACCOUNTS, exception.getCode());
         Mockito.verify(customerRepository, Mockito.never()).delete(Mockito.any());
     }
 
+    @Test
+    @DisplayName("Should delete without calling the bank account service when the projection answers")
+    void deleteCustomer_ProjectionHasNoActiveAccounts_SkipsRemoteCheck() {
+        Customer customer = Customer.builder().customerId(1).build();
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(accountStatusProjection.hasActiveAccounts(1)).thenReturn(Optional.of(false));
+
+        assertTrue(customerService.delete(1));
+
+        verify(customerRepository).delete(customer);
+        verifyNoInteractions(bankAccountService);
+    }
+
+    @Test
+    @DisplayName("Should refuse the delete without calling the bank account service when the projection has active accounts")
+    void deleteCustomer_ProjectionHasActiveAccounts_ThrowsWithoutRemoteCheck() {
+        when(customerRepository.findById(1)).thenReturn(Optional.of(Customer.builder().customerId(1).build()));
+        when(accountStatusProjection.hasActiveAccounts(1)).thenReturn(Optional.of(true));
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> customerService.delete(1));
+
+        assertEquals(ErrorCode.CUSTOMER_HAS_ACTIVE_ACCOUNTS, exception.getCode());
+        verify(customerRepository, never()).delete(any());
+        verifyNoInteractions(bankAccountService);
+    }
+
+    @Test
+    @DisplayName("Should check the bank accounts before opening the delete transaction")
+    void deleteCustomer_ShouldCheckAccountsOutsideTheTransaction() {
+        Customer customer = Customer.builder().customerId(1).build();
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(bankAccountService.hasActiveAccounts(1)).thenReturn(false);
+
+        assertTrue(customerService.delete(1));
+
+        InOrder order = inOrder(bankAccountService, transactionTemplate, customerRepository);
+        order.verify(bankAccountService).hasActiveAccounts(1);
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(customerRepository).delete(customer);
+    }
+
+    @Test
+    @DisplayName("Should not open a transaction when the customer has active accounts")
+    void deleteCustomer_HasActiveAccounts_ShouldNotOpenTransaction() {
+        when(customerRepository.findById(1)).thenReturn(Optional.of(Customer.builder().customerId(1).build()));
+        when(accountStatusProjection.hasActiveAccounts(1)).thenReturn(Optional.of(true));
+
+        assertThrows(BusinessException.class, () -> customerService.delete(1));
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
     @Test
     void deleteCustomer_NotFound_ThrowsException() {
         // Arrange
@@ -285,10 +441,47 @@ class CustomerServiceTest {
                 () -> customerService.delete(customerId));
 
         Assertions.assertEquals(String.format("Exception: Customer with ID %d not found.", customerId), exception.getMessage());
+        Assertions.assertEquals(ErrorCode.CUSTOMER_NOT_FOUND, exception.getCode());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
         Mockito.verify(customerRepository, Mockito.never()).delete(Mockito.any());
     }
 
-}
+    @Test
+    @DisplayName("Should publish a change event with the before and after images when updating")
+    void updateCustomer_ShouldPublishChangeEvent() {
+        Customer existingCustomer = Customer.builder().customerId(1).firstName("Ana").build();
+        Customer updatedCustomer = Customer.builder().firstName("Ana Victoria").build();
+
+        when(customerRepository.findById(1)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.save(updatedCustomer)).thenReturn(updatedCustomer);
+
+        customerService.update(1, updatedCustomer);
+
+        ArgumentCaptor<CustomerChangedEvent> event = ArgumentCaptor.forClass(CustomerChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(CustomerChangeType.UPDATED, event.getValue().type());
+        assertEquals(1, event.getValue().customerId());
+        assertEquals("Ana", event.getValue().before().getFirstName());
+        assertEquals("Ana Victoria", event.getValue().after().getFirstName());
+    }
 
+    @Test
+    @DisplayName("Should publish a change event when creating and deleting")
+    void createAndDelete_ShouldPublishChangeEvents() {
+        Customer customer = Customer.builder().customerId(1).firstName("Ana").build();
+
+        when(customerRepository.save(customer)).thenReturn(customer);
+        when(customerRepository.findById(1)).thenReturn(Optional.of(customer));
+        when(bankAccountService.hasActiveAccounts(1)).thenReturn(false);
 
+        customerService.create(customer);
+        customerService.delete(1);
 
+        ArgumentCaptor<CustomerChangedEvent> events = ArgumentCaptor.forClass(CustomerChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(CustomerChangeType.CREATED, events.getAllValues().get(0).type());
+        assertEquals(CustomerChangeType.DELETED, events.getAllValues().get(1).type());
+        assertEquals(customer, events.getAllValues().get(1).before());
+    }
+
+}
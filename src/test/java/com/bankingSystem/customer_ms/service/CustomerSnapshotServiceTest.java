@@ -0,0 +1,110 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeEntry;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.bankingSystem.customer_ms.repository.CustomerSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CustomerSnapshotServiceTest {
+
+    @Mock
+    private CustomerSnapshotRepository customerSnapshotRepository;
+
+    @Mock
+    private CustomerChangeRepository customerChangeRepository;
+
+    @Mock
+    private CustomerSyncService customerSyncService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private CustomerSnapshotService customerSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerSnapshotService = new CustomerSnapshotService(customerSnapshotRepository, customerChangeRepository,
+                customerSyncService, transactionManager, directory.resolve("customers.snap").toString());
+        when(customerChangeRepository.findMaxSeq()).thenReturn(10L);
+        when(customerSnapshotRepository.streamAllOrderedById())
+                .thenAnswer(invocation -> Stream.of(customer(1, "Ana"), customer(2, "Luis")));
+        when(customerSyncService.getChangesSince(anyLong(), anyInt()))
+                .thenAnswer(invocation -> new CustomerChangePage(List.of(), invocation.getArgument(0), false));
+    }
+
+    @Test
+    @DisplayName("Should write a snapshot at startup when none exists, then serve customers from it")
+    void run_ShouldWriteAndLoadSnapshot_WhenMissing() throws Exception {
+        assertFalse(customerSnapshotService.isReady());
+
+        customerSnapshotService.run(null);
+
+        assertTrue(customerSnapshotService.isReady());
+        assertEquals("Luis", customerSnapshotService.findById(2).orElseThrow().getFirstName());
+        assertEquals(Optional.empty(), customerSnapshotService.findById(3));
+        verify(customerSyncService).getChangesSince(eq(10L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should read the snapshot watermark before the customers")
+    void writeSnapshot_ShouldReadWatermarkFirst() {
+        customerSnapshotService.writeSnapshot();
+
+        InOrder order = inOrder(customerChangeRepository, customerSnapshotRepository);
+        order.verify(customerChangeRepository).findMaxSeq();
+        order.verify(customerSnapshotRepository).streamAllOrderedById();
+    }
+
+    @Test
+    @DisplayName("Should apply the changes written after the snapshot watermark")
+    void catchUp_ShouldApplyChangesAfterWatermark() throws Exception {
+        customerSnapshotService.run(null);
+        when(customerSyncService.getChangesSince(10L, CustomerSyncService.MAX_PAGE_SIZE)).thenReturn(
+                new CustomerChangePage(List.of(
+                        new CustomerChangeEntry(11L, 1, CustomerChangeType.DELETED, null),
+                        new CustomerChangeEntry(12L, 2, CustomerChangeType.UPDATED, customer(2, "Luisa"))), 12L, true));
+        when(customerSyncService.getChangesSince(12L, CustomerSyncService.MAX_PAGE_SIZE)).thenReturn(
+                new CustomerChangePage(List.of(
+                        new CustomerChangeEntry(13L, 3, CustomerChangeType.CREATED, customer(3, "Eva"))), 13L, false));
+
+        customerSnapshotService.catchUp();
+
+        assertEquals(Optional.empty(), customerSnapshotService.findById(1));
+        assertEquals("Luisa", customerSnapshotService.findById(2).orElseThrow().getFirstName());
+        assertEquals("Eva", customerSnapshotService.findById(3).orElseThrow().getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should fail lookups before the snapshot is loaded")
+    void findById_ShouldFail_WhenNotLoaded() {
+        assertThrows(IllegalStateException.class, () -> customerSnapshotService.findById(1));
+    }
+
+    private Customer customer(int id, String firstName) {
+        return Customer.builder().customerId(id).firstName(firstName).dni(String.format("%08d", id)).build();
+    }
+}
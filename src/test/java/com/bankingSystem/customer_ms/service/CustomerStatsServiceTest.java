@@ -0,0 +1,114 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.CreationBucket;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.CustomerChangedEvent;
+import com.bankingSystem.customer_ms.model.CustomerStats;
+import com.bankingSystem.customer_ms.model.EmailDomainCount;
+import com.bankingSystem.customer_ms.repository.CustomerStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CustomerStatsServiceTest {
+
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(customerStatsRepository.countCustomers()).thenReturn(3L);
+        when(customerStatsRepository.countByEmailDomain()).thenReturn(List.of(
+                new EmailDomainCount("mail.com", 2), new EmailDomainCount("bank.com", 1)));
+        when(customerStatsRepository.countChangesPerDay(eq(CustomerChangeType.CREATED), any()))
+                .thenReturn(List.of(new CreationBucket(LocalDate.now(), 3)));
+    }
+
+    @Test
+    @DisplayName("Should compute the statistics with the aggregate queries on every request when not incremental")
+    void getStats_ShouldQueryEveryTime_WhenNotIncremental() {
+        CustomerStatsService service = new CustomerStatsService(customerStatsRepository, false, 30);
+
+        CustomerStats stats = service.getStats();
+        service.getStats();
+
+        assertEquals(3, stats.totalCustomers());
+        assertEquals("mail.com", stats.emailDomains().get(0).domain());
+        verify(customerStatsRepository, times(2)).countCustomers();
+    }
+
+    @Test
+    @DisplayName("Should keep the statistics in memory and update them from committed changes")
+    void getStats_ShouldApplyChangesInMemory_WhenIncremental() {
+        CustomerStatsService service = new CustomerStatsService(customerStatsRepository, true, 30);
+        service.getStats();
+
+        Customer ana = customer(4, "ana@Bank.com");
+        service.onCustomerChanged(CustomerChangedEvent.created(ana));
+        service.onCustomerChanged(CustomerChangedEvent.updated(ana, customer(4, "ana@new.com")));
+        service.onCustomerChanged(CustomerChangedEvent.deleted(customer(1, "old@mail.com")));
+        CustomerStats stats = service.getStats();
+
+        assertEquals(3, stats.totalCustomers());
+        assertEquals(List.of(new EmailDomainCount("bank.com", 1), new EmailDomainCount("mail.com", 1),
+                new EmailDomainCount("new.com", 1)), stats.emailDomains());
+        assertEquals(List.of(new CreationBucket(LocalDate.now(), 4)), stats.creationsPerDay());
+        verify(customerStatsRepository, times(1)).countCustomers();
+    }
+
+    @Test
+    @DisplayName("Should reload the statistics from the database after a resync")
+    void resync_ShouldReloadFromDatabase() {
+        CustomerStatsService service = new CustomerStatsService(customerStatsRepository, true, 30);
+        service.getStats();
+        service.onCustomerChanged(CustomerChangedEvent.created(customer(4, "ana@mail.com")));
+
+        service.resync();
+
+        assertEquals(3, service.getStats().totalCustomers());
+        verify(customerStatsRepository, times(2)).countCustomers();
+    }
+
+    @Test
+    @DisplayName("Should apply the changes committed while the statistics reload, without blocking them")
+    void getStats_ShouldApplyChangesCommittedDuringReload() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerStatsRepository.countCustomers()).thenAnswer(invocation -> {
+            querying.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return 3L;
+        });
+        CustomerStatsService service = new CustomerStatsService(customerStatsRepository, true, 30);
+        CompletableFuture<CustomerStats> first = CompletableFuture.supplyAsync(service::getStats);
+        assertTrue(querying.await(5, TimeUnit.SECONDS));
+        CompletableFuture<CustomerStats> second = CompletableFuture.supplyAsync(service::getStats);
+
+        service.onCustomerChanged(CustomerChangedEvent.created(customer(4, "ana@mail.com")));
+        release.countDown();
+
+        assertEquals(4, first.get(5, TimeUnit.SECONDS).totalCustomers());
+        assertEquals(4, second.get(5, TimeUnit.SECONDS).totalCustomers());
+        assertEquals(4, service.getStats().totalCustomers());
+        verify(customerStatsRepository, times(1)).countCustomers();
+    }
+
+    private Customer customer(int id, String email) {
+        return Customer.builder().customerId(id).firstName("Name").lastName("Last").dni("1234567" + id).email(email).build();
+    }
+}
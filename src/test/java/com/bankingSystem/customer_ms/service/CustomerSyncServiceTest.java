@@ -0,0 +1,92 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerChange;
+import com.bankingSystem.customer_ms.model.CustomerChangePage;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.repository.CustomerChangeRepository;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class CustomerSyncServiceTest {
+
+    @Mock
+    private CustomerChangeRepository customerChangeRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private CustomerSyncService customerSyncService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Should return the changes after the watermark with the current customers and tombstones")
+    void getChangesSince_ShouldReturnChangesAfterWatermark() {
+        Customer ana = Customer.builder().customerId(1).firstName("Ana").build();
+        when(customerChangeRepository.findBySeqGreaterThanOrderBySeqAsc(10L, PageRequest.ofSize(4))).thenReturn(List.of(
+                change(11, 1, CustomerChangeType.CREATED),
+                change(12, 2, CustomerChangeType.DELETED),
+                change(13, 1, CustomerChangeType.UPDATED)));
+        when(customerRepository.findAllById(List.of(1))).thenReturn(List.of(ana));
+
+        CustomerChangePage page = customerSyncService.getChangesSince(10, 3);
+
+        assertEquals(13, page.watermark());
+        assertFalse(page.hasMore());
+        assertEquals(2, page.changes().size());
+        assertEquals(12, page.changes().get(0).seq());
+        assertEquals(CustomerChangeType.DELETED, page.changes().get(0).type());
+        assertNull(page.changes().get(0).customer());
+        assertEquals(13, page.changes().get(1).seq());
+        assertEquals(CustomerChangeType.UPDATED, page.changes().get(1).type());
+        assertEquals(ana, page.changes().get(1).customer());
+    }
+
+    @Test
+    @DisplayName("Should report more changes and stop the watermark at the end of the page")
+    void getChangesSince_ShouldReportMore_WhenPageIsFull() {
+        when(customerChangeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.ofSize(2))).thenReturn(List.of(
+                change(1, 1, CustomerChangeType.CREATED),
+                change(2, 2, CustomerChangeType.CREATED)));
+        when(customerRepository.findAllById(List.of(1))).thenReturn(List.of());
+
+        CustomerChangePage page = customerSyncService.getChangesSince(0, 1);
+
+        assertTrue(page.hasMore());
+        assertEquals(1, page.watermark());
+        assertEquals(CustomerChangeType.DELETED, page.changes().get(0).type());
+    }
+
+    @Test
+    @DisplayName("Should keep the watermark and skip the customer query when nothing changed")
+    void getChangesSince_ShouldKeepWatermark_WhenNoChanges() {
+        when(customerChangeRepository.findBySeqGreaterThanOrderBySeqAsc(5L, PageRequest.ofSize(101))).thenReturn(List.of());
+
+        CustomerChangePage page = customerSyncService.getChangesSince(5, 100);
+
+        assertEquals(5, page.watermark());
+        assertTrue(page.changes().isEmpty());
+        verify(customerRepository, never()).findAllById(anyIterable());
+    }
+
+    private CustomerChange change(long seq, int customerId, CustomerChangeType type) {
+        return CustomerChange.builder().seq(seq).customerId(customerId).changeType(type).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class DeleteBulkheadTest {
+
+    private static final long SLOW_ACCOUNT_SERVICE_MILLIS = 3000;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerValidator customerValidator;
+
+    @Mock
+    private BankAccountService bankAccountService;
+
+    @Mock
+    private AccountStatusProjection accountStatusProjection;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Spy
+    private DeleteBulkhead deleteBulkhead = new DeleteBulkhead(1, 1, 100);
+
+    @Spy
+    private CustomerLookupCoalescer customerLookupCoalescer = new CustomerLookupCoalescer(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private CustomerService customerService;
+
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        requestThreads = Executors.newFixedThreadPool(4);
+
+        Customer customer = Customer.builder().customerId(1).firstName("Ana").build();
+        when(customerRepository.findById(anyInt())).thenReturn(Optional.of(customer));
+        when(bankAccountService.hasActiveAccounts(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(SLOW_ACCOUNT_SERVICE_MILLIS);
+            return false;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestThreads.shutdownNow();
+        deleteBulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("Reads keep their latency while the bank account service is slow")
+    void getById_ShouldStayFast_WhenDeletesAreStuckOnSlowAccountService() throws Exception {
+        List<Future<?>> deletes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int customerId = i;
+            deletes.add(requestThreads.submit(() -> customerService.delete(customerId)));
+        }
+
+        List<Future<Long>> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long submittedAt = System.nanoTime();
+            reads.add(requestThreads.submit(() -> {
+                customerService.getById(1);
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt);
+            }));
+        }
+
+        for (Future<Long> read : reads) {
+            assertTrue(read.get(SLOW_ACCOUNT_SERVICE_MILLIS, TimeUnit.MILLISECONDS) < 1500,
+                    "read waited behind the slow bank account service");
+        }
+        for (Future<?> delete : deletes) {
+            ExecutionException exception = assertThrows(ExecutionException.class, delete::get);
+            assertInstanceOf(BusinessException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject remote calls when the bulkhead and its queue are full")
+    void execute_ShouldReject_WhenBulkheadIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DeleteBulkhead bulkhead = new DeleteBulkhead(1, 1, 5000);
+        try {
+            requestThreads.submit(() -> bulkhead.execute(() -> await(release)));
+            requestThreads.submit(() -> bulkhead.execute(() -> await(release)));
+            Thread.sleep(200);
+
+            BusinessException exception = assertThrows(BusinessException.class, () -> bulkhead.execute(() -> true));
+            assertEquals("Too many pending bank account checks, try again later.", exception.getMessage());
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail with a timeout when the remote call is too slow")
+    void execute_ShouldTimeOut_WhenRemoteCallIsSlow() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> deleteBulkhead.execute(() -> bankAccountService.hasActiveAccounts(1)));
+
+        assertEquals("Bank account service did not respond in time.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should propagate business errors raised by the remote call")
+    void execute_ShouldPropagateBusinessException_WhenRemoteCallFails() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> deleteBulkhead.execute(() -> {
+                    throw new BusinessException("Error connecting to bank account service: refused");
+                }));
+
+        assertEquals("Error connecting to bank account service: refused", exception.getMessage());
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
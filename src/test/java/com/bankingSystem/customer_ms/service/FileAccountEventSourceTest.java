@@ -0,0 +1,85 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.AccountEvent;
+import com.bankingSystem.customer_ms.model.AccountEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAccountEventSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should return no events when the file does not exist")
+    void readAfter_ShouldBeEmpty_WhenFileIsMissing() {
+        FileAccountEventSource source = new FileAccountEventSource(directory.resolve("missing.jsonl"), new ObjectMapper());
+
+        assertEquals(List.of(), source.readAfter(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should read the events after the watermark in batches and resume with appended lines")
+    void readAfter_ShouldReadBatchesAndAppendedLines() throws IOException {
+        Path file = directory.resolve("events.jsonl");
+        append(file, line(1, 10, "OPENED") + line(2, 20, "OPENED") + line(3, 10, "CLOSED"));
+        FileAccountEventSource source = new FileAccountEventSource(file, new ObjectMapper());
+
+        assertEquals(List.of(event(1, 10, AccountEventType.OPENED), event(2, 20, AccountEventType.OPENED)), source.readAfter(0, 2));
+        assertEquals(List.of(event(3, 10, AccountEventType.CLOSED)), source.readAfter(2, 2));
+        assertEquals(List.of(), source.readAfter(3, 2));
+
+        append(file, line(4, 30, "OPENED"));
+
+        assertEquals(List.of(event(4, 30, AccountEventType.OPENED)), source.readAfter(3, 2));
+        assertEquals(List.of(event(3, 10, AccountEventType.CLOSED), event(4, 30, AccountEventType.OPENED)), source.readAfter(2, 5));
+    }
+
+    @Test
+    @DisplayName("Should leave a line that is not terminated yet for a later read")
+    void readAfter_ShouldSkipIncompleteLastLine() throws IOException {
+        Path file = directory.resolve("events.jsonl");
+        append(file, line(1, 10, "OPENED") + "{\"id\":2,\"customerId\":");
+        FileAccountEventSource source = new FileAccountEventSource(file, new ObjectMapper());
+
+        assertEquals(List.of(event(1, 10, AccountEventType.OPENED)), source.readAfter(0, 10));
+
+        append(file, "20,\"type\":\"OPENED\"}\n");
+
+        assertEquals(List.of(event(2, 20, AccountEventType.OPENED)), source.readAfter(1, 10));
+    }
+
+    @Test
+    @DisplayName("Should fail on an invalid line instead of skipping an event")
+    void readAfter_ShouldFail_WhenLineIsInvalid() throws IOException {
+        Path file = directory.resolve("events.jsonl");
+        append(file, line(1, 10, "OPENED") + "not json\n");
+        FileAccountEventSource source = new FileAccountEventSource(file, new ObjectMapper());
+
+        assertThrows(BusinessException.class, () -> source.readAfter(0, 10));
+    }
+
+    private static String line(long id, int customerId, String type) {
+        return String.format("{\"id\":%d,\"customerId\":%d,\"type\":\"%s\"}%n", id, customerId, type);
+    }
+
+    private static AccountEvent event(long id, int customerId, AccountEventType type) {
+        return new AccountEvent(id, customerId, type);
+    }
+
+    private static void append(Path file, String content) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
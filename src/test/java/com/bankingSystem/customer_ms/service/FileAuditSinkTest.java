@@ -0,0 +1,79 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAuditSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should append each record as a JSON line with both images")
+    void write_ShouldAppendJsonLines() throws IOException {
+        Path file = directory.resolve("audit/customer-audit.jsonl");
+        Customer before = Customer.builder().customerId(7).firstName("Ana").lastName("Soto").dni("98765432")
+                .email("ana.soto@mail.com").build();
+        try (FileAuditSink sink = new FileAuditSink(file, 1_000_000, 3, true, objectMapper)) {
+            sink.write(List.of(new CustomerAuditRecord(CustomerChangeType.UPDATED, 7, before,
+                    before.toBuilder().email("ana@bank.com").build(), LocalDateTime.of(2024, 5, 1, 10, 30))));
+            sink.write(List.of(new CustomerAuditRecord(CustomerChangeType.DELETED, 7, before, null, LocalDateTime.now())));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode update = objectMapper.readTree(lines.get(0));
+        assertEquals("UPDATED", update.get("type").asText());
+        assertEquals("ana.soto@mail.com", update.get("before").get("email").asText());
+        assertEquals("ana@bank.com", update.get("after").get("email").asText());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("after").isNull());
+    }
+
+    @Test
+    @DisplayName("Should rotate the file past the size limit and keep only the configured number of old files")
+    void write_ShouldRotateFiles() throws IOException {
+        Path file = directory.resolve("customer-audit.jsonl");
+        try (FileAuditSink sink = new FileAuditSink(file, 300, 2, false, objectMapper)) {
+            IntStream.rangeClosed(1, 5).forEach(id -> sink.write(List.of(created(id), created(id))));
+
+            assertEquals(List.of(5, 5), customerIds(file));
+            assertEquals(List.of(4, 4), customerIds(sink.rotated(1)));
+            assertEquals(List.of(3, 3), customerIds(sink.rotated(2)));
+            assertFalse(Files.exists(sink.rotated(3)));
+        }
+    }
+
+    private List<Integer> customerIds(Path file) throws IOException {
+        return Files.readAllLines(file).stream().map(line -> readTree(line).get("customerId").asInt()).toList();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CustomerAuditRecord created(int id) {
+        return new CustomerAuditRecord(CustomerChangeType.CREATED, id, null, Customer.builder().customerId(id)
+                .firstName("Name").lastName("Last").dni("1000000" + id).email("user@mail.com").build(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,145 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.diagnostics.RepositoryQueryInterceptor;
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.RecordingStatus;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FlightRecordingServiceTest {
+
+    private final FlightRecordingService flightRecordingService = new FlightRecordingService("default", 0, 60, 10);
+
+    @AfterEach
+    void tearDown() {
+        flightRecordingService.close();
+    }
+
+    @Test
+    @DisplayName("Should record the validation, repository and remote call events while a recording runs")
+    void recording_ShouldCaptureCustomerEvents() throws Exception {
+        CustomerRepository customerRepository = instrumentedRepository();
+        CustomerValidator validator = new CustomerValidator(customerRepository);
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), eq(Boolean.class)))
+                .thenReturn(ResponseEntity.ok(true));
+
+        validator.validateCustomerData(customer());
+        flightRecordingService.start();
+        validator.validateCustomerData(customer());
+        assertThrows(BusinessException.class, () -> validator.validateCustomerData(customer().toBuilder().dni("1").build()));
+        new BankAccountService(restTemplate, new AccountEndpointBalancer(List.of("http://localhost:8081/accounts"), 3, 10_000, 0.95), false, 20, 10)
+                .hasActiveAccounts(7);
+        assertEquals("STOPPED", flightRecordingService.stop().state());
+
+        List<RecordedEvent> events = dumpedEvents();
+        assertEquals(List.of("valid", "invalid"), events.stream().filter(event -> isType(event, "Validation"))
+                .map(event -> event.getString("outcome")).toList());
+        RecordedEvent query = events.stream().filter(event -> isType(event, "RepositoryQuery")).findFirst().orElseThrow();
+        assertEquals("findByDni", query.getString("operation"));
+        assertEquals(0, query.getLong("rowCount"));
+        RecordedEvent remoteCall = events.stream().filter(event -> isType(event, "RemoteCall")).findFirst().orElseThrow();
+        assertEquals(7, remoteCall.getInt("customerId"));
+        assertEquals(200, remoteCall.getInt("status"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start a second recording while one is running")
+    void start_ShouldFail_WhenRecordingIsRunning() {
+        RecordingStatus status = flightRecordingService.start();
+
+        assertEquals("RUNNING", status.state());
+        assertThrows(BusinessException.class, flightRecordingService::start);
+        flightRecordingService.stop();
+        assertNotEquals(status.id(), flightRecordingService.start().id());
+    }
+
+    @Test
+    @DisplayName("Should fail to stop or dump when no recording was started")
+    void stopAndDump_ShouldFail_WhenNoRecording() {
+        assertTrue(flightRecordingService.getStatus().isEmpty());
+        assertThrows(BusinessException.class, flightRecordingService::stop);
+        assertThrows(BusinessException.class, flightRecordingService::dump);
+    }
+
+    @Test
+    @DisplayName("Should not record the initial system properties and environment variables, whatever the settings")
+    void recording_ShouldLeaveOutSensitiveEvents() throws Exception {
+        FlightRecordingService jdkDefaults = new FlightRecordingService("default", 0, 60, 10);
+        try {
+            flightRecordingService.start();
+            jdkDefaults.start();
+            flightRecordingService.stop();
+            jdkDefaults.stop();
+
+            assertEquals(List.of(), sensitiveEvents(flightRecordingService));
+            assertEquals(List.of(), sensitiveEvents(jdkDefaults));
+        } finally {
+            jdkDefaults.close();
+        }
+    }
+
+    private List<String> sensitiveEvents(FlightRecordingService service) throws Exception {
+        Path file = service.dump();
+        try {
+            return RecordingFile.readAllEvents(file).stream().map(event -> event.getEventType().getName())
+                    .filter(name -> name.equals("jdk.InitialSystemProperty") || name.equals("jdk.InitialEnvironmentVariable"))
+                    .distinct()
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Reads the events of the dumped recording that were emitted by the test thread, ignoring those of the
+     * application contexts other tests left running in the same JVM.
+     */
+    private List<RecordedEvent> dumpedEvents() throws Exception {
+        Path file = flightRecordingService.dump();
+        long testThread = Thread.currentThread().getId();
+        try {
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == testThread)
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private boolean isType(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals("com.bankingSystem.customer_ms." + name);
+    }
+
+    private CustomerRepository instrumentedRepository() {
+        CustomerRepository target = mock(CustomerRepository.class);
+        when(target.findByDni(anyString())).thenReturn(Optional.empty());
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(CustomerRepository.class);
+        proxyFactory.addAdvice(new RepositoryQueryInterceptor(CustomerRepository.class));
+        return (CustomerRepository) proxyFactory.getProxy();
+    }
+
+    private Customer customer() {
+        return Customer.builder().firstName("Ana").lastName("Soto").dni("12345678").email("ana@mail.com").build();
+    }
+}
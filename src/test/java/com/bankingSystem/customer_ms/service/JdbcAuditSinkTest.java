@@ -0,0 +1,60 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.model.CustomerAuditRecord;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcAuditSinkTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customer_audit WHERE customer_id >= 900000");
+    }
+
+    @Test
+    @DisplayName("Should insert a batch of records with the JSON images of the customer")
+    void write_ShouldInsertBatch() {
+        Customer ana = Customer.builder().customerId(900001).firstName("Ana").lastName("Soto").dni("98765432")
+                .email("ana.soto@mail.com").build();
+        JdbcAuditSink sink = new JdbcAuditSink(jdbcTemplate, transactionTemplate, objectMapper);
+
+        sink.write(List.of(
+                new CustomerAuditRecord(CustomerChangeType.CREATED, 900001, null, ana, LocalDateTime.now()),
+                new CustomerAuditRecord(CustomerChangeType.DELETED, 900001, ana, null, LocalDateTime.now())));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT change_type, before_image, after_image FROM customer_audit WHERE customer_id = 900001 ORDER BY id");
+        assertEquals(2, rows.size());
+        assertEquals("CREATED", rows.get(0).get("CHANGE_TYPE"));
+        assertNull(rows.get(0).get("BEFORE_IMAGE"));
+        assertTrue(rows.get(0).get("AFTER_IMAGE").toString().contains("\"email\":\"ana.soto@mail.com\""));
+        assertEquals("DELETED", rows.get(1).get("CHANGE_TYPE"));
+        assertNull(rows.get(1).get("AFTER_IMAGE"));
+    }
+}
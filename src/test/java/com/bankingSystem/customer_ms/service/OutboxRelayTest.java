@@ -0,0 +1,119 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.CustomerChangeType;
+import com.bankingSystem.customer_ms.model.OutboxEvent;
+import com.bankingSystem.customer_ms.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryOutboxSink outboxSink = new InMemoryOutboxSink();
+
+    private final List<OutboxEvent> outbox = new ArrayList<>();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, new TransactionTemplate(transactionManager), 2);
+
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return List.copyOf(outbox.subList(0, Math.min(pageable.getPageSize(), outbox.size())));
+        });
+        doAnswer(invocation -> outbox.removeAll(invocation.getArgument(0)))
+                .when(outboxEventRepository).deleteAllInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should drain the outbox in batches, keeping the write order of each customer")
+    void relayPending_ShouldDeliverAllEventsInBatchesAndOrder() {
+        IntStream.rangeClosed(1, 5).forEach(id -> outbox.add(event(id, id % 2 == 0 ? 20 : 10)));
+
+        int delivered = outboxRelay.relayPending();
+
+        assertEquals(5, delivered);
+        assertTrue(outbox.isEmpty());
+        assertEquals(List.of(2, 2, 1), outboxSink.batchSizes);
+        assertEquals(List.of(1L, 3L, 5L), outboxSink.idsOf(10));
+        assertEquals(List.of(2L, 4L), outboxSink.idsOf(20));
+    }
+
+    @Test
+    @DisplayName("Should keep a batch in the outbox when the sink fails")
+    void relayPending_ShouldKeepEvents_WhenSinkFails() {
+        outbox.add(event(1, 10));
+        outboxSink.failing = true;
+
+        int delivered = outboxRelay.relayPending();
+
+        assertEquals(0, delivered);
+        assertEquals(1, outbox.size());
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+
+        outboxSink.failing = false;
+        assertEquals(1, outboxRelay.relayPending());
+        assertTrue(outbox.isEmpty());
+    }
+
+    private OutboxEvent event(long id, int customerId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .customerId(customerId)
+                .eventType(CustomerChangeType.UPDATED)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * In-process {@link OutboxSink} recording the delivered batches.
+     */
+    private static class InMemoryOutboxSink implements OutboxSink {
+
+        private final List<OutboxEvent> delivered = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void publish(List<OutboxEvent> events) {
+            if (failing) {
+                throw new BusinessException("Sink unavailable");
+            }
+            delivered.addAll(events);
+            batchSizes.add(events.size());
+        }
+
+        private List<Long> idsOf(int customerId) {
+            return delivered.stream()
+                    .filter(event -> event.getCustomerId() == customerId)
+                    .map(OutboxEvent::getId)
+                    .collect(Collectors.toList());
+        }
+    }
+}
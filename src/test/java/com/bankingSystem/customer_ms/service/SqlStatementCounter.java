@@ -0,0 +1,128 @@
+package com.bankingSystem.customer_ms.service;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link DataSource} recording the SQL statements run by the current thread on the connections it hands out.
+ * <p>
+ * Statements are recorded at the JDBC level, when they are prepared or, for plain statements, executed, so the
+ * ones run through a {@code JdbcTemplate} are counted along with those of Hibernate. They are recorded per
+ * thread, so background work such as the outbox relay does not disturb the counts of the operation under test.
+ * </p>
+ */
+public class SqlStatementCounter extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+    private static final Set<String> PREPARING_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    /**
+     * Constructs a new instance of {@link SqlStatementCounter}.
+     *
+     * @param target the data source whose statements are recorded.
+     */
+    public SqlStatementCounter(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Returns a bean post-processor wrapping every {@link DataSource} of the context in a {@link SqlStatementCounter}.
+     *
+     * @return the bean post-processor, to declare as a static {@code @Bean} of a test configuration.
+     */
+    public static BeanPostProcessor installer() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? new SqlStatementCounter(dataSource) : bean;
+            }
+        };
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(Connection.class, super.getConnection(username, password));
+    }
+
+    /**
+     * Forgets the statements recorded so far by the current thread.
+     */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Returns the statements recorded by the current thread since the last reset.
+     *
+     * @return the SQL statements, in execution order.
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    /**
+     * Wraps a connection or a plain statement in a proxy recording the SQL given to it.
+     *
+     * @param type the JDBC interface of the target.
+     * @param target the connection or statement.
+     * @param <T> the JDBC interface of the target.
+     * @return the recording proxy.
+     */
+    private static <T> T recording(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    record(method, args);
+                    Object result = invoke(target, method, args);
+                    return result instanceof Statement statement && "createStatement".equals(method.getName())
+                            ? recording(Statement.class, statement) : result;
+                }));
+    }
+
+    /**
+     * Records the SQL of a call preparing a statement or executing a plain one.
+     *
+     * @param method the JDBC method called.
+     * @param args the arguments of the call.
+     */
+    private static void record(Method method, Object[] args) {
+        boolean givesSql = args != null && args.length > 0 && args[0] instanceof String;
+        if (givesSql && (PREPARING_METHODS.contains(method.getName()) || EXECUTING_METHODS.contains(method.getName()))) {
+            STATEMENTS.get().add((String) args[0]);
+        }
+    }
+
+    /**
+     * Calls the target, rethrowing what it throws as is.
+     *
+     * @param target the connection or statement.
+     * @param method the JDBC method called.
+     * @param args the arguments of the call.
+     * @return the result of the call.
+     * @throws Throwable the failure of the call.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
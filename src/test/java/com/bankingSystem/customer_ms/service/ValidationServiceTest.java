@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -137,4 +138,20 @@ class ValidationServiceTest {
                 () -> validationService.validateCustomerData(invalidCustomer));
         assert exception.getMessage().equals("FirstName is required.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return every format violation without querying the repository")
+    void findFormatViolations_shouldReturnAllViolations() {
+        Customer invalidCustomer = Customer.builder()
+                .firstName("Ana")
+                .lastName("")
+                .dni("1234")
+                .email("ana.soto@mail.com")
+                .build();
+
+        List<String> violations = validationService.findFormatViolations(invalidCustomer);
+
+        assertEquals(List.of("LastName is required.", "Invalid DNI format. It must contain exactly 8 digits."), violations);
+        verifyNoInteractions(customerRepository);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankingSystem.customer_ms.service;
+
+import com.bankingSystem.customer_ms.exceptions.BusinessException;
+import com.bankingSystem.customer_ms.model.Customer;
+import com.bankingSystem.customer_ms.repository.CustomerRepository;
+import com.bankingSystem.customer_ms.validators.CustomerValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class WarmupServiceTest {
+
+    @Mock
+    private CustomerValidator customerValidator;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(warmupService, "enabled", true);
+        ReflectionTestUtils.setField(warmupService, "iterations", 50);
+        ReflectionTestUtils.setField(warmupService, "threads", 4);
+    }
+
+    @Test
+    @DisplayName("Should run the validator, Jackson and the repository for every iteration")
+    void run_ShouldExerciseRequestPath_ForEveryIteration() throws Exception {
+        warmupService.run(null);
+
+        verify(customerValidator, times(50)).validateCustomerData(any(Customer.class));
+        verify(objectMapper, times(50)).writeValueAsString(any(Customer.class));
+        verify(customerRepository, times(50)).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should complete the warm-up when iterations fail")
+    void run_ShouldComplete_WhenIterationsFail() {
+        doThrow(new BusinessException("A client with this DNI already exists."))
+                .when(customerValidator).validateCustomerData(any(Customer.class));
+        when(customerRepository.findById(anyInt())).thenThrow(new RuntimeException("Connection error"));
+
+        assertDoesNotThrow(() -> warmupService.run(null));
+        verify(customerValidator, times(50)).validateCustomerData(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the warm-up when it is disabled")
+    void run_ShouldDoNothing_WhenDisabled() {
+        ReflectionTestUtils.setField(warmupService, "enabled", false);
+
+        warmupService.run(null);
+
+        verifyNoInteractions(customerValidator, customerRepository);
+    }
+}